@@ -0,0 +1,74 @@
+package com.TfPooAs.Souls2D.benchmarks;
+
+import com.TfPooAs.Souls2D.entities.Player;
+import com.TfPooAs.Souls2D.systems.PhysicsSystem;
+import com.TfPooAs.Souls2D.world.CollisionManager;
+import com.TfPooAs.Souls2D.world.LevelLoader;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput del ContactListener: begin + end sobre contactos reales (jugadores apoyados en el
+ * suelo de cemetery), sin el costo del solver de Box2D alrededor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ContactDispatchBenchmark {
+
+    @Param({"10", "100"})
+    public int players;
+
+    private World world;
+    private LevelLoader level;
+    private CollisionManager collisions;
+    private final Array<Player> spawned = new Array<>();
+    private final Array<Contact> contacts = new Array<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.init();
+        world = new World(new Vector2(0, -9.8f), true);
+        collisions = new CollisionManager();
+        world.setContactListener(collisions);
+        level = new LevelLoader(world, "maps/cemetery.tmx");
+        level.preload(200, 300);
+
+        PhysicsSystem physics = new PhysicsSystem(world);
+        for (int i = 0; i < players; i++) {
+            Player p = new Player(world, 150 + (i % 10) * 10, 300 + (i / 10) * 80);
+            spawned.add(p);
+            physics.add(p);
+        }
+        for (int i = 0; i < 180; i++) physics.update(PhysicsSystem.TIME_STEP);
+
+        // Copia propia: el Array de getContactList se reusa en la próxima llamada
+        for (Contact c : world.getContactList()) if (c.isTouching()) contacts.add(c);
+    }
+
+    /** Cada operación es un begin + end de todos los contactos; el conteo de suelo queda igual. */
+    @Benchmark
+    public int dispatch() {
+        for (int i = 0; i < contacts.size; i++) {
+            Contact c = contacts.get(i);
+            collisions.beginContact(c);
+            collisions.endContact(c);
+        }
+        return contacts.size;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Player p : spawned) p.dispose();
+        level.dispose();
+        world.dispose();
+    }
+}
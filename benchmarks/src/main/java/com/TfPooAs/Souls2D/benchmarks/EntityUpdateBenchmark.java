@@ -0,0 +1,138 @@
+package com.TfPooAs.Souls2D.benchmarks;
+
+import com.TfPooAs.Souls2D.entities.Entity;
+import com.TfPooAs.Souls2D.entities.Item;
+import com.TfPooAs.Souls2D.entities.Player;
+import com.TfPooAs.Souls2D.systems.EntityWorld;
+import com.TfPooAs.Souls2D.systems.InteractionSystem;
+import com.TfPooAs.Souls2D.systems.MovementSystem;
+import com.TfPooAs.Souls2D.systems.PhysicsSystem;
+import com.TfPooAs.Souls2D.world.LevelLoader;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loops de actualización por frame con 10, 1k y 10k instancias:
+ * entidades OO (update + fixedUpdate + interpolate), ítems con su chequeo de interacción,
+ * y el mismo movimiento en el ECS para comparar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityUpdateBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int count;
+
+    /** Entidad mínima con movimiento propio, para medir el costo del recorrido OO. */
+    static class Mover extends Entity {
+        private final Vector2 velocity = new Vector2();
+        private final Vector2 previous = new Vector2();
+
+        Mover(float x, float y, float vx, float vy) {
+            super(x, y, "player.png");
+            velocity.set(vx, vy);
+            previous.set(x, y);
+        }
+
+        @Override public void update(float delta) {}
+
+        @Override public void fixedUpdate(float step) {
+            previous.set(position);
+            position.mulAdd(velocity, step);
+        }
+    }
+
+    static class Pickup extends Item {
+        int uses;
+
+        Pickup(float x, float y) {
+            super(x, y, "player.png");
+        }
+
+        @Override protected void onInteract(Player player) {
+            uses++;
+        }
+
+        @Override public void update(float delta) {}
+    }
+
+    private World world;
+    private LevelLoader level;
+    private Player player;
+    private final Array<Mover> movers = new Array<>();
+    private final Array<Pickup> pickups = new Array<>();
+    private InteractionSystem interactions;
+    private EntityWorld ecs;
+    private final MovementSystem movement = new MovementSystem();
+    private float playerX;
+    private float mapWidth;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.init();
+        world = new World(new Vector2(0, -9.8f), true);
+        level = new LevelLoader(world, "maps/cemetery.tmx");
+        level.preload(200, 300);
+        player = new Player(world, 200, 300);
+        interactions = new InteractionSystem(level.getSpatialCellSize());
+        ecs = new EntityWorld(world);
+
+        Random random = new Random(7);
+        MapProperties props = level.getMap().getProperties();
+        mapWidth = props.get("width", Integer.class) * props.get("tilewidth", Integer.class);
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * mapWidth, y = random.nextFloat() * 960;
+            float vx = random.nextFloat() * 120 - 60, vy = random.nextFloat() * 120 - 60;
+            movers.add(new Mover(x, y, vx, vy));
+
+            Pickup pickup = new Pickup(random.nextFloat() * mapWidth, random.nextFloat() * 960);
+            pickups.add(pickup);
+            interactions.add(pickup);
+
+            int id = ecs.create();
+            ecs.setPosition(id, x, y);
+            ecs.setVelocity(id, vx, vy);
+        }
+    }
+
+    @Benchmark
+    public void entities() {
+        float step = PhysicsSystem.TIME_STEP;
+        for (int i = 0; i < movers.size; i++) movers.get(i).update(step);
+        for (int i = 0; i < movers.size; i++) movers.get(i).fixedUpdate(step);
+        for (int i = 0; i < movers.size; i++) movers.get(i).interpolate(0.5f);
+    }
+
+    /** El jugador recorre el mapa; el InteractionSystem marca los ítems en rango y cada ítem se actualiza. */
+    @Benchmark
+    public void items() {
+        playerX = (playerX + 7) % mapWidth;
+        player.setPosition(playerX, 300);
+        interactions.update(playerX, 300);
+        for (int i = 0; i < pickups.size; i++) pickups.get(i).update(PhysicsSystem.TIME_STEP, player);
+    }
+
+    @Benchmark
+    public void ecsMovement() {
+        movement.step(ecs, PhysicsSystem.TIME_STEP);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Mover m : movers) m.dispose();
+        for (Pickup p : pickups) p.dispose();
+        player.dispose();
+        level.dispose();
+        world.dispose();
+    }
+}
@@ -0,0 +1,29 @@
+package com.TfPooAs.Souls2D.benchmarks;
+
+import com.TfPooAs.Souls2D.headless.NoOpGL;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.physics.box2d.Box2D;
+
+/**
+ * Levanta libGDX sin ventana para los benchmarks: backend headless (archivos, nativos de Box2D)
+ * y el GL vacío del módulo headless, así se pueden crear texturas y mapas sin contexto OpenGL.
+ * Los assets se leen del directorio de trabajo (la tarea jmh usa assets/).
+ */
+public final class Headless {
+
+    private static boolean started = false;
+
+    private Headless() {}
+
+    public static synchronized void init() {
+        if (started) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // sin loop propio: los benchmarks llaman al código directamente
+        new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Box2D.init();
+        NoOpGL.install();
+        started = true;
+    }
+}
@@ -0,0 +1,46 @@
+package com.TfPooAs.Souls2D.benchmarks;
+
+import com.TfPooAs.Souls2D.world.LevelLoader;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga completa de un nivel: .tmx (o chunks horneados) + tilesets + colisiones en Box2D.
+ * Cada invocación parte de cero: LevelLoader.dispose() suelta el mapa de Assets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelLoadBenchmark {
+
+    /** "cemetery" es el mapa real; "synthetic-N" un mapa generado de N tiles de ancho. */
+    @Param({"cemetery", "synthetic-1024", "synthetic-4096"})
+    public String map;
+
+    private String mapPath;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.init();
+        mapPath = map.startsWith("synthetic-")
+            ? SyntheticMaps.get(Integer.parseInt(map.substring("synthetic-".length())))
+            : "maps/" + map + ".tmx";
+    }
+
+    @Benchmark
+    public int load() {
+        World world = new World(new Vector2(0, -9.8f), true);
+        LevelLoader loader = new LevelLoader(world, mapPath);
+        loader.preload(200, 300); // en streaming, lo mismo que hace GameScreen al crear al jugador
+        int bodies = world.getBodyCount();
+        loader.dispose();
+        world.dispose();
+        return bodies;
+    }
+}
@@ -0,0 +1,73 @@
+package com.TfPooAs.Souls2D.benchmarks;
+
+import com.TfPooAs.Souls2D.systems.PhysicsSystem;
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.TfPooAs.Souls2D.world.CollisionManager;
+import com.TfPooAs.Souls2D.world.LevelLoader;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un world.step con N bodies dinámicos sobre las colisiones de cemetery, con el CollisionManager
+ * del juego como listener. Los bodies no duermen, así cada paso resuelve todos los contactos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PhysicsStepBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int bodies;
+
+    private World world;
+    private LevelLoader level;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.init();
+        world = new World(new Vector2(0, -9.8f), true);
+        world.setContactListener(new CollisionManager());
+        level = new LevelLoader(world, "maps/cemetery.tmx");
+
+        Random random = new Random(42);
+        PolygonShape shape = new PolygonShape();
+        shape.setAsBox(12 / Constants.PPM, 16 / Constants.PPM);
+        FixtureDef fdef = new FixtureDef();
+        fdef.shape = shape;
+        fdef.density = 1f;
+        fdef.filter.categoryBits = Constants.BIT_PLAYER;
+        fdef.filter.maskBits = Constants.BIT_GROUND | Constants.BIT_PLAYER;
+        for (int i = 0; i < bodies; i++) {
+            float x = 100 + random.nextFloat() * 1800;
+            float y = 300 + random.nextFloat() * 500;
+            level.preload(x, y);
+            BodyDef bdef = new BodyDef();
+            bdef.type = BodyDef.BodyType.DynamicBody;
+            bdef.allowSleep = false;
+            bdef.position.set(x / Constants.PPM, y / Constants.PPM);
+            world.createBody(bdef).createFixture(fdef);
+        }
+        shape.dispose();
+
+        // Dejar que se asienten: medimos el régimen estable, no la caída inicial
+        for (int i = 0; i < 120; i++) step();
+    }
+
+    @Benchmark
+    public void step() {
+        world.step(PhysicsSystem.TIME_STEP, PhysicsSystem.VELOCITY_ITERATIONS, PhysicsSystem.POSITION_ITERATIONS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        level.dispose();
+        world.dispose();
+    }
+}
@@ -0,0 +1,64 @@
+package com.TfPooAs.Souls2D.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.util.Random;
+
+/**
+ * Genera mapas .tmx grandes con el tileset del juego: suelo continuo más plataformas al azar
+ * en la capa "Collisions", con la misma estructura que los mapas de Tiled.
+ */
+public final class SyntheticMaps {
+
+    public static final String DIR = "cache/bench/";
+    private static final int TILE = 32;
+    private static final int HEIGHT = 30;
+
+    private SyntheticMaps() {}
+
+    /** Devuelve la ruta (interna) de un mapa de {@code width} tiles de ancho; lo genera si no existe. */
+    public static String get(int width) {
+        String path = DIR + "synthetic-" + width + ".tmx";
+        FileHandle file = Gdx.files.local(path);
+        if (!file.exists()) file.writeString(build(width), false, "UTF-8");
+        return path;
+    }
+
+    private static String build(int width) {
+        Random random = new Random(width); // mismo mapa en cada corrida
+        StringBuilder out = new StringBuilder(width * HEIGHT * 3);
+        out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<map version=\"1.10\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"").append(width)
+            .append("\" height=\"").append(HEIGHT).append("\" tilewidth=\"").append(TILE).append("\" tileheight=\"").append(TILE)
+            .append("\" infinite=\"0\">\n")
+            .append(" <tileset firstgid=\"1\" source=\"../../maps/tilemapeardo.tsx\"/>\n")
+            .append(" <layer id=\"1\" name=\"Terreno\" width=\"").append(width).append("\" height=\"").append(HEIGHT).append("\">\n")
+            .append("  <data encoding=\"csv\">\n");
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < width; col++) {
+                int gid = row >= HEIGHT - 3 ? 1 + random.nextInt(15) : (random.nextInt(20) == 0 ? 16 + random.nextInt(15) : 0);
+                out.append(gid);
+                if (row < HEIGHT - 1 || col < width - 1) out.append(',');
+            }
+            out.append('\n');
+        }
+        out.append("  </data>\n </layer>\n <objectgroup id=\"2\" name=\"Collisions\">\n");
+
+        int id = 1;
+        // Suelo: tramos de 16 tiles a lo largo de todo el mapa
+        for (int col = 0; col < width; col += 16) {
+            out.append("  <object id=\"").append(id++).append("\" x=\"").append(col * TILE).append("\" y=\"").append((HEIGHT - 3) * TILE)
+                .append("\" width=\"").append(Math.min(16, width - col) * TILE).append("\" height=\"").append(3 * TILE).append("\"/>\n");
+        }
+        // Plataformas sueltas (algunas se superponen, como pasa al dibujar a mano)
+        for (int i = 0; i < width / 4; i++) {
+            int x = random.nextInt(Math.max(1, width - 6)) * TILE;
+            int y = (4 + random.nextInt(HEIGHT - 10)) * TILE;
+            out.append("  <object id=\"").append(id++).append("\" x=\"").append(x).append("\" y=\"").append(y)
+                .append("\" width=\"").append((2 + random.nextInt(5)) * TILE).append("\" height=\"").append(TILE).append("\"/>\n");
+        }
+        out.append(" </objectgroup>\n</map>\n");
+        return out.toString();
+    }
+}
@@ -3,8 +3,10 @@ package com.TfPooAs.Souls2D.core;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.Gdx;
 import com.TfPooAs.Souls2D.screens.GameScreen;
+import com.TfPooAs.Souls2D.screens.LoadingScreen;
 import com.TfPooAs.Souls2D.screens.MainMenuScreen;
 import com.TfPooAs.Souls2D.screens.OptionsMenu;
+import com.TfPooAs.Souls2D.systems.SaveSystem;
 
 
 public class GameScreenManager {
@@ -44,7 +46,13 @@ public class GameScreenManager {
     }
 
     public void showGameScreen() {
-        setActiveScreenNormal(new GameScreen(game));
+        // Carga en segundo plano y arma GameScreen de a poco; al terminar la activa ella misma
+        setActiveScreenNormal(new LoadingScreen(game));
+    }
+
+    /** Carga el guardado más reciente y arranca GameScreen desde ahí (o una partida nueva si no hay). */
+    public void continueGame() {
+        setActiveScreenNormal(new LoadingScreen(game, SaveSystem.loadLatest()));
     }
 
     public void showMainMenu() {
@@ -0,0 +1,138 @@
+package com.TfPooAs.Souls2D.core;
+
+import com.TfPooAs.Souls2D.entities.Player;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Una partida grabada paso a paso: mapa, estado inicial del jugador y la máscara de botones de
+ * cada paso fijo. Sirve para repetir exactamente el mismo recorrido (por ejemplo en el launcher
+ * headless) y comparar tiempos y memoria entre builds.
+ *
+ * Formato: magic "S2DI", versión (short), mapa (UTF), x, y, vx, vy del jugador (float), su
+ * aceleración horizontal (float) y contactos de suelo (short), cantidad de pasos (int) y después
+ * tramos (botones: byte, largo: varint). Como los botones cambian poco
+ * entre pasos, un minuto de juego ocupa unos cientos de bytes.
+ */
+public class InputRecording {
+
+    private static final int MAGIC = 0x53324449; // "S2DI"
+    private static final int VERSION = 2;
+
+    public final String map;
+    public final float playerX, playerY, velocityX, velocityY; // px (centro del body) y m/s
+    public final float moveSpeed;    // rampa de Player (0 o 0.3) del primer paso
+    public final int groundContacts; // lo que contaba CollisionManager; -1 en grabaciones de la versión 1
+
+    private byte[] buttons = new byte[1024]; // un byte por paso
+    private int ticks = 0;
+
+    public InputRecording(String map, float playerX, float playerY, float velocityX, float velocityY,
+                          float moveSpeed, int groundContacts) {
+        this.map = map;
+        this.playerX = playerX;
+        this.playerY = playerY;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        this.moveSpeed = moveSpeed;
+        this.groundContacts = groundContacts;
+    }
+
+    public void add(int tickButtons) {
+        if (ticks == buttons.length) buttons = Arrays.copyOf(buttons, ticks * 2);
+        buttons[ticks++] = (byte) tickButtons;
+    }
+
+    public int get(int tick) { return buttons[tick] & 0xFF; }
+    public int getTickCount() { return ticks; }
+
+    // --- Archivo ---
+
+    public void save(FileHandle file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + ticks / 8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeUTF(map);
+        out.writeFloat(playerX);
+        out.writeFloat(playerY);
+        out.writeFloat(velocityX);
+        out.writeFloat(velocityY);
+        out.writeFloat(moveSpeed);
+        out.writeShort(groundContacts);
+        out.writeInt(ticks);
+        for (int i = 0; i < ticks; ) {
+            int start = i;
+            while (i < ticks && buttons[i] == buttons[start]) i++;
+            out.writeByte(buttons[start]);
+            writeVarInt(out, i - start);
+        }
+        file.writeBytes(bytes.toByteArray(), false);
+    }
+
+    public static InputRecording load(FileHandle file) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(file.readBytes()));
+        if (in.readInt() != MAGIC) throw new IOException(file.path() + " no es una grabación de input");
+        int version = in.readUnsignedShort();
+        if (version > VERSION) throw new IOException("versión " + version + " más nueva que el juego");
+        String map = in.readUTF();
+        float x = in.readFloat(), y = in.readFloat(), vx = in.readFloat(), vy = in.readFloat();
+        float moveSpeed = version >= 2 ? in.readFloat() : Player.DEFAULT_MOVE_SPEED;
+        int groundContacts = version >= 2 ? in.readShort() : -1;
+        InputRecording recording = new InputRecording(map, x, y, vx, vy, moveSpeed, groundContacts);
+        int ticks = in.readInt();
+        recording.buttons = new byte[Math.max(ticks, 1)];
+        while (recording.ticks < ticks) {
+            byte value = in.readByte();
+            int run = readVarInt(in);
+            if (run <= 0 || recording.ticks + run > ticks) throw new IOException("tramo inválido");
+            Arrays.fill(recording.buttons, recording.ticks, recording.ticks + run, value);
+            recording.ticks += run;
+        }
+        return recording;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("varint inválido");
+    }
+
+    /** Reproduce la grabación como fuente de input; al terminar devuelve 0 (sin botones). */
+    public static class Replay implements InputSource {
+        private final InputRecording recording;
+        private int tick = 0;
+
+        public Replay(InputRecording recording) {
+            this.recording = recording;
+        }
+
+        @Override public void update() {}
+
+        @Override
+        public int next() {
+            return tick < recording.ticks ? recording.get(tick++) : 0;
+        }
+
+        public boolean isFinished() { return tick >= recording.ticks; }
+        public int getTick() { return tick; }
+    }
+}
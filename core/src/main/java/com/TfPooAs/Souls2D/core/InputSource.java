@@ -0,0 +1,21 @@
+package com.TfPooAs.Souls2D.core;
+
+/**
+ * De dónde sale el input del jugador, un paso fijo a la vez.
+ *
+ * Cada paso de física consume exactamente un frame de input (una máscara de botones), así que con
+ * el mismo estado inicial y la misma secuencia de frames la simulación repite los mismos world.step.
+ */
+public interface InputSource {
+
+    int LEFT = 1;
+    int RIGHT = 1 << 1;
+    int JUMP = 1 << 2; // "recién presionado": dura un solo paso
+    int INTERACT = 1 << 3; // ídem: descansar en una fogata, usar un ítem
+
+    /** Una vez por frame, antes de los pasos fijos (para no perder pulsaciones entre pasos). */
+    void update();
+
+    /** Botones para el próximo paso fijo. */
+    int next();
+}
@@ -0,0 +1,30 @@
+package com.TfPooAs.Souls2D.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/** Input del teclado: A/D para moverse, W para saltar, E para interactuar. */
+public class KeyboardInput implements InputSource {
+
+    private boolean jumpRequested = false;
+    private boolean interactRequested = false;
+
+    @Override
+    public void update() {
+        // Se lee por frame y se guarda hasta el próximo paso fijo para no perder saltos
+        if (Gdx.input.isKeyJustPressed(Input.Keys.W)) jumpRequested = true;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.E)) interactRequested = true;
+    }
+
+    @Override
+    public int next() {
+        int buttons = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.A)) buttons |= LEFT;
+        else if (Gdx.input.isKeyPressed(Input.Keys.D)) buttons |= RIGHT;
+        if (jumpRequested) buttons |= JUMP;
+        if (interactRequested) buttons |= INTERACT;
+        jumpRequested = false;
+        interactRequested = false;
+        return buttons;
+    }
+}
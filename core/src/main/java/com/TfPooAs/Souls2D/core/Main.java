@@ -4,6 +4,10 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import com.TfPooAs.Souls2D.screens.MainMenuScreen;
+import com.TfPooAs.Souls2D.systems.SaveSystem;
+import com.TfPooAs.Souls2D.systems.SoundManager;
+import com.TfPooAs.Souls2D.utils.Assets;
+import com.TfPooAs.Souls2D.utils.Fonts;
 
 public class Main extends Game {
     public GameScreenManager gsm;
@@ -21,6 +25,7 @@ public class Main extends Game {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         gsm.update(Gdx.graphics.getDeltaTime());
         gsm.render();
+        SoundManager.update(Gdx.graphics.getDeltaTime()); // en todas las pantallas, no sólo en el juego
     }
 
     @Override
@@ -35,5 +40,9 @@ public class Main extends Game {
         if (gsm != null) {
             gsm.dispose();
         }
+        SaveSystem.flush(); // que no se corte un guardado en curso
+        SoundManager.dispose(); // antes de Assets, que libera sus buffers
+        Fonts.dispose();
+        Assets.dispose();
     }
 }
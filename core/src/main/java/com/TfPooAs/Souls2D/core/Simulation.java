@@ -0,0 +1,292 @@
+package com.TfPooAs.Souls2D.core;
+
+import com.TfPooAs.Souls2D.entities.Enemy;
+import com.TfPooAs.Souls2D.entities.Interactable;
+import com.TfPooAs.Souls2D.entities.Item;
+import com.TfPooAs.Souls2D.entities.NPC;
+import com.TfPooAs.Souls2D.entities.Player;
+import com.TfPooAs.Souls2D.entities.items.Bonfire;
+import com.TfPooAs.Souls2D.systems.AISystem;
+import com.TfPooAs.Souls2D.systems.EntityWorld;
+import com.TfPooAs.Souls2D.systems.InteractionSystem;
+import com.TfPooAs.Souls2D.systems.PhysicsSystem;
+import com.TfPooAs.Souls2D.systems.SaveData;
+import com.TfPooAs.Souls2D.systems.SpawnPool;
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.TfPooAs.Souls2D.world.CollisionManager;
+import com.TfPooAs.Souls2D.world.LevelLoader;
+import com.TfPooAs.Souls2D.world.LightingManager;
+import com.TfPooAs.Souls2D.world.Pathfinder;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * La simulación del juego sin nada de dibujo: mundo Box2D, nivel, entidades, contactos e interacciones.
+ *
+ * GameScreen la usa y le suma cámara, batch y overlays; el launcher headless la corre sola, sin
+ * ventana ni GPU, tan rápido como dé la CPU.
+ */
+public class Simulation implements Disposable {
+
+    public static final float GRAVITY = -9.8f;
+
+    private final World world;
+    private final PhysicsSystem physics;
+    private final EntityWorld entities;        // enemigos, pickups, proyectiles (ECS)
+    private final CollisionManager collisions;
+    private final LevelLoader levelLoader;
+    private final InteractionSystem interactions; // ítems, NPCs y fogatas en grilla espacial
+    private final AISystem ai;                    // enemigos con body y máquina de estados
+    private final Pathfinder pathfinder;          // caminos de los enemigos en otro hilo (null sin grafo)
+    private final Array<Bonfire> bonfires = new Array<>();
+    private LightingManager lighting; // lo pone GameScreen; headless no hay luces
+    private final Array<Item> items = new Array<>();
+    private final Array<NPC> npcs = new Array<>();
+    private final Array<SpawnPool> pools = new Array<>();
+    private final String mapPath;
+    private Player player;
+    private long frames = 0;
+
+    // Input por paso fijo: teclado, o una grabación si se está reproduciendo
+    private InputSource input = new KeyboardInput();
+    private InputRecording recording; // != null mientras se graba
+    private long ticks = 0;
+
+    // Último punto de descanso (spawn o fogata) para Reintentar sin reconstruir nada
+    private SaveData checkpointPlayer;
+    private EntityWorld.Snapshot checkpointEntities;
+
+    public Simulation(String mapPath) {
+        this.mapPath = mapPath;
+        world = new World(new Vector2(0, GRAVITY), true);
+        physics = new PhysicsSystem(world);
+        entities = new EntityWorld(world);
+        physics.setEntityWorld(entities);
+        physics.setBeforeStep(this::feedInput);
+
+        // Contactos: despacho por tags de fixture (el conteo de suelo ya viene registrado)
+        collisions = new CollisionManager();
+        world.setContactListener(collisions);
+
+        // Cargar mapa y colisiones
+        levelLoader = new LevelLoader(world, mapPath);
+        interactions = new InteractionSystem(levelLoader.getSpatialCellSize());
+        ai = new AISystem(world);
+        ai.setStreamer(levelLoader.getStreamer());
+        pathfinder = levelLoader.getNavGraph() != null ? new Pathfinder(levelLoader.getNavGraph()) : null;
+    }
+
+    /** Crea al jugador (una sola vez); el terreno del spawn se carga antes del primer paso. */
+    public Player spawnPlayer(float x, float y) {
+        if (player != null) return player;
+        levelLoader.preload(x, y);
+        player = new Player(world, x, y);
+        physics.add(player);
+        return player;
+    }
+
+    /**
+     * Crea un pool de entidades transitorias de este mundo; Simulation aplica sus despawns
+     * pendientes después de la física y lo vacía al restaurar un checkpoint.
+     */
+    public SpawnPool createSpawnPool(TextureRegion sprite, float width, float height, SpawnPool.BodyFactory factory, int maxParked) {
+        SpawnPool pool = new SpawnPool(entities, sprite, width, height, factory, maxParked);
+        pools.add(pool);
+        return pool;
+    }
+
+    /** Agrega un enemigo: sus pasos fijos los corre la física y su IA el planificador de AISystem. */
+    public <T extends Enemy> T addEnemy(T enemy) {
+        physics.add(enemy);
+        ai.add(enemy);
+        enemy.setPathfinder(pathfinder);
+        return enemy;
+    }
+
+    /**
+     * Registra una fogata: entra en la grilla de interacción, descansar en ella fija el checkpoint y,
+     * si hay luces, tiene una estática.
+     */
+    public void addBonfire(Bonfire bonfire) {
+        bonfires.add(bonfire);
+        interactions.add(bonfire);
+        bonfire.setOnRest(this::checkpoint);
+        if (lighting != null) addBonfireLight(bonfire);
+    }
+
+    /** Luces del nivel; las fogatas ya registradas reciben la suya en este momento. */
+    public void setLighting(LightingManager lighting) {
+        this.lighting = lighting;
+        for (int i = 0; i < bonfires.size; i++) addBonfireLight(bonfires.get(i));
+    }
+
+    private void addBonfireLight(Bonfire bonfire) {
+        lighting.addStatic(bonfire.getPosition().x, bonfire.getPosition().y + Bonfire.LIGHT_HEIGHT,
+            Bonfire.LIGHT_DISTANCE, Bonfire.LIGHT_COLOR);
+    }
+
+    /** Registra un ítem: entra en la grilla de interacción y se actualiza con el jugador cada frame. */
+    public <T extends Item> T addItem(T item) {
+        items.add(item);
+        interactions.add(item);
+        return item;
+    }
+
+    /** Registra un NPC en la grilla de interacción; son estáticos, así que no se vuelven a ubicar. */
+    public <T extends NPC> T addNPC(T npc) {
+        npcs.add(npc);
+        interactions.add(npc);
+        return npc;
+    }
+
+    // --- Input, grabación y repetición ---
+
+    /** Un frame de input por paso fijo: lo que se graba es exactamente lo que recibe el jugador. */
+    private void feedInput() {
+        int buttons = input.next();
+        if (recording != null) recording.add(buttons);
+        if (player != null) {
+            player.setButtons(buttons);
+            if ((buttons & InputSource.INTERACT) != 0) interact();
+        }
+        ticks++;
+    }
+
+    /**
+     * Interactúa con lo más cercano en rango. Mide desde el body y no desde la posición interpolada,
+     * que depende del frame: así la grabación descansa en la misma fogata y en el mismo paso.
+     */
+    private void interact() {
+        float x = player.getBody().getPosition().x * Constants.PPM - player.getWidth() / 2;
+        float y = player.getBody().getPosition().y * Constants.PPM - player.getHeight() / 2;
+        interactions.update(x, y);
+        Interactable target = interactions.getClosest(x, y);
+        if (target != null) target.interact(player);
+    }
+
+    public void setInput(InputSource input) {
+        this.input = input;
+    }
+
+    public InputSource getInput() { return input; }
+
+    /** Empieza a grabar desde el estado actual del jugador; los pasos siguientes quedan en la grabación. */
+    public InputRecording startRecording() {
+        if (player == null) return null;
+        SaveData start = SaveData.capture(player);
+        recording = new InputRecording(mapPath, start.playerX, start.playerY, start.velocityX, start.velocityY,
+            player.getMoveSpeed(), player.getGroundContacts());
+        physics.resetAccumulator(); // la grabación arranca justo en un paso
+        return recording;
+    }
+
+    public InputRecording stopRecording() {
+        InputRecording done = recording;
+        recording = null;
+        return done;
+    }
+
+    public boolean isRecording() { return recording != null; }
+
+    /**
+     * Pone al jugador en el estado inicial de la grabación y la usa como input. Para que se repitan
+     * los mismos world.step conviene avanzar de a un paso fijo (update(PhysicsSystem.TIME_STEP)).
+     */
+    public InputRecording.Replay replay(InputRecording recorded) {
+        spawnPlayer(recorded.playerX, recorded.playerY);
+        levelLoader.preload(recorded.playerX, recorded.playerY);
+        player.restore(recorded.playerX, recorded.playerY, recorded.velocityX, recorded.velocityY);
+        player.restoreMovement(recorded.moveSpeed, recorded.groundContacts);
+        physics.resetAccumulator();
+        ai.setBudgetNanos(0); // con presupuesto por tiempo real la IA no se repetiría igual
+        if (pathfinder != null) pathfinder.setSynchronous(true); // ídem con los caminos en otro hilo
+        InputRecording.Replay replay = new InputRecording.Replay(recorded);
+        input = replay;
+        return replay;
+    }
+
+    /** Guarda en memoria el estado actual (jugador y entidades) como punto de reaparición. */
+    public void checkpoint() {
+        if (player == null) return;
+        checkpointPlayer = SaveData.capture(player);
+        checkpointEntities = entities.capture(checkpointEntities);
+    }
+
+    public boolean hasCheckpoint() { return checkpointPlayer != null; }
+
+    /**
+     * Vuelve al último checkpoint en el mismo mundo: sin releer el mapa ni recrear bodies ni assets.
+     * No llamar durante world.step.
+     */
+    public void restoreCheckpoint() {
+        if (checkpointPlayer == null) return;
+        levelLoader.preload(checkpointPlayer.playerX, checkpointPlayer.playerY);
+        for (int i = 0; i < pools.size; i++) pools.get(i).despawnAll();
+        entities.restore(checkpointEntities);
+        ai.respawnAll(); // como al descansar en Dark Souls: los enemigos vuelven a su lugar
+        checkpointPlayer.applyTo(player);
+        world.clearForces();
+        physics.resetAccumulator();
+        interactions.update(player.getPosition().x, player.getPosition().y);
+    }
+
+    /**
+     * Avanza un frame: streaming de chunks alrededor de (focusX, focusY), input del jugador,
+     * IA de los enemigos (con la vista centrada en el foco), pasos fijos de física e interacciones.
+     * @return cantidad de pasos fijos ejecutados
+     */
+    public int update(float delta, float focusX, float focusY) {
+        levelLoader.update(focusX, focusY); // fuera de world.step
+        input.update();
+        if (player != null) player.update(delta);
+        ai.update(delta, player, focusX, focusY);
+        int steps = physics.update(delta);
+        for (int i = 0; i < pools.size; i++) pools.get(i).flush();
+        if (player != null) {
+            interactions.update(player.getPosition().x, player.getPosition().y);
+            for (int i = 0; i < items.size; i++) items.get(i).update(delta, player);
+            for (int i = 0; i < npcs.size; i++) npcs.get(i).update(delta);
+        }
+        frames++;
+        return steps;
+    }
+
+    /** Igual que {@link #update(float, float, float)} con el foco en el jugador. */
+    public int update(float delta) {
+        float x = player != null ? player.getPosition().x : 0;
+        float y = player != null ? player.getPosition().y : 0;
+        return update(delta, x, y);
+    }
+
+    public World getWorld() { return world; }
+    public PhysicsSystem getPhysics() { return physics; }
+    public EntityWorld getEntityWorld() { return entities; }
+    public CollisionManager getCollisions() { return collisions; }
+    public LevelLoader getLevelLoader() { return levelLoader; }
+    public InteractionSystem getInteractions() { return interactions; }
+    public AISystem getAI() { return ai; }
+    public Array<Bonfire> getBonfires() { return bonfires; }
+    public Array<Item> getItems() { return items; }
+    public Array<NPC> getNPCs() { return npcs; }
+    public Pathfinder getPathfinder() { return pathfinder; }
+    public Player getPlayer() { return player; }
+    public long getFrameCount() { return frames; }
+    public long getTickCount() { return ticks; }
+    public String getMapPath() { return mapPath; }
+
+    @Override
+    public void dispose() {
+        if (player != null) player.dispose();
+        for (int i = 0; i < bonfires.size; i++) bonfires.get(i).dispose();
+        for (int i = 0; i < items.size; i++) items.get(i).dispose();
+        for (int i = 0; i < npcs.size; i++) npcs.get(i).dispose();
+        for (Enemy enemy : ai.getEnemies()) enemy.dispose();
+        for (int i = 0; i < pools.size; i++) pools.get(i).dispose();
+        if (pathfinder != null) pathfinder.dispose();
+        levelLoader.dispose();
+        world.dispose();
+    }
+}
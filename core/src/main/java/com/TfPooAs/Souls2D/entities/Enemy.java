@@ -1,4 +1,289 @@
 package com.TfPooAs.Souls2D.entities;
 
-public class Enemy {
+import com.TfPooAs.Souls2D.entities.enemies.EnemyState;
+import com.TfPooAs.Souls2D.systems.AISystem;
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.TfPooAs.Souls2D.world.CollisionManager;
+import com.TfPooAs.Souls2D.world.FixtureTag;
+import com.TfPooAs.Souls2D.world.NavGraph;
+import com.TfPooAs.Souls2D.world.Pathfinder;
+import com.badlogic.gdx.ai.fsm.DefaultStateMachine;
+import com.badlogic.gdx.ai.fsm.State;
+import com.badlogic.gdx.ai.fsm.StateMachine;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.*;
+
+/**
+ * Enemigo con body propio y una máquina de estados de gdx-ai ({@link EnemyState} por defecto).
+ *
+ * La IA no corre en cada paso: la llama {@link AISystem} con la frecuencia que le toque según la
+ * distancia al jugador, y sólo deja una intención (hacia dónde caminar, si saltar). El body la
+ * aplica en cada paso fijo, así el movimiento es igual de suave aunque la IA piense a 4 Hz.
+ *
+ * Para llegar a otra plataforma sigue un camino del {@link Pathfinder}, que se pide sin esperar:
+ * mientras la respuesta no llega camina derecho hacia el objetivo.
+ */
+public class Enemy extends Entity {
+
+    protected final Body body;
+    protected final StateMachine<Enemy, State<Enemy>> brain;
+
+    // Parámetros (px y px/s); las subclases los ajustan en su constructor
+    protected float moveSpeed = 120f;
+    protected float sightRange = 500f;
+    protected float attackRange = 60f;
+    protected float leashRange = 900f;   // más lejos de casa deja de perseguir
+    protected float attackWindup = 0.5f; // s
+    protected int maxHealth = 3;
+    protected int health;
+
+    private static final float REPATH_INTERVAL = 0.5f; // s
+
+    private final Vector2 home = new Vector2(); // centro del spawn, px
+    private final Vector2 previousBodyPosition = new Vector2();
+
+    // Intención que deja la IA para los pasos fijos
+    private int moveDir = 0; // -1, 0, 1
+    private boolean wantJump = false;
+
+    // Contexto del tick de IA actual (lo fija AISystem antes de actualizar la máquina de estados)
+    private AISystem.Perception perception;
+    private float thinkDelta;
+    private float stateTime;
+    private int attacks = 0;
+
+    // Camino actual (lo calcula el hilo del Pathfinder)
+    private Pathfinder pathfinder;
+    private Pathfinder.Request pathRequest;
+    private int pathIndex;
+    private float repathTimer;
+
+    public Enemy(World world, float x, float y, String texturePath) {
+        super(x, y, texturePath);
+        this.health = maxHealth;
+        this.home.set(x, y);
+        this.body = createBody(world, x, y);
+        this.brain = new DefaultStateMachine<>(this, EnemyState.IDLE);
+        interpolate(1f);
+    }
+
+    private Body createBody(World world, float x, float y) {
+        BodyDef bdef = new BodyDef();
+        bdef.type = BodyDef.BodyType.DynamicBody;
+        bdef.position.set(x / Constants.PPM, y / Constants.PPM);
+        bdef.fixedRotation = true;
+        Body b = world.createBody(bdef);
+
+        float halfW = width / 3 / Constants.PPM, halfH = height / 3 / Constants.PPM;
+        PolygonShape shape = new PolygonShape();
+        shape.setAsBox(halfW, halfH);
+        FixtureDef fdef = new FixtureDef();
+        fdef.shape = shape;
+        fdef.density = 1f;
+        fdef.friction = 0f;
+        fdef.filter.categoryBits = Constants.BIT_ENEMY;
+        fdef.filter.maskBits = Constants.BIT_GROUND; // no se empujan entre ellos ni con el jugador
+        b.createFixture(fdef).setUserData(new FixtureTag(CollisionManager.ENEMY, this));
+
+        // Sensor de pies, igual que el del jugador
+        shape.setAsBox(halfW * 0.8f, 2f / Constants.PPM, new Vector2(0, -halfH), 0);
+        FixtureDef foot = new FixtureDef();
+        foot.shape = shape;
+        foot.isSensor = true;
+        foot.filter.categoryBits = Constants.BIT_ENEMY;
+        foot.filter.maskBits = Constants.BIT_GROUND;
+        b.createFixture(foot).setUserData(new FixtureTag(CollisionManager.FOOT, this));
+
+        shape.dispose();
+        previousBodyPosition.set(b.getPosition());
+        return b;
+    }
+
+    @Override
+    public void update(float delta) {
+        // La IA la corre AISystem (think); el movimiento, fixedUpdate
+    }
+
+    /** Un tick de IA; {@code delta} es el tiempo desde el tick anterior de este enemigo. */
+    public void think(float delta, AISystem.Perception perception) {
+        this.thinkDelta = delta;
+        this.perception = perception;
+        stateTime += delta;
+        brain.update();
+    }
+
+    @Override
+    public void fixedUpdate(float step) {
+        previousBodyPosition.set(body.getPosition());
+        Vector2 vel = body.getLinearVelocity();
+        body.setLinearVelocity(moveDir * getMoveSpeed() / Constants.PPM, vel.y);
+        if (wantJump && isGrounded()) {
+            Vector2 center = body.getWorldCenter();
+            body.applyLinearImpulse(0, body.getMass() * 4f, center.x, center.y, true);
+        }
+        wantJump = false;
+    }
+
+    @Override
+    public void interpolate(float alpha) {
+        Vector2 current = body.getPosition();
+        float x = previousBodyPosition.x + (current.x - previousBodyPosition.x) * alpha;
+        float y = previousBodyPosition.y + (current.y - previousBodyPosition.y) * alpha;
+        position.set(x * Constants.PPM - width / 2, y * Constants.PPM - height / 2);
+    }
+
+    @Override
+    public void render(SpriteBatch batch) {
+        if (!active || texture == null) return;
+        // Mira hacia donde camina (el sprite mira a la derecha)
+        if (moveDir < 0) batch.draw(texture, position.x + width, position.y, -width, height);
+        else batch.draw(texture, position.x, position.y, width, height);
+    }
+
+    // --- Acciones que usan los estados ---
+
+    public void moveToward(float targetX) {
+        float dx = targetX - getCenterX();
+        moveDir = Math.abs(dx) < getArriveDistance() ? 0 : (dx > 0 ? 1 : -1);
+    }
+
+    /**
+     * Camina hacia (targetX, targetY) px por el grafo de navegación, saltando donde el camino salta.
+     * El camino se vuelve a pedir cada {@link #REPATH_INTERVAL} (apoyado) porque el objetivo se mueve.
+     */
+    public void moveAlongPath(float targetX, float targetY) {
+        if (pathfinder == null) {
+            moveToward(targetX);
+            return;
+        }
+        float feetY = getFeetY();
+        repathTimer -= thinkDelta;
+        if (pathRequest == null || (repathTimer <= 0f && isGrounded())) { // en el aire el inicio caería abajo
+            if (pathRequest != null) pathRequest.cancel();
+            pathRequest = pathfinder.request(getCenterX(), feetY, targetX, targetY);
+            pathIndex = 0;
+            repathTimer = REPATH_INTERVAL;
+        }
+        Pathfinder.Path path = pathRequest.getPath();
+        if (path == null) {
+            moveToward(targetX); // todavía no llegó (o no hay camino)
+            return;
+        }
+
+        float cell = pathfinder.getGraph().getCellSize();
+        while (pathIndex < path.size() && isReached(path, pathIndex, feetY, cell)) pathIndex++;
+        if (pathIndex >= path.size()) {
+            moveToward(targetX);
+            return;
+        }
+        float x = path.getX(pathIndex);
+        if (path.getType(pathIndex) == NavGraph.DROP && pathIndex > 0 && feetY > path.getY(pathIndex) + cell) {
+            // Hasta caerse del borde sigue hacia afuera: el body es más ancho que una celda
+            x += Math.signum(x - path.getX(pathIndex - 1)) * cell * 2;
+        }
+        int previousDir = moveDir;
+        moveToward(x);
+        // Empujando sin avanzar: es un escalón (o una lápida) y el box no lo sube caminando
+        if (moveDir != 0 && moveDir == previousDir && isGrounded() && Math.abs(body.getLinearVelocity().x) < 0.05f) {
+            jump();
+        }
+        // El punto es el aterrizaje de un salto: se salta al pasar por el despegue
+        if (path.getType(pathIndex) == NavGraph.JUMP && isGrounded()
+            && (pathIndex == 0 || Math.abs(path.getX(pathIndex - 1) - getCenterX()) < cell * 2)) {
+            jump();
+        }
+    }
+
+    private boolean isReached(Pathfinder.Path path, int i, float feetY, float cell) {
+        if (Math.abs(path.getY(i) - feetY) >= cell) return false;
+        float dx = getCenterX() - path.getX(i);
+        if (Math.abs(dx) < cell) return true;
+        // Un despegue que ya se pasó hacia donde va el salto (o la caída) también cuenta: si no,
+        // al volver a pedir el camino retrocedería hasta él
+        return i + 1 < path.size() && path.getType(i + 1) != NavGraph.WALK && Math.abs(dx) < cell * 2
+            && Math.signum(dx) == Math.signum(path.getX(i + 1) - path.getX(i));
+    }
+
+    public void clearPath() {
+        if (pathRequest != null) pathRequest.cancel();
+        pathRequest = null;
+    }
+
+    public void setPathfinder(Pathfinder pathfinder) {
+        this.pathfinder = pathfinder;
+    }
+
+    public void stop() { moveDir = 0; }
+    public void jump() { wantJump = true; }
+
+    /** Se llama al terminar el amago de un ataque; el daño lo resuelve el sistema de combate. */
+    public void attack() {
+        attacks++;
+    }
+
+    public void changeState(State<Enemy> state) {
+        stateTime = 0f;
+        brain.changeState(state);
+    }
+
+    public void damage(int amount) {
+        health = Math.max(0, health - amount);
+        if (health == 0) active = false;
+    }
+
+    // --- Consultas ---
+
+    public AISystem.Perception getPerception() { return perception; }
+    public float getThinkDelta() { return thinkDelta; }
+    public float getStateTime() { return stateTime; }
+    public StateMachine<Enemy, State<Enemy>> getBrain() { return brain; }
+
+    public float getMoveSpeed() { return moveSpeed; }
+    public float getSightRange() { return sightRange; }
+    public float getAttackRange() { return attackRange; }
+    public float getLeashRange() { return leashRange; }
+    public float getAttackWindup() { return attackWindup; }
+    public int getHealth() { return health; }
+    public int getMaxHealth() { return maxHealth; }
+    public int getAttackCount() { return attacks; }
+    public Vector2 getHome() { return home; }
+    public float distanceFromHome() { return home.dst(getCenterX(), getCenterY()); }
+    /** Cuánto cerca alcanza para haber llegado: pensando a 4 Hz camina 30 px entre tick y tick. */
+    public float getArriveDistance() { return Math.max(4f, getMoveSpeed() * thinkDelta / 2f); }
+
+    /** Los jefes piensan en cada frame aunque estén fuera de pantalla (salvo que estén dormidos, muy lejos). */
+    public boolean isBoss() { return false; }
+
+    public float getCenterX() { return position.x + width / 2f; }
+    public float getCenterY() { return position.y + height / 2f; }
+    /** Altura de la base del body (el sprite sobresale un poco por debajo). */
+    public float getFeetY() { return body.getPosition().y * Constants.PPM - height / 3f; }
+
+    public Body getBody() { return body; }
+
+    /**
+     * Dormido el body queda fuera de la simulación (sin gravedad ni contactos) y se queda donde
+     * está; lo maneja AISystem. No llamar durante world.step.
+     */
+    public void setSleeping(boolean sleeping) {
+        if (body.isActive() == sleeping) body.setActive(!sleeping);
+    }
+
+    public boolean isSleeping() { return !body.isActive(); }
+
+    /** Vuelve a su lugar con la vida llena y sin ver al jugador. No llamar durante world.step. */
+    public void respawn() {
+        health = maxHealth;
+        active = true;
+        body.setTransform(home.x / Constants.PPM, home.y / Constants.PPM, 0);
+        body.setLinearVelocity(0, 0);
+        body.setAwake(true);
+        previousBodyPosition.set(body.getPosition());
+        wantJump = false;
+        clearPath();
+        changeState(EnemyState.IDLE);
+        moveDir = 0;
+        interpolate(1f);
+    }
 }
@@ -1,25 +1,43 @@
 package com.TfPooAs.Souls2D.entities;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.TfPooAs.Souls2D.utils.Assets;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 
 public abstract class Entity {
     protected Vector2 position;
     protected float width, height;
-    protected Texture texture;
+    protected TextureRegion texture;  // región del atlas de sprites (o una textura suelta)
+    protected String texturePath;     // null si la región la pasó quien creó la entidad
     protected boolean active = true; // útil para eliminar entidades
+    protected int groundContacts = 0; // fixtures de suelo que tocan sus pies (lo lleva CollisionManager)
 
     public Entity(float x, float y, String texturePath) {
         this.position = new Vector2(x, y);
-        this.texture = new Texture(texturePath);
-        this.width = texture.getWidth();
-        this.height = texture.getHeight();
+        this.texturePath = texturePath;
+        this.texture = Assets.region(texturePath);
+        this.width = texture.getRegionWidth();
+        this.height = texture.getRegionHeight();
+    }
+
+    // Para regiones de un atlas propio: la región no se libera en dispose()
+    public Entity(float x, float y, TextureRegion region) {
+        this.position = new Vector2(x, y);
+        this.texture = region;
+        this.width = region.getRegionWidth();
+        this.height = region.getRegionHeight();
     }
 
     // Método para actualizar la lógica
     public abstract void update(float delta);
 
+    // Llamado por PhysicsSystem una vez por paso fijo, antes de world.step
+    public void fixedUpdate(float step) {}
+
+    // Llamado por PhysicsSystem una vez por frame; alpha = fracción del paso pendiente (0..1)
+    public void interpolate(float alpha) {}
+
     // Método para dibujar
     public void render(SpriteBatch batch) {
         if (active && texture != null) {
@@ -34,10 +52,15 @@ public abstract class Entity {
     public float getWidth() { return width; }
     public float getHeight() { return height; }
 
+    public boolean isGrounded() { return groundContacts > 0; }
+    public int getGroundContacts() { return groundContacts; }
+    public void addGroundContact(int delta) { groundContacts = Math.max(0, groundContacts + delta); }
+
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
 
     public void dispose() {
-        if (texture != null) texture.dispose();
+        if (texture != null && texturePath != null) Assets.releaseRegion(texturePath);
+        texture = null;
     }
 }
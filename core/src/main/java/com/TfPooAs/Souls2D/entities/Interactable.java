@@ -0,0 +1,17 @@
+package com.TfPooAs.Souls2D.entities;
+
+/**
+ * Algo con lo que el jugador puede interactuar al acercarse (ítems, NPCs, fogatas).
+ * El {@code InteractionSystem} lo ubica en la grilla espacial y le avisa si el jugador está en rango.
+ */
+public interface Interactable {
+    /** Centro del radio de interacción, en píxeles. */
+    float getInteractionX();
+    float getInteractionY();
+    float getInteractionRadius();
+
+    void setPlayerInRange(boolean inRange);
+
+    /** El jugador presionó interactuar y esto es lo más cercano en rango (se llama dentro de un paso fijo). */
+    default void interact(Player player) {}
+}
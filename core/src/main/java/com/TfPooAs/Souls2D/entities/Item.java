@@ -1,33 +1,33 @@
 package com.TfPooAs.Souls2D.entities;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.TfPooAs.Souls2D.utils.Assets;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
-public abstract class Item extends Entity {
+public abstract class Item extends Entity implements Interactable {
     protected boolean playerInRange = false;   // Si el jugador está cerca
-    protected Texture interactIcon;            // Icono de la tecla E
+    protected TextureRegion interactIcon;      // Icono de la tecla E
     protected float interactionRange = 48f;    // Distancia de interacción
     protected boolean interacted = false;      // Si ya fue usado
 
     public Item(float x, float y, String texturePath) {
         super(x, y, texturePath);
-        interactIcon = new Texture("ui/interact_e.png");
+        interactIcon = Assets.region(Assets.INTERACT_ICON);
     }
 
-    // Update ahora recibe el jugador
-    public void update(float delta, Player player) {
-        if (!active) return;
+    public Item(float x, float y, TextureRegion region) {
+        super(x, y, region);
+        interactIcon = Assets.region(Assets.INTERACT_ICON);
+    }
 
-        // Chequear si está en rango
-        checkPlayerInRange(player);
+    // Update por frame para los ítems que lo necesiten; la E ya no se lee acá, llega por InputSource
+    public void update(float delta, Player player) {
+    }
 
-        // Si está cerca y presiona E
-        if (playerInRange && Gdx.input.isKeyJustPressed(Input.Keys.E)) {
-            onInteract(player);
-        }
+    // Lo llama Simulation en el paso fijo si este es el ítem en rango más cercano al presionar E
+    @Override
+    public void interact(Player player) {
+        if (active) onInteract(player);
     }
 
     // Dibuja el ítem y el icono si se puede interactuar
@@ -36,20 +36,17 @@ public abstract class Item extends Entity {
         super.render(batch);
 
         if (playerInRange && !interacted) {
-            float iconX = position.x + width / 2 - interactIcon.getWidth() / 2;
+            float iconX = position.x + width / 2 - interactIcon.getRegionWidth() / 2;
             float iconY = position.y + height + 8;
             batch.draw(interactIcon, iconX, iconY);
         }
     }
 
-    // Comprueba si el jugador está cerca
-    protected void checkPlayerInRange(Player player) {
-        if (player == null) return;
-
-        Vector2 playerPos = player.getPosition();
-        float distance = position.dst(playerPos);
-        playerInRange = distance < interactionRange;
-    }
+    // Interactable: el rango se mide desde la posición del ítem
+    @Override public float getInteractionX() { return position.x; }
+    @Override public float getInteractionY() { return position.y; }
+    @Override public float getInteractionRadius() { return interactionRange; }
+    @Override public void setPlayerInRange(boolean inRange) { playerInRange = inRange; }
 
     // Cada ítem define su propio comportamiento
     protected abstract void onInteract(Player player);
@@ -57,6 +54,9 @@ public abstract class Item extends Entity {
     @Override
     public void dispose() {
         super.dispose();
-        if (interactIcon != null) interactIcon.dispose();
+        if (interactIcon != null) {
+            Assets.releaseRegion(Assets.INTERACT_ICON);
+            interactIcon = null;
+        }
     }
 }
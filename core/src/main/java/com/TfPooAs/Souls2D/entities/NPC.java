@@ -1,18 +1,23 @@
 package com.TfPooAs.Souls2D.entities;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 /**
  * NPC base: entidad estática sin física, con radio de interacción.
  */
-public abstract class NPC extends Entity {
+public abstract class NPC extends Entity implements Interactable {
     protected float interactionRadius = 80f; // en píxeles
+    protected boolean playerInRange = false; // lo actualiza el InteractionSystem
 
     public NPC(float x, float y, String texturePath) {
         super(x, y, texturePath);
     }
 
+    public NPC(float x, float y, TextureRegion region) {
+        super(x, y, region);
+    }
+
     public NPC(float x, float y) {
         // Constructor de conveniencia: usa una textura por defecto para no romper llamadas existentes.
         this(x, y, "player.png");
@@ -29,10 +34,14 @@ public abstract class NPC extends Entity {
         super.render(batch);
     }
 
-    public boolean canInteract(Vector2 playerPos) {
-        return playerPos.dst(position.x, position.y) <= interactionRadius;
+    /** Si el jugador está dentro del radio (según el último update del InteractionSystem). */
+    public boolean canInteract() {
+        return playerInRange;
     }
 
-    public float getInteractionRadius() { return interactionRadius; }
+    @Override public float getInteractionX() { return position.x; }
+    @Override public float getInteractionY() { return position.y; }
+    @Override public float getInteractionRadius() { return interactionRadius; }
+    @Override public void setPlayerInRange(boolean inRange) { playerInRange = inRange; }
     public void setInteractionRadius(float r) { this.interactionRadius = r; }
 }
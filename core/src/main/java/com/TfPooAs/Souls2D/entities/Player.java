@@ -1,23 +1,31 @@
 package com.TfPooAs.Souls2D.entities;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 
+import com.TfPooAs.Souls2D.core.InputSource;
 import com.TfPooAs.Souls2D.utils.Constants;
+import com.TfPooAs.Souls2D.world.CollisionManager;
+import com.TfPooAs.Souls2D.world.FixtureTag;
 
 public class Player extends Entity {
     private Body body;
     private World world;
 
-    private float moveSpeed = 0.3f;
+    public static final String TEXTURE = "player.png";
+    public static final float DEFAULT_MOVE_SPEED = 0.3f;
+
+    private float moveSpeed = DEFAULT_MOVE_SPEED;
     private float jumpForce = 1f; // aumento para un salto más visible
-    private boolean isGrounded = true;
+    private int buttons = 0; // InputSource.LEFT/RIGHT/JUMP del paso actual
+    private int restoredGroundContacts = -1; // de una grabación, sólo hasta el primer world.step
+
+    // Posición del body (en metros) antes del último paso fijo, para interpolar al dibujar
+    private final Vector2 previousBodyPosition = new Vector2();
 
     public Player(World world, float x, float y) {
-        super(x, y, "player.png");
+        super(x, y, TEXTURE);
         this.world = world;
         createBody(x, y);
     }
@@ -41,18 +49,52 @@ public class Player extends Entity {
         fdef.filter.categoryBits = Constants.BIT_PLAYER;
         fdef.filter.maskBits = Constants.BIT_GROUND;
 
-        body.createFixture(fdef).setUserData("player");
+        body.createFixture(fdef).setUserData(new FixtureTag(CollisionManager.PLAYER, this));
+
+        // Sensor de pies: franja fina bajo el cuerpo, más angosta para no contar las paredes
+        float halfW = width / 3 / Constants.PPM, halfH = height / 3 / Constants.PPM;
+        shape.setAsBox(halfW * 0.8f, 2f / Constants.PPM, new Vector2(0, -halfH), 0);
+        FixtureDef foot = new FixtureDef();
+        foot.shape = shape;
+        foot.isSensor = true;
+        foot.filter.categoryBits = Constants.BIT_PLAYER;
+        foot.filter.maskBits = Constants.BIT_GROUND;
+        body.createFixture(foot).setUserData(new FixtureTag(CollisionManager.FOOT, this));
 
         shape.dispose();
+        previousBodyPosition.set(body.getPosition());
     }
 
     public void update(float delta) {
+        // El input lo entrega Simulation paso a paso (setButtons), no se lee acá
+    }
+
+    /** Botones para el próximo paso fijo (máscara de {@link InputSource}). */
+    public void setButtons(int buttons) {
+        this.buttons = buttons;
+    }
+
+    @Override
+    public void fixedUpdate(float step) {
+        previousBodyPosition.set(body.getPosition());
         handleInput();
+        restoredGroundContacts = -1; // después de este paso manda el conteo de CollisionManager
+    }
 
-        // Sincronizar posición visual con posición del cuerpo
+    @Override
+    public boolean isGrounded() {
+        return restoredGroundContacts >= 0 ? restoredGroundContacts > 0 : super.isGrounded();
+    }
+
+    @Override
+    public void interpolate(float alpha) {
+        // Sincronizar posición visual interpolando entre el paso anterior y el actual
+        Vector2 current = body.getPosition();
+        float x = previousBodyPosition.x + (current.x - previousBodyPosition.x) * alpha;
+        float y = previousBodyPosition.y + (current.y - previousBodyPosition.y) * alpha;
         position.set(
-            body.getPosition().x * Constants.PPM - width / 2,
-            body.getPosition().y * Constants.PPM - height / 2
+            x * Constants.PPM - width / 2,
+            y * Constants.PPM - height / 2
         );
     }
 
@@ -61,29 +103,30 @@ public class Player extends Entity {
 
 
         // Movimiento horizontal
-        if (Gdx.input.isKeyPressed(Input.Keys.A)) {
+        if ((buttons & InputSource.LEFT) != 0) {
             body.setLinearVelocity(vel.x - moveSpeed, vel.y);
             if (vel.x < -2) {
                 moveSpeed = 0;
             } else {
-                moveSpeed = 0.3f;
+                moveSpeed = DEFAULT_MOVE_SPEED;
             }
-        } else if (Gdx.input.isKeyPressed(Input.Keys.D)) {
+        } else if ((buttons & InputSource.RIGHT) != 0) {
             body.setLinearVelocity(vel.x + moveSpeed, vel.y);
             if (vel.x > 2) {
                 moveSpeed = 0;
             } else {
-                moveSpeed = 0.3f;
+                moveSpeed = DEFAULT_MOVE_SPEED;
             }
         } else if (Math.abs(vel.y) < 0.01f){
             body.setLinearVelocity(0, vel.y);
         }
 
-        // Saltar solo si la velocidad Y es casi 0 (suelo)
-        if (Gdx.input.isKeyJustPressed(Input.Keys.W) && Math.abs(vel.y) < 0.01f) {
-            body.applyLinearImpulse(new Vector2(0, jumpForce), body.getWorldCenter(), true);
-
+        // Saltar solo si el sensor de pies toca suelo
+        if ((buttons & InputSource.JUMP) != 0 && isGrounded()) {
+            Vector2 center = body.getWorldCenter();
+            body.applyLinearImpulse(0, jumpForce, center.x, center.y, true);
         }
+        buttons = 0;
     }
 
     @Override
@@ -91,10 +134,28 @@ public class Player extends Entity {
         batch.draw(texture, position.x, position.y, width, height);
     }
 
-    public void setGrounded(boolean grounded) {
-        this.isGrounded = grounded;
+    /** Coloca el body en (x, y) píxeles (centro, como el spawn) con esa velocidad, sin interpolar desde donde estaba. */
+    public void restore(float x, float y, float velocityX, float velocityY) {
+        body.setTransform(x / Constants.PPM, y / Constants.PPM, 0);
+        body.setLinearVelocity(velocityX, velocityY);
+        body.setAwake(true);
+        previousBodyPosition.set(body.getPosition());
+        buttons = 0;
+        interpolate(1f);
+    }
+
+    /**
+     * Rampa de aceleración y contactos de suelo de una grabación. Los contactos valen sólo para el
+     * primer paso: el body recién movido todavía no tiene los contactos de Box2D de esa posición, y
+     * sumarlos al conteo los contaría dos veces cuando CollisionManager los reciba en ese paso.
+     */
+    public void restoreMovement(float moveSpeed, int groundContacts) {
+        this.moveSpeed = moveSpeed;
+        restoredGroundContacts = groundContacts;
     }
 
+    public float getMoveSpeed() { return moveSpeed; }
+
     public Body getBody() {
         return body;
     }
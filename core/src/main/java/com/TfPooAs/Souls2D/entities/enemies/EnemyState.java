@@ -0,0 +1,85 @@
+package com.TfPooAs.Souls2D.entities.enemies;
+
+import com.TfPooAs.Souls2D.entities.Enemy;
+import com.TfPooAs.Souls2D.systems.AISystem;
+import com.badlogic.gdx.ai.fsm.State;
+import com.badlogic.gdx.ai.msg.Telegram;
+
+/**
+ * Estados de un enemigo común: espera, persigue al jugador, ataca y vuelve a su lugar.
+ * Las consultas de percepción vienen cacheadas del tick ({@link AISystem.Perception}).
+ */
+public enum EnemyState implements State<Enemy> {
+
+    IDLE {
+        @Override
+        public void enter(Enemy enemy) {
+            enemy.stop();
+            enemy.clearPath();
+        }
+
+        @Override
+        public void update(Enemy enemy) {
+            AISystem.Perception p = enemy.getPerception();
+            if (p.getDistance() < enemy.getSightRange() && p.canSeePlayer()) enemy.changeState(CHASE);
+        }
+    },
+
+    CHASE {
+        @Override
+        public void update(Enemy enemy) {
+            AISystem.Perception p = enemy.getPerception();
+            if (enemy.distanceFromHome() > enemy.getLeashRange() || !p.canSeePlayer()) {
+                enemy.changeState(RETURN);
+            } else if (p.getDistance() < enemy.getAttackRange()) {
+                enemy.changeState(ATTACK);
+            } else if (Math.abs(p.getDeltaY()) > enemy.getHeight()) {
+                enemy.moveAlongPath(p.getPlayerX(), p.getPlayerY()); // está en otra plataforma
+            } else {
+                enemy.moveToward(p.getPlayerX());
+            }
+        }
+    },
+
+    ATTACK {
+        @Override
+        public void enter(Enemy enemy) {
+            enemy.stop();
+        }
+
+        @Override
+        public void update(Enemy enemy) {
+            if (enemy.getStateTime() < enemy.getAttackWindup()) return;
+            enemy.attack();
+            enemy.changeState(CHASE);
+        }
+    },
+
+    RETURN {
+        @Override
+        public void update(Enemy enemy) {
+            AISystem.Perception p = enemy.getPerception();
+            if (p.getDistance() < enemy.getSightRange() && p.canSeePlayer()
+                && enemy.distanceFromHome() < enemy.getLeashRange() * 0.5f) {
+                enemy.changeState(CHASE);
+                return;
+            }
+            enemy.moveAlongPath(enemy.getHome().x, enemy.getHome().y);
+            if (Math.abs(enemy.getHome().x - enemy.getCenterX()) < enemy.getArriveDistance()
+                && Math.abs(enemy.getHome().y - enemy.getCenterY()) < enemy.getHeight()) {
+                enemy.changeState(IDLE);
+            }
+        }
+    };
+
+    @Override
+    public void enter(Enemy enemy) {}
+
+    @Override
+    public void exit(Enemy enemy) {}
+
+    @Override
+    public boolean onMessage(Enemy enemy, Telegram telegram) {
+        return false;
+    }
+}
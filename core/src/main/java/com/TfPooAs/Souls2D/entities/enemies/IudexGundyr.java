@@ -1,4 +1,39 @@
 package com.TfPooAs.Souls2D.entities.enemies;
 
-public class IudexGundyr {
+import com.TfPooAs.Souls2D.entities.Enemy;
+import com.badlogic.gdx.physics.box2d.World;
+
+/**
+ * Jefe del cementerio. Usa los estados comunes con más alcance y, por debajo de la mitad de la
+ * vida, una segunda fase más rápida. Como jefe piensa en todos los frames.
+ */
+public class IudexGundyr extends Enemy {
+
+    public IudexGundyr(World world, float x, float y) {
+        super(world, x, y, "player.png"); // todavía no tiene sprite propio
+        moveSpeed = 90f;
+        sightRange = 900f;
+        attackRange = 90f;
+        leashRange = 1400f;
+        attackWindup = 0.8f;
+        maxHealth = 30;
+        health = maxHealth;
+    }
+
+    public boolean isSecondPhase() {
+        return health <= maxHealth / 2;
+    }
+
+    @Override
+    public float getMoveSpeed() {
+        return isSecondPhase() ? moveSpeed * 1.6f : moveSpeed;
+    }
+
+    @Override
+    public float getAttackWindup() {
+        return isSecondPhase() ? attackWindup * 0.6f : attackWindup;
+    }
+
+    @Override
+    public boolean isBoss() { return true; }
 }
@@ -1,9 +1,9 @@
 package com.TfPooAs.Souls2D.entities.items;
 
+import com.TfPooAs.Souls2D.entities.Interactable;
 import com.TfPooAs.Souls2D.entities.Player;
 import com.TfPooAs.Souls2D.systems.SaveSystem;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
@@ -11,13 +11,19 @@ import com.badlogic.gdx.math.Vector2;
 /**
  * Fogata estilo Dark Souls: cuando el jugador se acerca, aparece un aviso para presionar E y guardar.
  */
-public class Bonfire {
+public class Bonfire implements Interactable {
+
+    // Luz estática del fuego (la crea Simulation si hay LightingManager)
+    public static final float LIGHT_DISTANCE = 360f; // px
+    public static final float LIGHT_HEIGHT = 16f;    // px sobre la posición de la fogata
+    public static final Color LIGHT_COLOR = new Color(1f, 0.55f, 0.2f, 0.9f);
 
     private final Vector2 position;
     private final float activationRadius;
     private final BitmapFont font;
 
     private boolean playerNearby;
+    private Runnable onRest; // p. ej. el checkpoint en memoria de Simulation
 
     public Bonfire(float x, float y) {
         this.position = new Vector2(x, y);
@@ -26,16 +32,11 @@ public class Bonfire {
         this.playerNearby = false;
     }
 
-    public void update(Player player, float delta) {
-        if (player == null) return;
-        // Distancia 2D simple usando posiciones en píxeles
-        float dx = (player.getPosition().x) - position.x;
-        float dy = (player.getPosition().y) - position.y;
-        playerNearby = (dx * dx + dy * dy) <= (activationRadius * activationRadius);
-
-        if (playerNearby && Gdx.input.isKeyJustPressed(Input.Keys.E)) {
-            SaveSystem.save(player);
-        }
+    /** Descansar: la E llega por InputSource, así que el guardado y el checkpoint quedan en la grabación. */
+    @Override
+    public void interact(Player player) {
+        SaveSystem.save(player);
+        if (onRest != null) onRest.run();
     }
 
     public void render(SpriteBatch batch) {
@@ -45,10 +46,20 @@ public class Bonfire {
         font.draw(batch, text, position.x - 20, position.y + 40);
     }
 
+    /** Se llama cada vez que el jugador descansa (después de guardar). */
+    public void setOnRest(Runnable onRest) {
+        this.onRest = onRest;
+    }
+
     public Vector2 getPosition() {
         return position;
     }
 
+    @Override public float getInteractionX() { return position.x; }
+    @Override public float getInteractionY() { return position.y; }
+    @Override public float getInteractionRadius() { return activationRadius; }
+    @Override public void setPlayerInRange(boolean inRange) { playerNearby = inRange; }
+
     public void dispose() {
         font.dispose();
     }
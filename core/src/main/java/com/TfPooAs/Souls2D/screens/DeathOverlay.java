@@ -1,11 +1,13 @@
 package com.TfPooAs.Souls2D.screens;
 
+import com.TfPooAs.Souls2D.utils.Fonts;
+import com.TfPooAs.Souls2D.utils.Assets;
 import com.TfPooAs.Souls2D.core.Main;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
@@ -14,6 +16,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 
@@ -37,8 +40,8 @@ public class DeathOverlay {
 
     public DeathOverlay(Main game, GameScreen gameScreen) {
         this.gameScreen = gameScreen;
-        this.stage = new Stage(new ScreenViewport());
-        this.skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
+        this.stage = new Stage(new ScreenViewport(), gameScreen.getBatch()); // batch compartido del pipeline
+        this.skin = Assets.skin();
         this.dimTexture = create1x1Texture();
 
         generateFonts();
@@ -46,34 +49,16 @@ public class DeathOverlay {
     }
 
     private void generateFonts() {
-        try {
-            // Ruta esperada: core/assets/fonts/AdobeGaramond-Bold.otf
-            FreeTypeFontGenerator generator = new FreeTypeFontGenerator(
-                Gdx.files.internal("assets/ui/Garamond.otf"));
-            FreeTypeFontGenerator.FreeTypeFontParameter param = new FreeTypeFontGenerator.FreeTypeFontParameter();
-
-            // Fuente para el título (muy grande)
-            param.size = 120; // ajustá si querés más/menos
-            param.spaceX = 0;
-            param.spaceY = 0;
-            garamondTitleFont = generator.generateFont(param);
-
-            // Fuente para los botones / labels (más chica)
-            param.size = 48; // ajustá según cómo se vea en tus botones
-            garamondButtonFont = generator.generateFont(param);
-
-            generator.dispose();
-        } catch (Exception e) {
-            Gdx.app.error("DeathOverlay", "No se pudo generar Garamond: " + e.getMessage());
-            // Fallback a fuente por defecto para evitar crashes
-            garamondTitleFont = new BitmapFont();
-            garamondButtonFont = new BitmapFont();
-        }
+        // Compartidas y cacheadas por Fonts: no se liberan en dispose()
+        garamondTitleFont = Fonts.get(Fonts.GARAMOND, 120);
+        garamondButtonFont = Fonts.get(Fonts.GARAMOND, 48);
     }
 
     private void buildUI(Main game) {
         Table root = new Table();
         root.setFillParent(true);
+        // Dimming como fondo de la tabla: se dibuja en el mismo batch que los widgets
+        root.setBackground(new TextureRegionDrawable(new TextureRegion(dimTexture)).tint(new Color(0f, 0f, 0f, 0.55f)));
         root.center();
 
         // Estilo de label (título) usando Garamond grande
@@ -110,7 +95,7 @@ public class DeathOverlay {
         // Listeners
         retry.addListener(new ChangeListener() {
             @Override public void changed(ChangeEvent event, Actor actor) {
-                game.gsm.showGameScreen();
+                gameScreen.retry();
             }
         });
 
@@ -132,14 +117,6 @@ public class DeathOverlay {
 
     public void render(float delta) {
         stage.act(delta);
-        // dimming por detrás
-        stage.getBatch().begin();
-        stage.getBatch().setColor(0f, 0f, 0f, 0.55f);
-        float w = stage.getViewport().getWorldWidth();
-        float h = stage.getViewport().getWorldHeight();
-        stage.getBatch().draw(dimTexture, 0, 0, w, h);
-        stage.getBatch().setColor(1f, 1f, 1f, 1f);
-        stage.getBatch().end();
         // dibujar UI
         stage.draw();
     }
@@ -157,10 +134,8 @@ public class DeathOverlay {
 
     public void dispose() {
         stage.dispose();
-        skin.dispose();
+        Assets.release(Assets.SKIN);
         dimTexture.dispose();
-        if (garamondTitleFont != null) garamondTitleFont.dispose();
-        if (garamondButtonFont != null) garamondButtonFont.dispose();
     }
 
     private Texture create1x1Texture() {
@@ -2,41 +2,71 @@ package com.TfPooAs.Souls2D.screens;
 
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
 
+import com.TfPooAs.Souls2D.utils.Assets;
 import com.TfPooAs.Souls2D.utils.Constants;
+import com.TfPooAs.Souls2D.utils.FrameProfiler;
+import com.TfPooAs.Souls2D.ui.ProfilerOverlay;
+import com.TfPooAs.Souls2D.core.InputRecording;
 import com.TfPooAs.Souls2D.core.Main;
+import com.TfPooAs.Souls2D.core.Simulation;
 import com.TfPooAs.Souls2D.world.LevelLoader;
+import com.TfPooAs.Souls2D.world.LightingManager;
 import com.TfPooAs.Souls2D.world.TileMapRenderer;
+import com.TfPooAs.Souls2D.entities.Entity;
 import com.TfPooAs.Souls2D.entities.Player;
+import com.TfPooAs.Souls2D.entities.items.Bonfire;
+import com.TfPooAs.Souls2D.systems.EffectsManager;
+import com.TfPooAs.Souls2D.systems.SoundManager;
+import com.TfPooAs.Souls2D.systems.RenderPipeline;
+import com.TfPooAs.Souls2D.systems.SaveData;
+import com.TfPooAs.Souls2D.systems.SpriteRenderSystem;
 import com.TfPooAs.Souls2D.world.ParallaxBackground;
 
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
 public class GameScreen implements Screen {
 
     private final Main game;
     private OrthographicCamera camera;
     private FitViewport viewport;
-    private SpriteBatch batch;
+    private RenderPipeline pipeline;           // un solo batch para todas las capas
     private Box2DDebugRenderer debugRenderer;
+    private final Matrix4 debugMatrix = new Matrix4();
 
     private ParallaxBackground parallax;
+    private LightingManager lighting;
+    private EffectsManager effects;
 
     private final int VIRTUAL_WIDTH = 1920;
     private final int VIRTUAL_HEIGHT = 1080;
 
-    // Mundo y mapa
-    private World world;
-    private LevelLoader levelLoader;
-    private TileMapRenderer tileMapRenderer;
+    public static final String MAP = "maps/cemetery.tmx";
+    public static final float SPAWN_X = 200, SPAWN_Y = 300;
+    public static final String REPLAY_DIR = "replays/";
 
-    private Player player;
+    // Simulación (mundo, mapa, entidades) y lo que la dibuja
+    private Simulation sim;
+    private final SpriteRenderSystem spriteRenderer = new SpriteRenderSystem();
+    private final Rectangle view = new Rectangle();
+    private TileMapRenderer tileMapRenderer;
 
     // Overlays
     private PauseOverlay pauseOverlay;
@@ -44,76 +74,139 @@ public class GameScreen implements Screen {
     private DeathOverlay deathOverlay;
     private boolean isDeathShown = false;
 
+    // Perfilado por fase (F3 muestra el panel, F4 graba CSV)
+    private static final int PH_INPUT = 0, PH_UPDATE = 1, PH_CAMERA = 2, PH_LAYERS = 3; // + una fase por capa
+    private final FrameProfiler profiler = new FrameProfiler(
+        "input", "update", "camera", "background", "tiles", "entities", "effects", "debug", "ui");
+    private ProfilerOverlay profilerOverlay;
+    private boolean showProfiler = false;
+    private float frameDelta = 0f; // para los overlays, que se dibujan desde la capa UI
+
+    // Partida a continuar (null = nueva partida desde SPAWN_X/SPAWN_Y)
+    private final SaveData restore;
+
+    // Medición del tiempo hasta el primer frame jugable (la fija LoadingScreen)
+    private long loadStartNanos = 0;
+
     public GameScreen(Main game) {
+        this(game, null);
+    }
+
+    public GameScreen(Main game, SaveData restore) {
         this.game = game;
+        this.restore = restore;
 
         camera = new OrthographicCamera();
         viewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, camera);
         viewport.apply();
 
-        batch = new SpriteBatch();
-        debugRenderer = new Box2DDebugRenderer();
-
-        // Crear mundo Box2D
-        world = new World(new Vector2(0, -9.8f), true);
-
-        // Cargar mapa y colisiones
-        levelLoader = new LevelLoader(world, "maps/cemetery.tmx");
-        tileMapRenderer = new TileMapRenderer(levelLoader.getMap());
-
-        // Contact listener
-        world.setContactListener(new ContactListener() {
-            @Override
-            public void beginContact(Contact contact) {
-                Fixture a = contact.getFixtureA();
-                Fixture b = contact.getFixtureB();
-
-                if ((a.getUserData() != null && a.getUserData().equals("player") &&
-                    b.getUserData() != null && b.getUserData().equals("ground")) ||
-                    (b.getUserData() != null && b.getUserData().equals("player") &&
-                        a.getUserData() != null && a.getUserData().equals("ground"))) {
-                    if (player != null) player.setGrounded(true);
-                }
-            }
+        pipeline = new RenderPipeline(camera);
+        pipeline.setProfiler(profiler, PH_LAYERS);
+        if (Constants.DEBUG_RENDER) debugRenderer = new Box2DDebugRenderer();
 
-            @Override
-            public void endContact(Contact contact) {
-                Fixture a = contact.getFixtureA();
-                Fixture b = contact.getFixtureB();
-
-                if ((a.getUserData() != null && a.getUserData().equals("player") &&
-                    b.getUserData() != null && b.getUserData().equals("ground")) ||
-                    (b.getUserData() != null && b.getUserData().equals("player") &&
-                        a.getUserData() != null && a.getUserData().equals("ground"))) {
-                    if (player != null) player.setGrounded(false);
-                }
-            }
+        // Mundo Box2D, mapa y colisiones
+        sim = new Simulation(MAP);
+        sim.getAI().setViewSize(VIRTUAL_WIDTH, VIRTUAL_HEIGHT);
+        tileMapRenderer = new TileMapRenderer(sim.getLevelLoader().getMap());
+        tileMapRenderer.setStreamer(sim.getLevelLoader().getStreamer());
 
-            @Override public void preSolve(Contact contact, Manifold oldManifold) {}
-            @Override public void postSolve(Contact contact, ContactImpulse impulse) {}
+        // --- Fondo Parallax ---
+        // Velocidad menor = más lejos, mayor = más cercano; centradas a la altura del spawn
+        parallax = new ParallaxBackground(camera);
+        parallax.addLayer(new ParallaxBackground.Layer(Assets.texture(Assets.BG_SKY), 0.1f, 0.02f, SPAWN_Y));
+        parallax.addLayer(new ParallaxBackground.Layer(Assets.texture(Assets.BG_MOUNTAINS), 0.3f, 0.1f, SPAWN_Y));
+        parallax.addLayer(new ParallaxBackground.Layer(Assets.texture(Assets.BG_TREES), 0.6f, 0.2f, SPAWN_Y));
+
+        // --- Luces: las del nivel (estáticas) y la del jugador, que se agrega en spawnPlayer ---
+        lighting = new LightingManager(sim.getWorld(), camera);
+        lighting.loadFromMap(sim.getLevelLoader().getMap());
+        sim.setLighting(lighting); // una luz estática por fogata
+
+        // --- Partículas: los tipos se registran una vez y las instancias salen de pools ---
+        effects = new EffectsManager(camera);
+
+        // --- Capas de dibujo ---
+        pipeline.addBatchPass(RenderPipeline.BACKGROUND, (b, cam) -> parallax.render(b));
+        pipeline.addPass(RenderPipeline.TILES, (b, cam) -> tileMapRenderer.render(cam));
+        pipeline.addBatchPass(RenderPipeline.ENTITIES, (b, cam) -> {
+            Array<Bonfire> bonfires = sim.getBonfires();
+            for (int i = 0; i < bonfires.size; i++) bonfires.get(i).render(b); // sólo el aviso, y sólo en rango
+            renderInView(sim.getItems(), b);
+            renderInView(sim.getNPCs(), b);
+            renderInView(sim.getAI().getEnemies(), b);
+            Player player = sim.getPlayer();
+            if (player != null) player.render(b); // encima de las entidades del ECS
+        });
+        pipeline.addBatchPass(RenderPipeline.EFFECTS, (b, cam) -> effects.render(b));
+        pipeline.addPass(RenderPipeline.EFFECTS, (b, cam) -> {
+            lighting.update();
+            lighting.render();
         });
+        if (Constants.DEBUG_RENDER) {
+            // Matriz propia escalada a metros: camera.combined queda intacta
+            pipeline.addPass(RenderPipeline.DEBUG, (b, cam) ->
+                debugRenderer.render(sim.getWorld(), debugMatrix.set(cam.combined).scl(Constants.PPM)));
+        }
+        pipeline.addPass(RenderPipeline.UI, (b, cam) -> {
+            if (isPaused && pauseOverlay != null) pauseOverlay.render(frameDelta);
+            if (isDeathShown && deathOverlay != null) deathOverlay.render(frameDelta);
+            if (showProfiler) profilerOverlay.render(frameDelta);
+        });
+    }
 
-        // --- Fondo Parallax ---
-        Texture sky = new Texture("backgrounds/sky.png");
-        Texture mountains = new Texture("backgrounds/mountains.png");
-        Texture trees = new Texture("backgrounds/trees.png");
+    /** Recursos de disco que usa la pantalla; LoadingScreen los encola antes de crearla. */
+    public static void collectAssets(Array<AssetDescriptor<?>> out) {
+        out.add(new AssetDescriptor<>(Assets.BG_SKY, Texture.class));
+        out.add(new AssetDescriptor<>(Assets.BG_MOUNTAINS, Texture.class));
+        out.add(new AssetDescriptor<>(Assets.BG_TREES, Texture.class));
+        out.add(new AssetDescriptor<>(Assets.SKIN, Skin.class));
+        if (Gdx.files.internal(Assets.SPRITES_ATLAS).exists()) {
+            out.add(new AssetDescriptor<>(Assets.SPRITES_ATLAS, TextureAtlas.class));
+        } else {
+            out.add(new AssetDescriptor<>(Assets.PLAYER, Texture.class));
+            out.add(new AssetDescriptor<>(Assets.INTERACT_ICON, Texture.class));
+        }
+        LevelLoader.collectAssets(MAP, out);
+    }
 
-        Texture[] layers = { sky, mountains, trees };
-        float[] speeds = { 0.1f, 0.3f, 0.6f }; // Menor = más lejos, Mayor = más cercano
+    // Pasos de preparación; LoadingScreen los ejecuta de a uno por frame y show() completa los que falten
+    public void spawnPlayer() {
+        if (sim.getPlayer() != null) return;
+        if (restore == null) {
+            sim.spawnPlayer(SPAWN_X, SPAWN_Y);
+        } else {
+            restore.applyTo(sim.spawnPlayer(restore.playerX, restore.playerY));
+        }
+        sim.checkpoint(); // Reintentar vuelve acá hasta el próximo descanso
+        lighting.attach(sim.getPlayer().getBody(), 420f, new Color(1f, 0.85f, 0.6f, 0.75f));
+    }
+
+    public void createPauseOverlay() {
+        if (pauseOverlay == null) pauseOverlay = new PauseOverlay(game, this);
+    }
 
-        parallax = new ParallaxBackground(layers, speeds, camera);
+    public void createDeathOverlay() {
+        if (deathOverlay == null) deathOverlay = new DeathOverlay(game, this);
+    }
+
+    public void setLoadStartTime(long nanos) {
+        this.loadStartNanos = nanos;
     }
 
     @Override
     public void show() {
-        if (player == null) player = new Player(world, 200, 300);
-        if (pauseOverlay == null) pauseOverlay = new PauseOverlay(game, this);
-        if (deathOverlay == null) deathOverlay = new DeathOverlay(game, this);
+        spawnPlayer();
+        createPauseOverlay();
+        createDeathOverlay();
     }
 
     @Override
     public void render(float delta) {
+        profiler.beginFrame();
+        frameDelta = delta;
+
         // --- Input para overlays ---
+        profiler.begin(PH_INPUT);
         if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.H)) {
             if (!isDeathShown) {
                 isDeathShown = true;
@@ -128,50 +221,88 @@ public class GameScreen implements Screen {
             }
         }
 
-        // --- Lógica de actualización ---
+        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.F3)) setProfilerVisible(!showProfiler);
+        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.F4)) {
+            if (profiler.isRecording()) {
+                profiler.stopRecording();
+                profiler.setGLProfiling(showProfiler);
+            } else {
+                profiler.startRecording();
+            }
+        }
+        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.F5)) toggleInputRecording();
+        profiler.end(PH_INPUT);
+
+        // --- Lógica de actualización (streaming de chunks alrededor de la cámara) ---
+        profiler.begin(PH_UPDATE);
         if (!isPaused && !isDeathShown) {
-            world.step(1 / 60f, 6, 2);
-            if (player != null) player.update(delta);
+            sim.update(delta, camera.position.x, camera.position.y);
         }
+        Player player = sim.getPlayer();
+        profiler.end(PH_UPDATE);
 
         // --- Actualizar cámara ---
+        profiler.begin(PH_CAMERA);
         if (player != null) {
             camera.position.set(player.getPosition().x, player.getPosition().y, 0);
             camera.update();
         }
+        profiler.end(PH_CAMERA);
 
-        // --- Actualizar Parallax ---
+        // --- Actualizar Parallax, partículas y sonido (volumen y paneo según la cámara) ---
         parallax.update(delta);
+        if (!isPaused && !isDeathShown) effects.update(delta);
+        SoundManager.setListener(camera.position.x, camera.position.y); // Main.render aplica el update
 
-        // --- Renderizado ---
+        // --- Renderizado: se encolan los sprites y el pipeline dibuja capa por capa ---
+        viewport.apply(); // la capa UI deja aplicado el viewport de pantalla completa
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        batch.setProjectionMatrix(camera.combined);
-        batch.begin();
-        parallax.render(batch); // 👈 Fondo primero
-        batch.end();
+        view.set(camera.position.x - camera.viewportWidth / 2f, camera.position.y - camera.viewportHeight / 2f,
+            camera.viewportWidth, camera.viewportHeight);
+        spriteRenderer.render(sim.getEntityWorld(), pipeline, sim.getPhysics().getAlpha(), view);
+        pipeline.render();
 
-        // Luego mapa y entidades
-        tileMapRenderer.render(camera);
+        profiler.endFrame(sim.getWorld());
 
-        batch.begin();
-        if (player != null) player.render(batch);
-        batch.end();
+        if (loadStartNanos != 0) {
+            float ms = TimeUtils.timeSinceNanos(loadStartNanos) / 1_000_000f;
+            Gdx.app.log("GameScreen", "Primer frame jugable a los " + Math.round(ms) + " ms");
+            loadStartNanos = 0;
+        }
+    }
 
-        // Debug opcional
-        debugRenderer.render(world, camera.combined.scl(Constants.PPM));
+    /** Dibuja las entidades cuya caja toca la vista; las de afuera ni se encolan. */
+    private void renderInView(Array<? extends Entity> list, SpriteBatch b) {
+        for (int i = 0; i < list.size; i++) {
+            Entity e = list.get(i);
+            float ex = e.getPosition().x, ey = e.getPosition().y;
+            if (ex + e.getWidth() > view.x && ex < view.x + view.width
+                && ey + e.getHeight() > view.y && ey < view.y + view.height) e.render(b);
+        }
+    }
 
-        // Overlays
-        if (isPaused && pauseOverlay != null) pauseOverlay.render(delta);
-        if (isDeathShown && deathOverlay != null) deathOverlay.render(delta);
+    private void setProfilerVisible(boolean visible) {
+        showProfiler = visible;
+        if (visible && profilerOverlay == null) {
+            profilerOverlay = new ProfilerOverlay(profiler, pipeline.getBatch());
+            profilerOverlay.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        }
+        profiler.setGLProfiling(visible || profiler.isRecording());
     }
 
+    public FrameProfiler getProfiler() { return profiler; }
+    /** Batch compartido: los overlays lo usan en sus Stage. */
+    public SpriteBatch getBatch() { return pipeline.getBatch(); }
+
     @Override
     public void resize(int width, int height) {
         viewport.update(width, height, true);
+        lighting.resize(viewport);
         if (pauseOverlay != null) pauseOverlay.getStage().getViewport().update(width, height, true);
         if (deathOverlay != null) deathOverlay.getStage().getViewport().update(width, height, true);
+        if (profilerOverlay != null) profilerOverlay.resize(width, height);
     }
 
     @Override public void hide() {
@@ -188,7 +319,43 @@ public class GameScreen implements Screen {
         Gdx.input.setInputProcessor(null);
     }
 
+    /** F5: graba el input paso a paso en replays/ para repetir el recorrido con el launcher headless. */
+    private void toggleInputRecording() {
+        if (!sim.isRecording()) {
+            if (sim.startRecording() != null) Gdx.app.log("GameScreen", "Grabando input (F5 para terminar)");
+            return;
+        }
+        InputRecording recording = sim.stopRecording();
+        if (!Gdx.files.isLocalStorageAvailable()) return;
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        FileHandle file = Gdx.files.local(REPLAY_DIR + "run-" + stamp + ".s2di");
+        try {
+            recording.save(file);
+            Gdx.app.log("GameScreen", recording.getTickCount() + " pasos de input guardados en " + file.path());
+        } catch (IOException e) {
+            Gdx.app.error("GameScreen", "No se pudo guardar la grabación: " + e.getMessage());
+        }
+    }
+
+    /** Reintentar: vuelve al último checkpoint en el mismo mundo, sin reconstruir la pantalla. */
+    public void retry() {
+        if (!sim.hasCheckpoint()) {
+            game.gsm.showGameScreen();
+            return;
+        }
+        long start = TimeUtils.nanoTime();
+        sim.restoreCheckpoint();
+        effects.clear();
+        SoundManager.stopAll();
+        isDeathShown = false;
+        isPaused = false;
+        if (deathOverlay != null) deathOverlay.hide();
+        Gdx.app.log("GameScreen", "Checkpoint restaurado en " + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(start)) + " ms");
+    }
+
     public Main getGame() { return game; }
+    public Simulation getSimulation() { return sim; }
+    public EffectsManager getEffects() { return effects; }
     public boolean isPaused() { return isPaused; }
 
     public void onOverlayReturned() {
@@ -200,12 +367,19 @@ public class GameScreen implements Screen {
 
     @Override
     public void dispose() {
-        batch.dispose();
         tileMapRenderer.dispose();
-        levelLoader.dispose();
-        world.dispose();
-        debugRenderer.dispose();
+        lighting.dispose(); // antes del mundo
+        effects.dispose();
+        SoundManager.stopAll(); // los buffers quedan registrados para la próxima partida
+        sim.dispose();
+        if (debugRenderer != null) debugRenderer.dispose();
+        Assets.release(Assets.BG_SKY);
+        Assets.release(Assets.BG_MOUNTAINS);
+        Assets.release(Assets.BG_TREES);
         if (pauseOverlay != null) pauseOverlay.dispose();
         if (deathOverlay != null) deathOverlay.dispose();
+        if (profilerOverlay != null) profilerOverlay.dispose();
+        profiler.dispose();
+        pipeline.dispose(); // después de los overlays, que usan su batch
     }
 }
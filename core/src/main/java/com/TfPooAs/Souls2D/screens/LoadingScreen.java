@@ -0,0 +1,145 @@
+package com.TfPooAs.Souls2D.screens;
+
+import com.TfPooAs.Souls2D.core.Main;
+import com.TfPooAs.Souls2D.systems.SaveData;
+import com.TfPooAs.Souls2D.utils.Assets;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+
+/**
+ * Pantalla intermedia entre el menú y GameScreen.
+ *
+ * 1) Encola en Assets todo lo que GameScreen lee de disco: el AssetManager lo lee y decodifica
+ *    en su hilo y sube las texturas a la GPU dentro de {@link #ASSET_SLICE_MS} por frame.
+ * 2) Con todo cargado, arma GameScreen en pasos cortos, uno por frame (mundo y mapa, spawn,
+ *    overlays con sus fuentes), así la ventana nunca queda congelada.
+ */
+public class LoadingScreen implements Screen {
+
+    private static final int ASSET_SLICE_MS = 8;
+    private static final float ASSETS_WEIGHT = 0.7f; // parte de la barra que corresponde a los assets
+
+    private final Main game;
+    private final long startNanos;
+    private long assetsDoneNanos = 0;
+
+    private final Array<AssetDescriptor<?>> queued = new Array<>();
+    private final Array<Runnable> steps = new Array<>();
+    private int nextStep = 0;
+    private GameScreen gameScreen;
+    private boolean handedOff = false;
+
+    private final ScreenViewport viewport = new ScreenViewport();
+    private final SpriteBatch batch = new SpriteBatch();
+    private final ShapeRenderer shapes = new ShapeRenderer();
+    private final BitmapFont font = new BitmapFont();
+
+    public LoadingScreen(Main game) {
+        this(game, null);
+    }
+
+    /** @param restore partida guardada a continuar, o null para una nueva */
+    public LoadingScreen(Main game, SaveData restore) {
+        this.game = game;
+        this.startNanos = TimeUtils.nanoTime();
+
+        // Se encola antes de que se libere la pantalla anterior: en un reintento los recursos
+        // siguen cargados y no se vuelven a leer
+        GameScreen.collectAssets(queued);
+        for (AssetDescriptor<?> asset : queued) Assets.preload(asset);
+
+        steps.add(() -> gameScreen = new GameScreen(game, restore));
+        steps.add(() -> gameScreen.spawnPlayer());
+        steps.add(() -> gameScreen.createPauseOverlay());
+        steps.add(() -> gameScreen.createDeathOverlay());
+    }
+
+    @Override
+    public void show() {
+        Gdx.input.setInputProcessor(null);
+    }
+
+    @Override
+    public void render(float delta) {
+        if (assetsDoneNanos == 0) {
+            if (Assets.update(ASSET_SLICE_MS)) {
+                assetsDoneNanos = TimeUtils.nanoTime();
+                Gdx.app.log("LoadingScreen", "Assets cargados en " + msSince(startNanos) + " ms");
+            }
+        } else if (nextStep < steps.size) {
+            steps.get(nextStep++).run();
+        } else {
+            Gdx.app.log("LoadingScreen", "GameScreen armada en " + msSince(assetsDoneNanos) + " ms");
+            gameScreen.setLoadStartTime(startNanos);
+            handedOff = true;
+            game.gsm.setActiveScreenNormal(gameScreen); // libera esta pantalla
+            return;
+        }
+
+        draw();
+    }
+
+    private float getProgress() {
+        if (assetsDoneNanos == 0) return Assets.getProgress() * ASSETS_WEIGHT;
+        return ASSETS_WEIGHT + (1 - ASSETS_WEIGHT) * nextStep / (float) steps.size;
+    }
+
+    private void draw() {
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        float w = viewport.getWorldWidth(), h = viewport.getWorldHeight();
+        float barW = w * 0.4f, barH = 12f;
+        float barX = (w - barW) / 2f, barY = h * 0.2f;
+
+        viewport.apply();
+        shapes.setProjectionMatrix(viewport.getCamera().combined);
+        shapes.begin(ShapeRenderer.ShapeType.Filled);
+        shapes.setColor(0.2f, 0.2f, 0.2f, 1f);
+        shapes.rect(barX, barY, barW, barH);
+        shapes.setColor(Color.WHITE);
+        shapes.rect(barX, barY, barW * getProgress(), barH);
+        shapes.end();
+
+        batch.setProjectionMatrix(viewport.getCamera().combined);
+        batch.begin();
+        font.draw(batch, "Cargando... " + Math.round(getProgress() * 100) + "%", barX, barY + barH + 30f);
+        batch.end();
+    }
+
+    private static long msSince(long nanos) {
+        return TimeUtils.timeSinceNanos(nanos) / 1_000_000L;
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override public void pause() {}
+    @Override public void resume() {}
+    @Override public void hide() {}
+
+    @Override
+    public void dispose() {
+        // GameScreen ya tomó sus propias referencias; se devuelven las de la precarga
+        for (AssetDescriptor<?> asset : queued) Assets.release(asset.fileName);
+        queued.clear();
+        // Si se sale antes de terminar, la pantalla a medio armar no llega al GSM
+        if (gameScreen != null && !handedOff) {
+            gameScreen.dispose();
+        }
+        batch.dispose();
+        shapes.dispose();
+        font.dispose();
+    }
+}
@@ -1,12 +1,13 @@
 package com.TfPooAs.Souls2D.screens;
 
+import com.TfPooAs.Souls2D.utils.Fonts;
 import com.TfPooAs.Souls2D.core.Main;
+import com.TfPooAs.Souls2D.systems.SaveSystem;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
@@ -91,7 +92,7 @@ public class MainMenuScreen implements Screen {
 
         cont.addListener(new ChangeListener() {
             @Override public void changed(ChangeEvent event, Actor actor) {
-                game.gsm.showGameScreen();
+                game.gsm.continueGame();
             }
         });
 
@@ -108,34 +109,15 @@ public class MainMenuScreen implements Screen {
         });
 
         // Deshabilitar "Continuar" si no hay partida
-        cont.setDisabled(true);
+        cont.setDisabled(!SaveSystem.hasSave());
     }
 
     /** Genera las fuentes Garamond: título, subtítulo y botones. */
     private void generateFonts() {
-        try {
-            FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("assets/ui/Garamond.otf"));
-            FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-
-            // Fuente del título (muy grande)
-            parameter.size = 160;
-            garamondTitleFont = generator.generateFont(parameter);
-
-            // Fuente del subtítulo (más pequeña)
-            parameter.size = 90;
-            garamondSubtitleFont = generator.generateFont(parameter);
-
-            // Fuente de los botones
-            parameter.size = 48;
-            garamondButtonFont = generator.generateFont(parameter);
-
-            generator.dispose();
-        } catch (Exception e) {
-            Gdx.app.error("MainMenuScreen", "No se pudo generar la fuente AdobeGaramond-Bold.otf: " + e.getMessage());
-            garamondTitleFont = new BitmapFont();
-            garamondSubtitleFont = new BitmapFont();
-            garamondButtonFont = new BitmapFont();
-        }
+        // Compartidas y cacheadas por Fonts: no se liberan en dispose()
+        garamondTitleFont = Fonts.get(Fonts.GARAMOND, 160);
+        garamondSubtitleFont = Fonts.get(Fonts.GARAMOND, 90);
+        garamondButtonFont = Fonts.get(Fonts.GARAMOND, 48);
     }
 
     @Override
@@ -163,8 +145,5 @@ public class MainMenuScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        garamondTitleFont.dispose();
-        garamondSubtitleFont.dispose();
-        garamondButtonFont.dispose();
     }
 }
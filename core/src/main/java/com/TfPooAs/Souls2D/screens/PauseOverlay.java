@@ -1,12 +1,14 @@
 package com.TfPooAs.Souls2D.screens;
 
+import com.TfPooAs.Souls2D.utils.Fonts;
+import com.TfPooAs.Souls2D.utils.Assets;
 import com.TfPooAs.Souls2D.core.Main;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
@@ -14,6 +16,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 
@@ -33,8 +36,8 @@ public class PauseOverlay {
 
     public PauseOverlay(Main game, GameScreen gameScreen) {
         this.gameScreen = gameScreen;
-        stage = new Stage(new ScreenViewport());
-        skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
+        stage = new Stage(new ScreenViewport(), gameScreen.getBatch()); // batch compartido del pipeline
+        skin = Assets.skin();
         dimTexture = create1x1Texture();
 
         generateFonts(); // genera las fuentes Garamond
@@ -42,37 +45,20 @@ public class PauseOverlay {
     }
 
     /**
-     * Genera los BitmapFont a partir del OTF.
-     * Ajustá `parameter.size` si querés otro tamaño para título / botones.
+     * Toma las fuentes Garamond del servicio Fonts.
+     * Ajustá los tamaños si querés otro para título / botones.
      */
     private void generateFonts() {
-        try {
-            FreeTypeFontGenerator generator = new FreeTypeFontGenerator(
-                Gdx.files.internal("assets/ui/Garamond.otf"));
-            FreeTypeFontGenerator.FreeTypeFontParameter parameter =
-                new FreeTypeFontGenerator.FreeTypeFontParameter();
-
-            // Título (grande)
-            parameter.size = 120; // probá 72, 96, 120 según prefieras
-            parameter.spaceX = 0;
-            parameter.spaceY = 0;
-            garamondTitleFont = generator.generateFont(parameter);
-
-            // Botones (más pequeño)
-            parameter.size = 40;
-            garamondButtonFont = generator.generateFont(parameter);
-
-            generator.dispose();
-        } catch (Exception e) {
-            Gdx.app.error("PauseOverlay", "No se pudo generar la fuente Garamond: " + e.getMessage());
-            garamondTitleFont = new BitmapFont();
-            garamondButtonFont = new BitmapFont();
-        }
+        // Compartidas y cacheadas por Fonts: no se liberan en dispose()
+        garamondTitleFont = Fonts.get(Fonts.GARAMOND, 120);
+        garamondButtonFont = Fonts.get(Fonts.GARAMOND, 40);
     }
 
     private void buildUI() {
         Table root = new Table();
         root.setFillParent(true);
+        // Dimming como fondo de la tabla: se dibuja en el mismo batch que los widgets
+        root.setBackground(new TextureRegionDrawable(new TextureRegion(dimTexture)).tint(new Color(0f, 0f, 0f, 0.45f)));
         root.center();
 
         // Título centrado en la pantalla
@@ -138,14 +124,6 @@ public class PauseOverlay {
     public void render(float delta) {
         stage.act(delta);
 
-        // Dibujar dimming usando el batch del stage
-        stage.getBatch().begin();
-        stage.getBatch().setColor(0f, 0f, 0f, 0.45f); // opacidad 0.45
-        float w = stage.getViewport().getWorldWidth();
-        float h = stage.getViewport().getWorldHeight();
-        stage.getBatch().draw(dimTexture, 0, 0, w, h);
-        stage.getBatch().setColor(1f, 1f, 1f, 1f);
-        stage.getBatch().end();
 
         // Dibujamos los widgets (botones y título)
         stage.draw();
@@ -167,10 +145,8 @@ public class PauseOverlay {
 
     public void dispose() {
         stage.dispose();
-        skin.dispose();
+        Assets.release(Assets.SKIN);
         dimTexture.dispose();
-        if (garamondTitleFont != null) garamondTitleFont.dispose();
-        if (garamondButtonFont != null) garamondButtonFont.dispose();
     }
 
     private Texture create1x1Texture() {
@@ -0,0 +1,264 @@
+package com.TfPooAs.Souls2D.systems;
+
+import com.TfPooAs.Souls2D.entities.Enemy;
+import com.TfPooAs.Souls2D.entities.Player;
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.TfPooAs.Souls2D.world.ChunkStreamer;
+import com.TfPooAs.Souls2D.world.CollisionManager;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Planificador de la IA de los enemigos, con nivel de detalle según la distancia y un presupuesto
+ * de tiempo por frame.
+ *
+ * Cada enemigo piensa ({@link Enemy#think}) con una frecuencia que depende de dónde está:
+ * cerca del jugador y en pantalla, en todos los frames; en pantalla pero lejos, a 15 Hz; fuera de
+ * pantalla, a 4 Hz; y más allá de {@link #SLEEP_DISTANCE}, o si el chunk donde está no está cargado,
+ * duerme: no piensa y su body queda desactivado, para que no se caiga por un terreno que el
+ * streaming ya descargó. El delta que recibe es el tiempo desde su tick anterior, así los estados
+ * no dependen de la frecuencia.
+ *
+ * Los cercanos y los jefes piensan siempre. Los demás se atienden en ronda y, cuando se pasa
+ * {@link #DEFAULT_BUDGET_NANOS}, los que faltan quedan para el frame siguiente empezando por ellos:
+ * con cientos de enemigos el costo por frame queda acotado y ninguno se queda sin pensar.
+ *
+ * La percepción (distancia al jugador, línea de visión) se calcula una vez por tick y se
+ * cachea en {@link Perception}; el raycast contra el terreno se hace sólo si algún estado la pide.
+ */
+public class AISystem {
+
+    public static final float NEAR_DISTANCE = 600f;   // px
+    public static final float SLEEP_DISTANCE = 2500f; // px
+    public static final float VISIBLE_INTERVAL = 1 / 15f;
+    public static final float OFFSCREEN_INTERVAL = 1 / 4f;
+    public static final long DEFAULT_BUDGET_NANOS = 1_000_000L; // 1 ms
+
+    // Niveles de detalle
+    public static final int LOD_NEAR = 0;
+    public static final int LOD_VISIBLE = 1;
+    public static final int LOD_OFFSCREEN = 2;
+    public static final int LOD_ASLEEP = 3;
+    private static final float[] LOD_INTERVAL = { 0f, VISIBLE_INTERVAL, OFFSCREEN_INTERVAL, Float.MAX_VALUE };
+
+    private static final float SCREEN_MARGIN = 128f; // los que están por entrar cuentan como en pantalla
+
+    /**
+     * Lo que un enemigo sabe del jugador en este tick. Distancia y diferencias se calculan al
+     * empezar el tick; la línea de visión, la primera vez que se consulta.
+     */
+    public static class Perception {
+        private final AISystem ai;
+        private Enemy enemy;
+        private float playerX, playerY;
+        private float deltaX, deltaY, distance;
+        private long tick;
+        private long sightTick = -1;
+        private boolean canSee;
+
+        Perception(AISystem ai) {
+            this.ai = ai;
+        }
+
+        void begin(long tick, Enemy enemy, float playerX, float playerY) {
+            this.tick = tick;
+            this.enemy = enemy;
+            this.playerX = playerX;
+            this.playerY = playerY;
+            this.deltaX = playerX - enemy.getCenterX();
+            this.deltaY = playerY - enemy.getCenterY();
+            this.distance = (float) Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+        }
+
+        public float getPlayerX() { return playerX; }
+        public float getPlayerY() { return playerY; }
+        public float getDeltaX() { return deltaX; }
+        public float getDeltaY() { return deltaY; }
+        public float getDistance() { return distance; }
+
+        /** Nada del terreno entre el enemigo y el jugador (a lo sumo un raycast por tick). */
+        public boolean canSeePlayer() {
+            if (sightTick != tick) {
+                canSee = ai.lineOfSight(enemy.getCenterX(), enemy.getCenterY(), playerX, playerY);
+                sightTick = tick;
+            }
+            return canSee;
+        }
+    }
+
+    private final World world;
+    private ChunkStreamer streamer; // null si el mapa está cargado entero
+    private final Array<Enemy> enemies = new Array<>(false, 64);
+    private final Array<Perception> perceptions = new Array<>(false, 64);
+    private final FloatArray sinceTick = new FloatArray(false, 64); // s desde su último tick
+    private final IntArray lods = new IntArray(false, 64);
+    private float viewWidth = 1920f, viewHeight = 1080f;
+    private long budgetNanos = DEFAULT_BUDGET_NANOS;
+    private int cursor = 0; // siguiente enemigo de la ronda con presupuesto
+    private long tick = 0;
+
+    // Raycast de línea de visión sin reservar memoria
+    private final Vector2 rayFrom = new Vector2(), rayTo = new Vector2();
+    private boolean rayBlocked;
+    private final RayCastCallback sightCallback = new RayCastCallback() {
+        @Override
+        public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction) {
+            if (CollisionManager.tagOf(fixture) != CollisionManager.GROUND) return -1; // se ignora
+            rayBlocked = true;
+            return 0; // con un obstáculo alcanza
+        }
+    };
+
+    // Estadísticas del último frame
+    private int thoughtLastFrame, deferredLastFrame;
+    private long nanosLastFrame;
+
+    public AISystem(World world) {
+        this.world = world;
+    }
+
+    public void add(Enemy enemy) {
+        if (enemies.contains(enemy, true)) return;
+        enemies.add(enemy);
+        perceptions.add(new Perception(this));
+        sinceTick.add(0f);
+        lods.add(LOD_ASLEEP);
+        enemy.setSleeping(true); // hasta el primer update: su chunk puede no estar cargado todavía
+    }
+
+    public void remove(Enemy enemy) {
+        int i = enemies.indexOf(enemy, true);
+        if (i < 0) return;
+        // Arrays sin orden: removeIndex pasa el último a la posición i en todos
+        enemies.removeIndex(i);
+        perceptions.removeIndex(i);
+        sinceTick.removeIndex(i);
+        lods.removeIndex(i);
+    }
+
+    /** Mapa en streaming: los enemigos sobre chunks no residentes duermen. */
+    public void setStreamer(ChunkStreamer streamer) {
+        this.streamer = streamer;
+    }
+
+    /** Tamaño de la vista en px, para saber quién está en pantalla. */
+    public void setViewSize(float width, float height) {
+        this.viewWidth = width;
+        this.viewHeight = height;
+    }
+
+    /** Nanosegundos por frame para los enemigos que no son cercanos; 0 = sin límite (repeticiones deterministas). */
+    public void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Un frame de IA. Va antes de la física: las intenciones que dejan los estados se aplican en
+     * los pasos fijos de este mismo frame. (viewX, viewY) es el centro de la vista en px.
+     */
+    public void update(float delta, Player player, float viewX, float viewY) {
+        long start = TimeUtils.nanoTime();
+        thoughtLastFrame = 0;
+        deferredLastFrame = 0;
+        if (player == null || enemies.size == 0) {
+            nanosLastFrame = 0;
+            return;
+        }
+        tick++;
+        float px = player.getPosition().x + player.getWidth() / 2f;
+        float py = player.getPosition().y + player.getHeight() / 2f;
+        float halfW = viewWidth / 2f + SCREEN_MARGIN, halfH = viewHeight / 2f + SCREEN_MARGIN;
+
+        // 1) Nivel de detalle de cada uno; los cercanos y los jefes piensan ya, sin presupuesto
+        for (int i = 0; i < enemies.size; i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isActive()) continue;
+            sinceTick.incr(i, delta);
+            float ex = enemy.getCenterX(), ey = enemy.getCenterY();
+            float dx = ex - px, dy = ey - py;
+            float d2 = dx * dx + dy * dy;
+            boolean onScreen = Math.abs(ex - viewX) < halfW && Math.abs(ey - viewY) < halfH;
+
+            int lod;
+            if (d2 > SLEEP_DISTANCE * SLEEP_DISTANCE || (streamer != null && !streamer.isLoaded(ex, ey))) lod = LOD_ASLEEP;
+            else if (enemy.isBoss() || (onScreen && d2 < NEAR_DISTANCE * NEAR_DISTANCE)) lod = LOD_NEAR;
+            else lod = onScreen ? LOD_VISIBLE : LOD_OFFSCREEN;
+
+            if (lod == LOD_ASLEEP && lods.get(i) != LOD_ASLEEP) enemy.stop(); // no camina a ciegas
+            enemy.setSleeping(lod == LOD_ASLEEP);
+            if (lod == LOD_ASLEEP) sinceTick.set(i, 0f); // al despertar no recibe todo el tiempo dormido como delta
+            lods.set(i, lod);
+            if (lod == LOD_NEAR) think(i, px, py);
+        }
+
+        // 2) El resto en ronda, mientras alcance el presupuesto
+        int n = enemies.size;
+        int first = cursor % n;
+        for (int k = 0; k < n; k++) {
+            int i = (first + k) % n;
+            if (!isDue(i)) continue;
+            if (budgetNanos > 0 && TimeUtils.nanoTime() - start > budgetNanos) {
+                cursor = i; // el próximo frame arranca por el primero que quedó afuera
+                for (int r = k; r < n; r++) if (isDue((first + r) % n)) deferredLastFrame++;
+                break;
+            }
+            think(i, px, py);
+        }
+        nanosLastFrame = TimeUtils.nanoTime() - start;
+    }
+
+    /** Le toca pensar en la ronda con presupuesto. */
+    private boolean isDue(int i) {
+        int lod = lods.get(i);
+        if (lod == LOD_NEAR || lod == LOD_ASLEEP || !enemies.get(i).isActive()) return false;
+        return sinceTick.get(i) >= LOD_INTERVAL[lod];
+    }
+
+    private void think(int i, float px, float py) {
+        Perception p = perceptions.get(i);
+        Enemy enemy = enemies.get(i);
+        p.begin(tick, enemy, px, py);
+        enemy.think(sinceTick.get(i), p);
+        sinceTick.set(i, 0f);
+        thoughtLastFrame++;
+    }
+
+    boolean lineOfSight(float x1, float y1, float x2, float y2) {
+        rayFrom.set(x1 / Constants.PPM, y1 / Constants.PPM);
+        rayTo.set(x2 / Constants.PPM, y2 / Constants.PPM);
+        if (rayFrom.epsilonEquals(rayTo, 0.0001f)) return true;
+        rayBlocked = false;
+        world.rayCast(sightCallback, rayFrom, rayTo);
+        return !rayBlocked;
+    }
+
+    /** Vuelve a todos los enemigos a su lugar con la vida llena (al descansar o reintentar). */
+    public void respawnAll() {
+        for (int i = 0; i < enemies.size; i++) {
+            enemies.get(i).respawn();
+            enemies.get(i).setSleeping(true); // el próximo update decide si su chunk está cargado
+            sinceTick.set(i, 0f);
+            lods.set(i, LOD_ASLEEP);
+        }
+        cursor = 0;
+    }
+
+    public Array<Enemy> getEnemies() { return enemies; }
+
+    /** Nivel de detalle que tuvo el enemigo en el último frame (LOD_*). */
+    public int getLod(Enemy enemy) {
+        int i = enemies.indexOf(enemy, true);
+        return i < 0 ? LOD_ASLEEP : lods.get(i);
+    }
+
+    public int getThoughtLastFrame() { return thoughtLastFrame; }
+    /** Enemigos que tocaba atender pero no entraron en el presupuesto del último frame. */
+    public int getDeferredLastFrame() { return deferredLastFrame; }
+    public long getNanosLastFrame() { return nanosLastFrame; }
+}
@@ -0,0 +1,31 @@
+package com.TfPooAs.Souls2D.systems;
+
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * Copia la posición de los bodies de Box2D a las entidades que los tienen.
+ * Corre en cada paso fijo, después de world.step; guarda la posición anterior para interpolar.
+ */
+public class BodySyncSystem {
+
+    public void step(EntityWorld w) {
+        int[] mask = w.mask;
+        Body[] body = w.body;
+        float[] x = w.x, y = w.y, prevX = w.prevX, prevY = w.prevY, width = w.width, height = w.height;
+        for (int i = 0, n = w.highWater; i < n; i++) {
+            if ((mask[i] & EntityWorld.BODY) == 0) continue;
+            Vector2 p = body[i].getPosition();
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] = p.x * Constants.PPM - width[i] / 2f;
+            y[i] = p.y * Constants.PPM - height[i] / 2f;
+            if ((mask[i] & EntityWorld.VELOCITY) != 0) {
+                Vector2 v = body[i].getLinearVelocity();
+                w.velX[i] = v.x * Constants.PPM;
+                w.velY[i] = v.y * Constants.PPM;
+            }
+        }
+    }
+}
@@ -1,4 +1,231 @@
 package com.TfPooAs.Souls2D.systems;
 
-public class EffectsManager {
+import com.TfPooAs.Souls2D.utils.Assets;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.loaders.ParticleEffectLoader;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Efectos de partículas (chispas de golpes, brasas de fogata, almas, polvo) con pools y presupuesto.
+ *
+ * Cada tipo se registra una vez ({@link #register}): el .p se carga por {@link Assets} (con las
+ * imágenes del atlas de sprites si existe, así todos los efectos comparten textura) y las
+ * instancias salen de un {@link ParticleEffectPool}, sin reservar memoria al spawnear.
+ *
+ * Hay un tope global de partículas y de efectos vivos. Si un spawn no entra, se libera el efecto
+ * vivo de menor prioridad (y, a igual prioridad, el más lejano a la cámara) siempre que sea de
+ * menor prioridad que el nuevo; si no, el spawn se descarta. Los efectos que quedan muy lejos de
+ * la vista se liberan y los que están fuera de pantalla no se dibujan.
+ *
+ * Todos los efectos se dibujan en un único pass del batch: primero los de blending normal y
+ * después los aditivos, así el batch cambia de blend func una sola vez.
+ */
+public class EffectsManager implements Disposable {
+
+    public static final int MAX_PARTICLES = 2000;
+    public static final int MAX_EFFECTS = 64;
+    /** Distancia (px) fuera de la vista a partir de la cual un efecto se libera. */
+    public static final float CULL_DISTANCE = 800f;
+
+    private static class Type {
+        final String path;
+        final int priority;
+        final ParticleEffectPool pool;
+        final boolean additive;       // todos sus emisores son aditivos
+        final float radius;           // alcance aproximado (px) para saber si se ve
+
+        Type(String path, int priority, ParticleEffect prototype, int maxInstances, float radius) {
+            this.path = path;
+            this.priority = priority;
+            this.radius = radius;
+            this.pool = new ParticleEffectPool(prototype, Math.min(4, maxInstances), maxInstances);
+            boolean allAdditive = prototype.getEmitters().size > 0;
+            for (ParticleEmitter emitter : prototype.getEmitters()) allAdditive &= emitter.isAdditive();
+            this.additive = allAdditive;
+        }
+    }
+
+    /**
+     * Un efecto vivo; se puede mover o terminar con {@link #stop}. Los Effect se reusan al completarse:
+     * quien guarde uno tiene que guardar también {@link #getSerial()} y consultar {@link #isAlive(int)}.
+     */
+    public static class Effect {
+        Type type;
+        PooledEffect effect;
+        float x, y;
+        boolean visible;
+        int serial;
+
+        public void setPosition(float px, float py) {
+            x = px;
+            y = py;
+            effect.setPosition(px, py);
+        }
+
+        /** Deja de emitir; se libera solo cuando terminan sus partículas. */
+        public void stop() { effect.allowCompletion(); }
+
+        public int getSerial() { return serial; }
+        public boolean isAlive(int serial) { return effect != null && this.serial == serial; }
+    }
+
+    private final OrthographicCamera camera;
+    private final ObjectMap<String, Type> types = new ObjectMap<>();
+    private final Array<Effect> live = new Array<>(false, MAX_EFFECTS);
+    private final Array<Effect> handles = new Array<>(false, MAX_EFFECTS); // Effect libres para reusar
+    private int particleCount = 0;
+    private int drawnLastFrame = 0;
+    private int rejected = 0;
+    private int nextSerial = 0;
+
+    public EffectsManager(OrthographicCamera camera) {
+        this.camera = camera;
+    }
+
+    /**
+     * Carga el prototipo de un tipo de efecto.
+     * @param priority mayor = más importante (p. ej. golpes 10, brasas 1)
+     * @param radius alcance aproximado del efecto en px, para el culling
+     */
+    public void register(String name, String effectPath, int priority, int maxInstances, float radius) {
+        if (types.containsKey(name)) return;
+        ParticleEffectLoader.ParticleEffectParameter params = new ParticleEffectLoader.ParticleEffectParameter();
+        if (Gdx.files.internal(Assets.SPRITES_ATLAS).exists()) params.atlasFile = Assets.SPRITES_ATLAS;
+        ParticleEffect prototype = Assets.acquire(new AssetDescriptor<>(effectPath, ParticleEffect.class, params));
+        types.put(name, new Type(effectPath, priority, prototype, maxInstances, radius));
+    }
+
+    /** Arranca un efecto en (x, y) píxeles. Devuelve null si no entra en el presupuesto. */
+    public Effect spawn(String name, float x, float y) {
+        Type type = types.get(name);
+        if (type == null) {
+            Gdx.app.error("EffectsManager", "Efecto no registrado: " + name);
+            return null;
+        }
+        if (live.size >= MAX_EFFECTS || particleCount >= MAX_PARTICLES) {
+            if (!evictFor(type, x, y)) {
+                rejected++;
+                return null;
+            }
+        }
+
+        Effect e = handles.size > 0 ? handles.pop() : new Effect();
+        e.type = type;
+        e.effect = type.pool.obtain();
+        e.effect.setEmittersCleanUpBlendFunction(false); // la blend func se restaura una vez al final del pass
+        e.serial = ++nextSerial;
+        e.setPosition(x, y);
+        e.effect.start();
+        live.add(e);
+        return e;
+    }
+
+    /** Libera el efecto vivo menos importante si vale menos que uno nuevo de este tipo en (x, y). */
+    private boolean evictFor(Type type, float x, float y) {
+        int worst = -1;
+        float worstDistance = 0;
+        for (int i = 0; i < live.size; i++) {
+            Effect e = live.get(i);
+            float d = distanceToCamera(e.x, e.y);
+            if (worst < 0 || e.type.priority < live.get(worst).type.priority
+                || (e.type.priority == live.get(worst).type.priority && d > worstDistance)) {
+                worst = i;
+                worstDistance = d;
+            }
+        }
+        if (worst < 0) return false;
+        Effect candidate = live.get(worst);
+        boolean newIsBetter = candidate.type.priority < type.priority
+            || (candidate.type.priority == type.priority && worstDistance > distanceToCamera(x, y));
+        if (!newIsBetter) return false;
+        free(worst);
+        return true;
+    }
+
+    public void update(float delta) {
+        float viewW = camera.viewportWidth * camera.zoom, viewH = camera.viewportHeight * camera.zoom;
+        float left = camera.position.x - viewW / 2f, bottom = camera.position.y - viewH / 2f;
+
+        particleCount = 0;
+        for (int i = live.size - 1; i >= 0; i--) {
+            Effect e = live.get(i);
+            float r = e.type.radius;
+            float dx = Math.max(0, Math.max(left - (e.x + r), (e.x - r) - (left + viewW)));
+            float dy = Math.max(0, Math.max(bottom - (e.y + r), (e.y - r) - (bottom + viewH)));
+            if (dx > CULL_DISTANCE || dy > CULL_DISTANCE) {
+                free(i); // muy lejos: no se va a ver
+                continue;
+            }
+            e.visible = dx == 0 && dy == 0;
+            e.effect.update(delta);
+            if (e.effect.isComplete()) {
+                free(i);
+                continue;
+            }
+            Array<ParticleEmitter> emitters = e.effect.getEmitters();
+            for (int k = 0; k < emitters.size; k++) particleCount += emitters.get(k).getActiveCount();
+        }
+    }
+
+    /** Dibuja los efectos visibles en el batch ya abierto (capa de efectos del pipeline). */
+    public void render(SpriteBatch batch) {
+        drawnLastFrame = 0;
+        if (live.size == 0) return;
+        drawPass(batch, false);
+        drawPass(batch, true);
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    private void drawPass(SpriteBatch batch, boolean additive) {
+        for (int i = 0; i < live.size; i++) {
+            Effect e = live.get(i);
+            if (!e.visible || e.type.additive != additive) continue;
+            e.effect.draw(batch);
+            drawnLastFrame++;
+        }
+    }
+
+    private void free(int index) {
+        Effect e = live.removeIndex(index);
+        e.effect.free();
+        e.effect = null;
+        e.type = null;
+        handles.add(e);
+    }
+
+    /** Libera todos los efectos vivos (al reintentar o cambiar de nivel). */
+    public void clear() {
+        for (int i = live.size - 1; i >= 0; i--) free(i);
+        particleCount = 0;
+    }
+
+    private float distanceToCamera(float x, float y) {
+        return Math.abs(x - camera.position.x) + Math.abs(y - camera.position.y);
+    }
+
+    public int getLiveCount() { return live.size; }
+    public int getParticleCount() { return particleCount; }
+    public int getDrawnLastFrame() { return drawnLastFrame; }
+    /** Spawns descartados por presupuesto desde el inicio. */
+    public int getRejectedCount() { return rejected; }
+
+    @Override
+    public void dispose() {
+        clear();
+        for (Type type : types.values()) {
+            type.pool.clear();
+            Assets.release(type.path);
+        }
+        types.clear();
+    }
 }
@@ -0,0 +1,338 @@
+package com.TfPooAs.Souls2D.systems;
+
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Núcleo ECS: una entidad es sólo un índice y sus componentes viven en arrays primitivos paralelos
+ * (un array por campo, no un objeto por entidad).
+ *
+ * Cada entidad tiene una máscara con los componentes que usa; los sistemas recorren los arrays de
+ * 0 a {@link #getHighWater()} y procesan las entidades cuya máscara incluye lo que necesitan.
+ * Los ids de entidades destruidas se reciclan, así los arrays se mantienen compactos.
+ *
+ * Posiciones en píxeles (esquina inferior izquierda, igual que {@code Entity.position}).
+ */
+public class EntityWorld {
+
+    // Componentes (bits de la máscara)
+    public static final int POSITION = 1;
+    public static final int VELOCITY = 1 << 1;
+    public static final int SPRITE = 1 << 2;
+    public static final int BODY = 1 << 3;
+    public static final int INTERACTION = 1 << 4;
+    public static final int POOLED = 1 << 5; // la maneja un SpawnPool: transitoria, no entra en los snapshots
+
+    private static final int ALIVE = 1 << 30; // marca las entidades creadas aunque no tengan componentes
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final World world;
+
+    int capacity;
+    int highWater = 0; // 1 + el id más alto en uso
+    int count = 0;
+    private final IntArray freeIds = new IntArray();
+    private boolean[] keptBodies = new boolean[0]; // auxiliar de restore()
+
+    int[] mask;
+    // POSITION: posición actual y la del paso anterior (para interpolar al dibujar)
+    float[] x, y, prevX, prevY;
+    // VELOCITY: píxeles por segundo
+    float[] velX, velY;
+    // SPRITE
+    TextureRegion[] region;
+    float[] width, height;
+    // BODY: la posición la dicta Box2D
+    Body[] body;
+    // INTERACTION: radio en píxeles
+    float[] interactRadius;
+
+    public EntityWorld(World world) {
+        this.world = world;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        mask = grow(mask, newCapacity);
+        x = grow(x, newCapacity);
+        y = grow(y, newCapacity);
+        prevX = grow(prevX, newCapacity);
+        prevY = grow(prevY, newCapacity);
+        velX = grow(velX, newCapacity);
+        velY = grow(velY, newCapacity);
+        width = grow(width, newCapacity);
+        height = grow(height, newCapacity);
+        interactRadius = grow(interactRadius, newCapacity);
+
+        TextureRegion[] newRegion = new TextureRegion[newCapacity];
+        Body[] newBody = new Body[newCapacity];
+        if (region != null) {
+            System.arraycopy(region, 0, newRegion, 0, region.length);
+            System.arraycopy(body, 0, newBody, 0, body.length);
+        }
+        region = newRegion;
+        body = newBody;
+    }
+
+    private static float[] grow(float[] array, int size) {
+        float[] grown = new float[size];
+        if (array != null) System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private static int[] grow(int[] array, int size) {
+        int[] grown = new int[size];
+        if (array != null) System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    /** Crea una entidad vacía y devuelve su id. */
+    public int create() {
+        int id;
+        if (freeIds.size > 0) {
+            id = freeIds.pop();
+        } else {
+            if (highWater == capacity) allocate(capacity * 2);
+            id = highWater++;
+        }
+        mask[id] = ALIVE;
+        count++;
+        return id;
+    }
+
+    /** Destruye la entidad; si tiene body lo saca del mundo. No llamar durante world.step. */
+    public void destroy(int id) {
+        if ((mask[id] & ALIVE) == 0) return;
+        if ((mask[id] & BODY) != 0 && body[id] != null) world.destroyBody(body[id]);
+        clear(id);
+    }
+
+    /** Desvincula el body sin destruirlo (para quien lo recicla por su cuenta). */
+    public Body detachBody(int id) {
+        Body b = body[id];
+        body[id] = null;
+        mask[id] &= ~BODY;
+        return b;
+    }
+
+    private void clear(int id) {
+        mask[id] = 0;
+        region[id] = null;
+        body[id] = null;
+        velX[id] = velY[id] = 0;
+        freeIds.add(id);
+        count--;
+    }
+
+    public boolean isAlive(int id) {
+        return id < highWater && (mask[id] & ALIVE) != 0;
+    }
+
+    // --- Componentes ---
+
+    public void setPosition(int id, float px, float py) {
+        x[id] = prevX[id] = px;
+        y[id] = prevY[id] = py;
+        mask[id] |= POSITION;
+    }
+
+    public void setVelocity(int id, float vx, float vy) {
+        velX[id] = vx;
+        velY[id] = vy;
+        mask[id] |= VELOCITY;
+    }
+
+    public void setSprite(int id, TextureRegion sprite, float w, float h) {
+        region[id] = sprite;
+        width[id] = w;
+        height[id] = h;
+        mask[id] |= SPRITE;
+    }
+
+    public void setSprite(int id, TextureRegion sprite) {
+        setSprite(id, sprite, sprite.getRegionWidth(), sprite.getRegionHeight());
+    }
+
+    /** Vincula un body de Box2D; la posición pasa a copiarse del body en cada paso fijo. */
+    public void setBody(int id, Body b) {
+        body[id] = b;
+        mask[id] |= BODY | POSITION;
+        Vector2 p = b.getPosition();
+        x[id] = prevX[id] = p.x * Constants.PPM - width[id] / 2f;
+        y[id] = prevY[id] = p.y * Constants.PPM - height[id] / 2f;
+    }
+
+    public void setPooled(int id) {
+        mask[id] |= POOLED;
+    }
+
+    public void setInteraction(int id, float radius) {
+        interactRadius[id] = radius;
+        mask[id] |= INTERACTION;
+    }
+
+    public void remove(int id, int components) {
+        mask[id] &= ~components;
+        if ((components & SPRITE) != 0) region[id] = null;
+        if ((components & BODY) != 0) body[id] = null;
+    }
+
+    public boolean has(int id, int components) {
+        return (mask[id] & components) == components;
+    }
+
+    // --- Snapshot en memoria (checkpoint de Reintentar) ---
+
+    /** Copia de los componentes y del estado de los bodies; se reusa entre capturas. */
+    public static class Snapshot {
+        int highWater, count;
+        int[] freeIds = new int[0];
+        int freeCount;
+        int[] mask = new int[0];
+        float[] x, y, velX, velY, width, height, interactRadius;
+        TextureRegion[] region = new TextureRegion[0];
+        Body[] body = new Body[0];
+        // Estado de cada body: posición (m), ángulo, velocidad lineal y angular
+        float[] bodyX, bodyY, bodyAngle, bodyVelX, bodyVelY, bodyOmega;
+        boolean[] bodyAwake;
+
+        private void ensure(int size) {
+            if (x != null && mask.length >= size) return;
+            mask = new int[size];
+            x = new float[size]; y = new float[size];
+            velX = new float[size]; velY = new float[size];
+            width = new float[size]; height = new float[size];
+            interactRadius = new float[size];
+            region = new TextureRegion[size];
+            body = new Body[size];
+            bodyX = new float[size]; bodyY = new float[size]; bodyAngle = new float[size];
+            bodyVelX = new float[size]; bodyVelY = new float[size]; bodyOmega = new float[size];
+            bodyAwake = new boolean[size];
+        }
+    }
+
+    /** Guarda el estado de todas las entidades en {@code out} (o en uno nuevo si es null). */
+    public Snapshot capture(Snapshot out) {
+        if (out == null) out = new Snapshot();
+        int n = highWater;
+        out.ensure(n);
+        out.highWater = n;
+        out.count = count;
+        out.freeCount = freeIds.size;
+        if (out.freeIds.length < freeIds.size + n) out.freeIds = new int[freeIds.size + n];
+        System.arraycopy(freeIds.items, 0, out.freeIds, 0, freeIds.size);
+
+        System.arraycopy(mask, 0, out.mask, 0, n);
+        // Las entidades de pools se guardan como ids libres: al restaurar, los pools ya las estacionaron
+        for (int id = 0; id < n; id++) {
+            if ((mask[id] & POOLED) == 0) continue;
+            out.mask[id] = 0;
+            out.freeIds[out.freeCount++] = id;
+            out.count--;
+        }
+        System.arraycopy(x, 0, out.x, 0, n);
+        System.arraycopy(y, 0, out.y, 0, n);
+        System.arraycopy(velX, 0, out.velX, 0, n);
+        System.arraycopy(velY, 0, out.velY, 0, n);
+        System.arraycopy(width, 0, out.width, 0, n);
+        System.arraycopy(height, 0, out.height, 0, n);
+        System.arraycopy(interactRadius, 0, out.interactRadius, 0, n);
+        System.arraycopy(region, 0, out.region, 0, n);
+        System.arraycopy(body, 0, out.body, 0, n);
+        for (int id = 0; id < n; id++) {
+            if ((mask[id] & POOLED) != 0) {
+                out.region[id] = null;
+                out.body[id] = null;
+                continue;
+            }
+            Body b = body[id];
+            if (b == null) continue;
+            out.bodyX[id] = b.getPosition().x;
+            out.bodyY[id] = b.getPosition().y;
+            out.bodyAngle[id] = b.getAngle();
+            out.bodyVelX[id] = b.getLinearVelocity().x;
+            out.bodyVelY[id] = b.getLinearVelocity().y;
+            out.bodyOmega[id] = b.getAngularVelocity();
+            out.bodyAwake[id] = b.isAwake();
+        }
+        return out;
+    }
+
+    /**
+     * Vuelve las entidades al estado del snapshot sin reconstruir nada: las creadas después se
+     * destruyen y los bodies que siguen vivos vuelven a su posición y velocidad.
+     * Un body destruido después del snapshot no se puede recrear; esa entidad vuelve sin BODY.
+     * No llamar durante world.step.
+     */
+    public void restore(Snapshot snapshot) {
+        int n = snapshot.highWater;
+        // Un body del snapshot sigue vivo sólo si la misma entidad todavía lo tiene (Box2D recicla los objetos Body)
+        if (keptBodies.length < Math.max(n, highWater)) keptBodies = new boolean[Math.max(n, highWater)];
+        for (int id = 0; id < highWater; id++) {
+            Body current = body[id];
+            boolean kept = current != null && id < n && snapshot.body[id] == current;
+            keptBodies[id] = kept;
+            if (current != null && !kept) world.destroyBody(current);
+        }
+        for (int id = highWater; id < n; id++) keptBodies[id] = false;
+
+        if (n > capacity) allocate(n);
+        for (int id = n; id < highWater; id++) {
+            mask[id] = 0;
+            region[id] = null;
+            body[id] = null;
+        }
+        highWater = n;
+        count = snapshot.count;
+        freeIds.clear();
+        freeIds.addAll(snapshot.freeIds, 0, snapshot.freeCount);
+
+        System.arraycopy(snapshot.mask, 0, mask, 0, n);
+        System.arraycopy(snapshot.x, 0, x, 0, n);
+        System.arraycopy(snapshot.y, 0, y, 0, n);
+        System.arraycopy(snapshot.x, 0, prevX, 0, n);
+        System.arraycopy(snapshot.y, 0, prevY, 0, n);
+        System.arraycopy(snapshot.velX, 0, velX, 0, n);
+        System.arraycopy(snapshot.velY, 0, velY, 0, n);
+        System.arraycopy(snapshot.width, 0, width, 0, n);
+        System.arraycopy(snapshot.height, 0, height, 0, n);
+        System.arraycopy(snapshot.interactRadius, 0, interactRadius, 0, n);
+        System.arraycopy(snapshot.region, 0, region, 0, n);
+
+        for (int id = 0; id < n; id++) {
+            Body b = snapshot.body[id];
+            if (b != null && !keptBodies[id]) {
+                body[id] = null;
+                mask[id] &= ~BODY;
+                continue;
+            }
+            body[id] = b;
+            if (b == null) continue;
+            b.setTransform(snapshot.bodyX[id], snapshot.bodyY[id], snapshot.bodyAngle[id]);
+            b.setLinearVelocity(snapshot.bodyVelX[id], snapshot.bodyVelY[id]);
+            b.setAngularVelocity(snapshot.bodyOmega[id]);
+            b.setAwake(snapshot.bodyAwake[id]);
+        }
+    }
+
+    public float getX(int id) { return x[id]; }
+    public float getY(int id) { return y[id]; }
+    public float getVelocityX(int id) { return velX[id]; }
+    public float getVelocityY(int id) { return velY[id]; }
+    public float getWidth(int id) { return width[id]; }
+    public float getHeight(int id) { return height[id]; }
+    public Body getBody(int id) { return body[id]; }
+    public float getInteractionRadius(int id) { return interactRadius[id]; }
+
+    public int getMask(int id) { return mask[id] & ~ALIVE; }
+    /** Los sistemas recorren los ids en [0, highWater). */
+    public int getHighWater() { return highWater; }
+    public int getCount() { return count; }
+    public World getWorld() { return world; }
+}
@@ -0,0 +1,90 @@
+package com.TfPooAs.Souls2D.systems;
+
+import com.TfPooAs.Souls2D.entities.Interactable;
+import com.TfPooAs.Souls2D.world.SpatialHash;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Resuelve qué interactuables tiene cerca el jugador usando una {@link SpatialHash}.
+ *
+ * Cada interactuable se registra con la caja de su círculo de interacción; en cada frame se consultan
+ * sólo las celdas donde está el jugador y se hace la comprobación exacta de distancia con esos pocos
+ * candidatos. No reserva memoria por frame.
+ */
+public class InteractionSystem {
+
+    private final SpatialHash<Interactable> grid;
+    private final Array<Interactable> candidates = new Array<>(false, 16);
+    private Array<Interactable> inRange = new Array<>(false, 16);
+    private Array<Interactable> previous = new Array<>(false, 16);
+
+    public InteractionSystem(float cellSize) {
+        grid = new SpatialHash<>(cellSize);
+    }
+
+    public void add(Interactable target) {
+        float r = target.getInteractionRadius();
+        grid.insert(target, target.getInteractionX() - r, target.getInteractionY() - r, r * 2, r * 2);
+    }
+
+    /** Volver a llamar si el interactuable se movió o cambió de radio. */
+    public void move(Interactable target) {
+        add(target);
+    }
+
+    public void remove(Interactable target) {
+        grid.remove(target);
+        if (inRange.removeValue(target, true)) target.setPlayerInRange(false);
+    }
+
+    /** Actualiza el flag "en rango" de los interactuables según la posición del jugador. */
+    public void update(float playerX, float playerY) {
+        Array<Interactable> swap = previous;
+        previous = inRange;
+        inRange = swap;
+        inRange.clear();
+
+        candidates.clear();
+        grid.queryRect(playerX, playerY, 0, 0, candidates);
+        for (int i = 0; i < candidates.size; i++) {
+            Interactable c = candidates.get(i);
+            float dx = playerX - c.getInteractionX();
+            float dy = playerY - c.getInteractionY();
+            float r = c.getInteractionRadius();
+            if (dx * dx + dy * dy <= r * r) inRange.add(c);
+        }
+
+        for (int i = 0; i < previous.size; i++) {
+            Interactable p = previous.get(i);
+            if (!inRange.contains(p, true)) p.setPlayerInRange(false);
+        }
+        for (int i = 0; i < inRange.size; i++) inRange.get(i).setPlayerInRange(true);
+    }
+
+    /** El interactuable en rango más cercano a (x, y), o null. */
+    public Interactable getClosest(float x, float y) {
+        Interactable closest = null;
+        float best = Float.MAX_VALUE;
+        for (int i = 0; i < inRange.size; i++) {
+            Interactable c = inRange.get(i);
+            float dx = x - c.getInteractionX();
+            float dy = y - c.getInteractionY();
+            float d2 = dx * dx + dy * dy;
+            if (d2 < best) {
+                best = d2;
+                closest = c;
+            }
+        }
+        return closest;
+    }
+
+    public Array<Interactable> getInRange() { return inRange; }
+    public SpatialHash<Interactable> getGrid() { return grid; }
+
+    public void clear() {
+        for (int i = 0; i < inRange.size; i++) inRange.get(i).setPlayerInRange(false);
+        inRange.clear();
+        previous.clear();
+        grid.clear();
+    }
+}
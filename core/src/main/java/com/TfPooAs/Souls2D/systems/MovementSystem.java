@@ -0,0 +1,23 @@
+package com.TfPooAs.Souls2D.systems;
+
+/**
+ * Integra la velocidad de las entidades sin body (proyectiles, pickups que flotan, etc.).
+ * Corre en cada paso fijo, antes de world.step.
+ */
+public class MovementSystem {
+
+    private static final int REQUIRED = EntityWorld.POSITION | EntityWorld.VELOCITY;
+
+    public void step(EntityWorld w, float dt) {
+        int[] mask = w.mask;
+        float[] x = w.x, y = w.y, prevX = w.prevX, prevY = w.prevY, velX = w.velX, velY = w.velY;
+        for (int i = 0, n = w.highWater; i < n; i++) {
+            int m = mask[i];
+            if ((m & REQUIRED) != REQUIRED || (m & EntityWorld.BODY) != 0) continue;
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += velX[i] * dt;
+            y[i] += velY[i] * dt;
+        }
+    }
+}
@@ -1,4 +1,97 @@
 package com.TfPooAs.Souls2D.systems;
 
+import com.TfPooAs.Souls2D.entities.Entity;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Reloj de simulación desacoplado del framerate.
+ *
+ * El tiempo real de cada frame se acumula y se consume en pasos fijos de {@link #TIME_STEP};
+ * lo que sobra se usa como factor de interpolación para dibujar las entidades entre el estado
+ * anterior y el actual de sus bodies. La física avanza igual a 60, 144 o 240 Hz.
+ *
+ * Si tiene un {@link EntityWorld}, sus sistemas de movimiento y de sincronización con Box2D
+ * corren en el mismo paso fijo.
+ */
 public class PhysicsSystem {
+
+    public static final float TIME_STEP = 1 / 60f;
+    public static final int VELOCITY_ITERATIONS = 6;
+    public static final int POSITION_ITERATIONS = 2;
+
+    /** Tope de pasos por frame: si un frame tarda demasiado se descarta el atraso (evita la "espiral de la muerte"). */
+    public static final int MAX_STEPS_PER_FRAME = 5;
+
+    private final World world;
+    private final Array<Entity> entities = new Array<>();
+    private EntityWorld entityWorld;
+    private final MovementSystem movement = new MovementSystem();
+    private final BodySyncSystem bodySync = new BodySyncSystem();
+    private Runnable beforeStep; // p. ej. entregar el input del paso al jugador
+    private float accumulator = 0f;
+    private float alpha = 0f;
+
+    public PhysicsSystem(World world) {
+        this.world = world;
+    }
+
+    public void add(Entity entity) {
+        if (!entities.contains(entity, true)) entities.add(entity);
+    }
+
+    public void remove(Entity entity) {
+        entities.removeValue(entity, true);
+    }
+
+    /** Se llama al principio de cada paso fijo, antes de los fixedUpdate. */
+    public void setBeforeStep(Runnable beforeStep) {
+        this.beforeStep = beforeStep;
+    }
+
+    public void setEntityWorld(EntityWorld entityWorld) {
+        this.entityWorld = entityWorld;
+    }
+
+    /**
+     * Avanza la simulación según el tiempo transcurrido.
+     * @return cantidad de pasos fijos ejecutados en este frame
+     */
+    public int update(float delta) {
+        accumulator += delta;
+
+        int steps = 0;
+        while (accumulator >= TIME_STEP && steps < MAX_STEPS_PER_FRAME) {
+            if (beforeStep != null) beforeStep.run();
+            for (int i = 0; i < entities.size; i++) {
+                Entity e = entities.get(i);
+                if (e.isActive()) e.fixedUpdate(TIME_STEP);
+            }
+            if (entityWorld != null) movement.step(entityWorld, TIME_STEP);
+            world.step(TIME_STEP, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+            if (entityWorld != null) bodySync.step(entityWorld);
+            accumulator -= TIME_STEP;
+            steps++;
+        }
+        // Si seguimos atrasados después del tope, nos quedamos sólo con la fracción de paso
+        if (accumulator >= TIME_STEP) accumulator %= TIME_STEP;
+
+        alpha = accumulator / TIME_STEP;
+        for (int i = 0; i < entities.size; i++) {
+            Entity e = entities.get(i);
+            if (e.isActive()) e.interpolate(alpha);
+        }
+        return steps;
+    }
+
+    /** Descarta el tiempo acumulado (después de restaurar un checkpoint no hay pasos pendientes). */
+    public void resetAccumulator() {
+        accumulator = 0f;
+        alpha = 0f;
+    }
+
+    /** Fracción [0, 1) del próximo paso ya transcurrida; sirve para interpolar al dibujar. */
+    public float getAlpha() { return alpha; }
+
+    public World getWorld() { return world; }
 }
@@ -0,0 +1,169 @@
+package com.TfPooAs.Souls2D.systems;
+
+import com.TfPooAs.Souls2D.utils.FrameProfiler;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.Arrays;
+
+/**
+ * Dibuja el frame en capas fijas (fondo, tiles, entidades, efectos, debug, UI) con un solo SpriteBatch.
+ *
+ * Cada capa puede tener:
+ * - sprites encolados con {@link #draw}: se ordenan por capa y textura (orden estable: a igual textura
+ *   se respeta el orden de envío) y se dibujan seguidos, sin cortar el batch;
+ * - passes de batch ({@link #addBatchPass}): dibujan directo en el batch abierto, después de los sprites;
+ * - passes propios ({@link #addPass}): corren con el batch cerrado (SpriteCache de tiles, debug de Box2D,
+ *   stages de UI que comparten este mismo batch).
+ *
+ * El batch sólo se corta donde hay un pass propio, así que los draw calls por frame quedan en una
+ * cantidad chica y fija. Los sprites encolados están en coordenadas del mundo (matriz de la cámara).
+ */
+public class RenderPipeline implements Disposable {
+
+    public static final int BACKGROUND = 0;
+    public static final int TILES = 1;
+    public static final int ENTITIES = 2;
+    public static final int EFFECTS = 3;
+    public static final int DEBUG = 4;
+    public static final int UI = 5;
+    public static final int LAYER_COUNT = 6;
+
+    public interface Pass {
+        void render(SpriteBatch batch, OrthographicCamera camera);
+    }
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final SpriteBatch batch = new SpriteBatch();
+    private final OrthographicCamera camera;
+    private final Array<Pass>[] batchPasses;
+    private final Array<Pass>[] passes;
+
+    // Sprites encolados del frame (un array por campo)
+    private int size = 0;
+    private TextureRegion[] regions = new TextureRegion[INITIAL_CAPACITY];
+    private Texture[] textures = new Texture[INITIAL_CAPACITY];
+    private float[] x = new float[INITIAL_CAPACITY], y = new float[INITIAL_CAPACITY];
+    private float[] w = new float[INITIAL_CAPACITY], h = new float[INITIAL_CAPACITY];
+    private long[] keys = new long[INITIAL_CAPACITY]; // capa | textura | orden de envío
+
+    private FrameProfiler profiler;
+    private int firstProfilerPhase;
+
+    public RenderPipeline(OrthographicCamera camera) {
+        this.camera = camera;
+        @SuppressWarnings({"unchecked", "rawtypes"}) Array<Pass>[] batchLayers = new Array[LAYER_COUNT];
+        @SuppressWarnings({"unchecked", "rawtypes"}) Array<Pass>[] layers = new Array[LAYER_COUNT];
+        batchPasses = batchLayers;
+        passes = layers;
+        for (int i = 0; i < LAYER_COUNT; i++) {
+            batchPasses[i] = new Array<>(false, 2);
+            passes[i] = new Array<>(false, 2);
+        }
+    }
+
+    public void addBatchPass(int layer, Pass pass) {
+        batchPasses[layer].add(pass);
+    }
+
+    public void addPass(int layer, Pass pass) {
+        passes[layer].add(pass);
+    }
+
+    /** Mide cada capa en el profiler, en las fases firstPhase .. firstPhase + LAYER_COUNT - 1. */
+    public void setProfiler(FrameProfiler profiler, int firstPhase) {
+        this.profiler = profiler;
+        this.firstProfilerPhase = firstPhase;
+    }
+
+    public void draw(int layer, TextureRegion region, float px, float py, float width, float height) {
+        int i = push(layer, region.getTexture());
+        regions[i] = region;
+        x[i] = px;
+        y[i] = py;
+        w[i] = width;
+        h[i] = height;
+    }
+
+    public void draw(int layer, Texture texture, float px, float py) {
+        int i = push(layer, texture);
+        x[i] = px;
+        y[i] = py;
+        w[i] = texture.getWidth();
+        h[i] = texture.getHeight();
+    }
+
+    private int push(int layer, Texture texture) {
+        if (size == keys.length) grow(size * 2);
+        int i = size++;
+        textures[i] = texture;
+        regions[i] = null;
+        long textureKey = texture.getTextureObjectHandle() & 0xFFFFFL;
+        keys[i] = ((long) layer << 52) | (textureKey << 32) | i;
+        return i;
+    }
+
+    private void grow(int capacity) {
+        regions = Arrays.copyOf(regions, capacity);
+        textures = Arrays.copyOf(textures, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        w = Arrays.copyOf(w, capacity);
+        h = Arrays.copyOf(h, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    /** Dibuja todas las capas en orden y vacía la cola de sprites. */
+    public void render() {
+        Arrays.sort(keys, 0, size);
+        batch.setProjectionMatrix(camera.combined);
+
+        int next = 0;
+        for (int layer = 0; layer < LAYER_COUNT; layer++) {
+            if (profiler != null) profiler.begin(firstProfilerPhase + layer);
+
+            for (; next < size && (int) (keys[next] >>> 52) == layer; next++) {
+                beginBatch();
+                int i = (int) keys[next];
+                if (regions[i] != null) batch.draw(regions[i], x[i], y[i], w[i], h[i]);
+                else batch.draw(textures[i], x[i], y[i], w[i], h[i]);
+            }
+            Array<Pass> inBatch = batchPasses[layer];
+            for (int p = 0; p < inBatch.size; p++) {
+                beginBatch();
+                inBatch.get(p).render(batch, camera);
+            }
+            Array<Pass> own = passes[layer];
+            for (int p = 0; p < own.size; p++) {
+                if (batch.isDrawing()) batch.end();
+                own.get(p).render(batch, camera);
+            }
+
+            if (profiler != null) profiler.end(firstProfilerPhase + layer);
+        }
+        if (batch.isDrawing()) batch.end();
+
+        Arrays.fill(regions, 0, size, null);
+        Arrays.fill(textures, 0, size, null);
+        size = 0;
+    }
+
+    private void beginBatch() {
+        if (batch.isDrawing()) return;
+        batch.setProjectionMatrix(camera.combined); // un pass propio (p. ej. un Stage) la pudo cambiar
+        batch.begin();
+    }
+
+    public SpriteBatch getBatch() { return batch; }
+    public OrthographicCamera getCamera() { return camera; }
+
+    @Override
+    public void dispose() {
+        batch.dispose();
+    }
+}
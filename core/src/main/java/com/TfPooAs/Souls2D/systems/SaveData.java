@@ -0,0 +1,67 @@
+package com.TfPooAs.Souls2D.systems;
+
+import com.TfPooAs.Souls2D.entities.Player;
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Foto del estado guardable de una partida. Se arma en el hilo del juego ({@link #capture}) y
+ * después sólo se lee, así que el hilo de guardado la puede serializar sin sincronizar nada.
+ *
+ * Posiciones en píxeles (centro del body, igual que el spawn) y velocidades en m/s.
+ */
+public class SaveData {
+
+    public float playerX, playerY;
+    public float velocityX, velocityY;
+    public long savedAtMillis;
+
+    public static SaveData capture(Player player) {
+        SaveData data = new SaveData();
+        Body body = player.getBody();
+        data.playerX = body.getPosition().x * Constants.PPM;
+        data.playerY = body.getPosition().y * Constants.PPM;
+        data.velocityX = body.getLinearVelocity().x;
+        data.velocityY = body.getLinearVelocity().y;
+        data.savedAtMillis = System.currentTimeMillis();
+        return data;
+    }
+
+    /** Lleva al jugador al estado guardado (posición y velocidad). */
+    public void applyTo(Player player) {
+        player.restore(playerX, playerY, velocityX, velocityY);
+    }
+
+    public Vector2 getPlayerPosition() {
+        return new Vector2(playerX, playerY);
+    }
+
+    // --- Formato binario (sólo el payload; cabecera y checksum los pone SaveSystem) ---
+
+    void write(DataOutput out) throws IOException {
+        out.writeLong(savedAtMillis);
+        out.writeFloat(playerX);
+        out.writeFloat(playerY);
+        out.writeFloat(velocityX);
+        out.writeFloat(velocityY);
+    }
+
+    /**
+     * Lee un payload escrito con cualquier versión del formato. Cada versión nueva agrega sus
+     * campos al final y acá se lee con un if; lo que falta en versiones viejas queda por defecto.
+     */
+    static SaveData read(DataInput in, int version) throws IOException {
+        SaveData data = new SaveData();
+        data.savedAtMillis = in.readLong();
+        data.playerX = in.readFloat();
+        data.playerY = in.readFloat();
+        data.velocityX = in.readFloat();
+        data.velocityY = in.readFloat();
+        return data;
+    }
+}
@@ -1,57 +1,226 @@
 package com.TfPooAs.Souls2D.systems;
 
 import com.TfPooAs.Souls2D.entities.Player;
+import com.TfPooAs.Souls2D.utils.Assets;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
 /**
- * Sistema simple de guardado. Guarda datos mínimos del jugador.
+ * Guardado de partidas en slots binarios.
+ *
+ * El estado se copia en el hilo del juego ({@link SaveData#capture}) y la serialización y la
+ * escritura corren en un hilo aparte, así que guardar no frena el frame. Cada slot se escribe
+ * en un .tmp, se hace fsync y se renombra encima del anterior: si el juego se cae a mitad de
+ * camino queda el guardado viejo entero, nunca uno a medias.
+ *
+ * Formato: magic "S2DS", versión (short), largo del payload (int), payload, CRC32 del payload (long).
+ * Al cargar se valida todo; un slot corrupto o de una versión más nueva se ignora. Las versiones
+ * viejas se leen con {@link SaveData#read}; el savegame.json de antes se migra al slot 0.
  */
 public class SaveSystem {
 
-    private static final String SAVE_PATH = "savegame.json"; // almacenamiento local (carpeta de la app)
+    public static final int SLOTS = 3;
+    public static final String DIR = "saves/";
+
+    private static final int MAGIC = 0x53324453; // "S2DS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 2 + 4;
+    private static final int MAX_PAYLOAD = 1 << 20;
+    private static final String LEGACY_PATH = "savegame.json"; // formato JSON anterior
+
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "SaveSystem");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static int activeSlot = 0;
+
+    public static void setActiveSlot(int slot) {
+        checkSlot(slot);
+        activeSlot = slot;
+    }
+
+    public static int getActiveSlot() { return activeSlot; }
+
+    // --- Guardar ---
 
+    /** Guarda al jugador en el slot activo; vuelve enseguida, la escritura sigue en segundo plano. */
     public static void save(Player player) {
         if (player == null) return;
-        // Posición del jugador en píxeles (según Entity.position)
-        float x = player.getPosition().x;
-        float y = player.getPosition().y;
-        String content = "{\n" +
-            "  \"player\": {\n" +
-            "    \"x\": " + x + ",\n" +
-            "    \"y\": " + y + "\n" +
-            "  },\n" +
-            "  \"timestamp\": \"" + java.time.Instant.now().toString() + "\"\n" +
-            "}";
-        FileHandle fh = Gdx.files.local(SAVE_PATH);
-        fh.writeString(content, false);
-        Gdx.app.log("SaveSystem", "Partida guardada en " + fh.file().getAbsolutePath());
+        save(SaveData.capture(player), activeSlot);
+    }
+
+    public static void save(SaveData data, int slot) {
+        checkSlot(slot);
+        File target = slotFile(slot).file();
+        writer.execute(() -> {
+            try {
+                long start = System.nanoTime();
+                writeAtomically(target, encode(data));
+                Gdx.app.log("SaveSystem", "Partida guardada en " + target.getAbsolutePath()
+                    + " (" + (System.nanoTime() - start) / 1_000_000 + " ms)");
+            } catch (IOException e) {
+                Gdx.app.error("SaveSystem", "No se pudo guardar la partida: " + e.getMessage());
+            }
+        });
+    }
+
+    /** Espera a que terminen los guardados pendientes (al salir del juego o antes de leer un slot). */
+    public static void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // la tarea vacía no falla
+        }
+    }
+
+    static byte[] encode(SaveData data) throws IOException {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(64);
+        data.write(new DataOutputStream(payloadBytes));
+        byte[] payload = payloadBytes.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + payload.length + 8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeLong(crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    private static void writeAtomically(File target, byte[] bytes) throws IOException {
+        File dir = target.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("no se pudo crear " + dir);
+        }
+        File tmp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(bytes);
+            out.getFD().sync(); // que esté en disco antes de reemplazar el anterior
+        }
+        try {
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
     }
 
+    // --- Cargar ---
+
+    /** Lee y valida un slot. Devuelve null si está vacío o dañado. */
+    public static SaveData load(int slot) {
+        checkSlot(slot);
+        flush();
+        FileHandle fh = slotFile(slot);
+        if (!fh.exists()) return null;
+        try {
+            return decode(fh.readBytes());
+        } catch (IOException e) {
+            Gdx.app.error("SaveSystem", "Slot " + slot + " inválido: " + e.getMessage());
+            return null;
+        }
+    }
+
+    static SaveData decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (bytes.length < HEADER_BYTES + 8 || in.readInt() != MAGIC) throw new IOException("no es un guardado");
+        int version = in.readUnsignedShort();
+        if (version > VERSION) throw new IOException("versión " + version + " más nueva que el juego");
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD || length != bytes.length - HEADER_BYTES - 8) {
+            throw new IOException("largo inválido");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_BYTES, length);
+        DataInputStream tail = new DataInputStream(new ByteArrayInputStream(bytes, HEADER_BYTES + length, 8));
+        if (tail.readLong() != crc.getValue()) throw new IOException("checksum incorrecto");
+
+        return SaveData.read(in, version);
+    }
+
+    /** El guardado más reciente de todos los slots (migrando el JSON viejo si hace falta), o null. */
+    public static SaveData loadLatest() {
+        migrateLegacy();
+        SaveData latest = null;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            SaveData data = load(slot);
+            if (data != null && (latest == null || data.savedAtMillis > latest.savedAtMillis)) latest = data;
+        }
+        return latest;
+    }
+
+    public static boolean hasSave() {
+        if (Gdx.files.local(LEGACY_PATH).exists()) return true;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (slotFile(slot).exists()) return true;
+        }
+        return false;
+    }
 
     /**
      * Carga la última posición guardada del jugador. Devuelve null si no existe o hay error.
      */
     public static Vector2 loadLastPlayerPosition() {
+        SaveData data = loadLatest();
+        return data != null ? data.getPlayerPosition() : null;
+    }
+
+    /** Pasa savegame.json (sólo posición) al slot 0 si ese slot está libre; el JSON queda como .bak. */
+    private static void migrateLegacy() {
+        FileHandle legacy = Gdx.files.local(LEGACY_PATH);
+        if (!legacy.exists()) return;
         try {
-            FileHandle fh = Gdx.files.local(SAVE_PATH);
-            if (fh == null || !fh.exists()) return null;
-            JsonReader reader = new JsonReader();
-            JsonValue root = reader.parse(fh);
-            JsonValue player = root.get("player");
-            if (player == null) return null;
-            float x = player.getFloat("x");
-            float y = player.getFloat("y");
-            return new Vector2(x, y);
+            if (!slotFile(0).exists()) {
+                JsonValue player = new JsonReader().parse(legacy).get("player");
+                if (player == null) return;
+                SaveData data = new SaveData();
+                // El JSON guardaba la esquina inferior izquierda del sprite; el spawn es el centro del body
+                TextureRegion sprite = Assets.region(Player.TEXTURE);
+                data.playerX = player.getFloat("x") + sprite.getRegionWidth() / 2f;
+                data.playerY = player.getFloat("y") + sprite.getRegionHeight() / 2f;
+                Assets.releaseRegion(Player.TEXTURE);
+                data.savedAtMillis = legacy.lastModified();
+                writeAtomically(slotFile(0).file(), encode(data));
+                Gdx.app.log("SaveSystem", "Guardado JSON migrado al slot 0");
+            }
+            legacy.moveTo(Gdx.files.local(LEGACY_PATH + ".bak"));
         } catch (Exception e) {
-            Gdx.app.error("SaveSystem", "No se pudo cargar la partida: " + e.getMessage());
-            return null;
+            Gdx.app.error("SaveSystem", "No se pudo migrar " + LEGACY_PATH + ": " + e.getMessage());
         }
     }
 
-}
-
+    private static FileHandle slotFile(int slot) {
+        return Gdx.files.local(DIR + "slot-" + slot + ".sav");
+    }
 
+    private static void checkSlot(int slot) {
+        if (slot < 0 || slot >= SLOTS) throw new IllegalArgumentException("slot fuera de rango: " + slot);
+    }
+}
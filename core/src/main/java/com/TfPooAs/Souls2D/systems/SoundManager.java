@@ -1,4 +1,323 @@
 package com.TfPooAs.Souls2D.systems;
 
+import com.TfPooAs.Souls2D.utils.Assets;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Sonido del juego: efectos cortos en {@link Sound} y música en streaming con {@link Music}.
+ *
+ * Cada efecto se registra una vez ({@link #register}) y se decodifica entero a un buffer por
+ * {@link Assets}; reproducirlo sólo pide una voz al backend, sin leer ni decodificar nada.
+ *
+ * Las voces son limitadas: cada sonido tiene su máximo (si se pasa, se corta la voz más vieja de
+ * ese sonido) y hay un máximo global {@link #MAX_VOICES}, por debajo de las fuentes de OpenAL del
+ * backend (si se pasa, se corta la voz más baja, o se descarta la nueva si es todavía más baja).
+ * Un mismo sonido no se vuelve a disparar antes de {@link #RETRIGGER_TIME}: veinte enemigos que
+ * golpean en el mismo frame suenan como uno.
+ *
+ * Los sonidos con posición se atenúan con la distancia a la cámara y se panean según el lado;
+ * los que quedan fuera de {@link #HEARING_DISTANCE} no se reproducen. Volumen y paneo se
+ * actualizan todos juntos en {@link #update}, una vez por frame y sólo si cambiaron.
+ *
+ * Los volúmenes de música y efectos se guardan en las preferencias de opciones. Todo es estático
+ * y vive lo que vive el juego, como {@link Assets}; se libera con {@link #dispose()}.
+ */
 public class SoundManager {
+
+    public static final int MAX_VOICES = 16;            // lwjgl3 trae 16 fuentes de OpenAL por defecto
+    public static final float HEARING_DISTANCE = 1400f; // px desde la cámara
+    public static final float PAN_DISTANCE = 700f;      // px hacia un costado para paneo completo
+    public static final float RETRIGGER_TIME = 0.04f;   // s
+
+    public static final String PREFS = "souls2d_options";
+    public static final String PREF_MUSIC = "musicVolume";
+    public static final String PREF_SFX = "sfxVolume";
+
+    private static final float MIN_VOLUME = 0.01f;   // por debajo no vale la pena ocupar una voz
+    private static final float UPDATE_EPSILON = 0.02f;
+
+    private static class Type {
+        final String path;
+        final Sound sound;
+        final float duration;   // s; Sound no avisa cuándo termina una voz
+        final int maxVoices;
+        int playing = 0;
+        float lastPlayTime = -1f;
+
+        Type(String path, Sound sound, float duration, int maxVoices) {
+            this.path = path;
+            this.sound = sound;
+            this.duration = duration;
+            this.maxVoices = maxVoices;
+        }
+    }
+
+    private static final ObjectMap<String, Type> types = new ObjectMap<>();
+
+    // Voces sonando, en arrays paralelos (sin objetos por reproducción)
+    private static final Type[] voiceType = new Type[MAX_VOICES];
+    private static final long[] voiceId = new long[MAX_VOICES];
+    private static final boolean[] voicePositional = new boolean[MAX_VOICES];
+    private static final float[] voiceX = new float[MAX_VOICES];
+    private static final float[] voiceY = new float[MAX_VOICES];
+    private static final float[] voiceBase = new float[MAX_VOICES];   // volumen pedido
+    private static final float[] voiceVolume = new float[MAX_VOICES]; // volumen aplicado
+    private static final float[] voicePan = new float[MAX_VOICES];
+    private static final float[] voiceStart = new float[MAX_VOICES];
+    private static int voiceCount = 0;
+
+    private static float clock = 0f;
+    private static float listenerX, listenerY;
+    private static int stolen = 0, culled = 0;
+
+    private static Preferences prefs;
+    private static float musicVolume = 1f, sfxVolume = 1f;
+    private static Music music;
+    private static String musicPath;
+
+    // --- Efectos ---
+
+    /**
+     * Carga un efecto. {@code duration} es su largo en segundos (para saber cuándo se libera su voz)
+     * y {@code maxVoices} cuántas copias pueden sonar a la vez.
+     */
+    public static void register(String name, String path, float duration, int maxVoices) {
+        if (types.containsKey(name)) return;
+        types.put(name, new Type(path, Assets.acquire(path, Sound.class), duration, Math.max(1, maxVoices)));
+    }
+
+    /** Efecto sin posición (interfaz, jugador). */
+    public static boolean play(String name, float volume) {
+        return start(name, volume, false, 0f, 0f);
+    }
+
+    /** Efecto en (x, y) píxeles del mundo. Devuelve false si se descartó (lejos, sin voz libre, repetido). */
+    public static boolean play(String name, float x, float y, float volume) {
+        return start(name, volume, true, x, y);
+    }
+
+    private static boolean start(String name, float volume, boolean positional, float x, float y) {
+        Type type = types.get(name);
+        if (type == null) {
+            Gdx.app.error("SoundManager", "Sonido no registrado: " + name);
+            return false;
+        }
+        loadPreferences();
+        if (type.lastPlayTime >= 0f && clock - type.lastPlayTime < RETRIGGER_TIME) return false;
+
+        float gain = positional ? attenuation(x, y) : 1f;
+        float effective = volume * gain * sfxVolume;
+        if (effective < MIN_VOLUME) {
+            culled++;
+            return false;
+        }
+
+        if (type.playing >= type.maxVoices) {
+            stopVoice(oldestOf(type)); // tope del sonido: se corta su voz más vieja
+            stolen++;
+        } else if (voiceCount >= MAX_VOICES) {
+            int quietest = quietest();
+            if (voiceVolume[quietest] > effective) {
+                culled++;
+                return false;
+            }
+            stopVoice(quietest); // tope global: se corta la más baja
+            stolen++;
+        }
+
+        float pan = positional ? pan(x) : 0f;
+        long id = type.sound.play(effective, 1f, pan);
+        if (id == -1) return false; // el backend no tenía fuente libre
+
+        int i = voiceCount++;
+        voiceType[i] = type;
+        voiceId[i] = id;
+        voicePositional[i] = positional;
+        voiceX[i] = x;
+        voiceY[i] = y;
+        voiceBase[i] = volume;
+        voiceVolume[i] = effective;
+        voicePan[i] = pan;
+        voiceStart[i] = clock;
+        type.playing++;
+        type.lastPlayTime = clock;
+        return true;
+    }
+
+    /**
+     * Posición desde la que se escucha (la cámara del juego); la toman los efectos nuevos y, en el
+     * próximo {@link #update}, los que ya suenan. Las pantallas sin mundo no necesitan llamarlo.
+     */
+    public static void setListener(float cameraX, float cameraY) {
+        listenerX = cameraX;
+        listenerY = cameraY;
+    }
+
+    /**
+     * Una vez por frame desde {@link com.TfPooAs.Souls2D.core.Main#render()}, en todas las
+     * pantallas: avanza el reloj, libera las voces que terminaron y aplica volumen y paneo de las
+     * que siguen según la posición del oyente.
+     */
+    public static void update(float delta) {
+        clock += delta;
+        for (int i = voiceCount - 1; i >= 0; i--) {
+            Type type = voiceType[i];
+            if (clock - voiceStart[i] >= type.duration) {
+                removeVoice(i); // ya terminó: no hace falta pararla
+                continue;
+            }
+            float gain = voicePositional[i] ? attenuation(voiceX[i], voiceY[i]) : 1f;
+            float volume = voiceBase[i] * gain * sfxVolume;
+            if (volume < MIN_VOLUME) {
+                stopVoice(i); // la cámara se alejó
+                continue;
+            }
+            float pan = voicePositional[i] ? pan(voiceX[i]) : 0f;
+            if (Math.abs(volume - voiceVolume[i]) > UPDATE_EPSILON || Math.abs(pan - voicePan[i]) > UPDATE_EPSILON) {
+                type.sound.setPan(voiceId[i], pan, volume); // paneo y volumen en una sola llamada
+                voiceVolume[i] = volume;
+                voicePan[i] = pan;
+            }
+        }
+    }
+
+    private static float attenuation(float x, float y) {
+        float d = (float) Math.sqrt((x - listenerX) * (x - listenerX) + (y - listenerY) * (y - listenerY));
+        if (d >= HEARING_DISTANCE) return 0f;
+        float g = 1f - d / HEARING_DISTANCE;
+        return g * g;
+    }
+
+    private static float pan(float x) {
+        return MathUtils.clamp((x - listenerX) / PAN_DISTANCE, -1f, 1f);
+    }
+
+    private static int oldestOf(Type type) {
+        int oldest = -1;
+        for (int i = 0; i < voiceCount; i++) {
+            if (voiceType[i] == type && (oldest < 0 || voiceStart[i] < voiceStart[oldest])) oldest = i;
+        }
+        return oldest;
+    }
+
+    private static int quietest() {
+        int quietest = 0;
+        for (int i = 1; i < voiceCount; i++) {
+            if (voiceVolume[i] < voiceVolume[quietest]) quietest = i;
+        }
+        return quietest;
+    }
+
+    private static void stopVoice(int i) {
+        voiceType[i].sound.stop(voiceId[i]);
+        removeVoice(i);
+    }
+
+    /** Saca la voz i pasando la última a su lugar. */
+    private static void removeVoice(int i) {
+        voiceType[i].playing--;
+        int last = --voiceCount;
+        voiceType[i] = voiceType[last];
+        voiceId[i] = voiceId[last];
+        voicePositional[i] = voicePositional[last];
+        voiceX[i] = voiceX[last];
+        voiceY[i] = voiceY[last];
+        voiceBase[i] = voiceBase[last];
+        voiceVolume[i] = voiceVolume[last];
+        voicePan[i] = voicePan[last];
+        voiceStart[i] = voiceStart[last];
+        voiceType[last] = null;
+    }
+
+    /** Corta todos los efectos (al reintentar o cambiar de pantalla); la música sigue. */
+    public static void stopAll() {
+        for (int i = voiceCount - 1; i >= 0; i--) stopVoice(i);
+    }
+
+    // --- Música ---
+
+    /** Pasa a otra pista en loop; si ya es la que suena, no hace nada. */
+    public static void playMusic(String path) {
+        if (music != null && path.equals(musicPath)) return;
+        stopMusic();
+        if (Gdx.audio == null) return;
+        loadPreferences();
+        try {
+            music = Gdx.audio.newMusic(Gdx.files.internal(path)); // se lee por partes, no entera en memoria
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("SoundManager", "No se pudo abrir la música " + path + ": " + e.getMessage());
+            return;
+        }
+        musicPath = path;
+        music.setLooping(true);
+        music.setVolume(musicVolume);
+        music.play();
+    }
+
+    public static void stopMusic() {
+        if (music == null) return;
+        music.stop();
+        music.dispose();
+        music = null;
+        musicPath = null;
+    }
+
+    // --- Volúmenes ---
+
+    private static void loadPreferences() {
+        if (prefs != null) return;
+        prefs = Gdx.app.getPreferences(PREFS);
+        musicVolume = prefs.getFloat(PREF_MUSIC, 1f);
+        sfxVolume = prefs.getFloat(PREF_SFX, 1f);
+    }
+
+    public static float getMusicVolume() {
+        loadPreferences();
+        return musicVolume;
+    }
+
+    public static float getSfxVolume() {
+        loadPreferences();
+        return sfxVolume;
+    }
+
+    /** Se aplica enseguida; queda en disco con {@link #savePreferences()}. */
+    public static void setMusicVolume(float volume) {
+        loadPreferences();
+        musicVolume = MathUtils.clamp(volume, 0f, 1f);
+        prefs.putFloat(PREF_MUSIC, musicVolume);
+        if (music != null) music.setVolume(musicVolume);
+    }
+
+    /** Los efectos que ya suenan toman el volumen nuevo en el próximo {@link #update}. */
+    public static void setSfxVolume(float volume) {
+        loadPreferences();
+        sfxVolume = MathUtils.clamp(volume, 0f, 1f);
+        prefs.putFloat(PREF_SFX, sfxVolume);
+    }
+
+    public static void savePreferences() {
+        if (prefs != null) prefs.flush();
+    }
+
+    public static int getVoiceCount() { return voiceCount; }
+    /** Voces cortadas para hacer lugar desde el inicio. */
+    public static int getStolenCount() { return stolen; }
+    /** Reproducciones descartadas por distancia o por ser más bajas que todas las voces. */
+    public static int getCulledCount() { return culled; }
+
+    /** Corta todo y devuelve los buffers a {@link Assets}; llamar antes de {@link Assets#dispose()}. */
+    public static void dispose() {
+        stopAll();
+        stopMusic();
+        for (Type type : types.values()) Assets.release(type.path);
+        types.clear();
+        savePreferences();
+    }
 }
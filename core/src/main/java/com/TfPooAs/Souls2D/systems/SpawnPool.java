@@ -0,0 +1,152 @@
+package com.TfPooAs.Souls2D.systems;
+
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.Arrays;
+
+/**
+ * Spawn y despawn de entidades transitorias de un mismo tipo (proyectiles, almas, chispas, oleadas
+ * de enemigos) sin reservar memoria ni pasar por JNI en cada uno.
+ *
+ * Las entidades son ids de {@link EntityWorld} (sus ids ya se reciclan). Los bodies salen de un
+ * {@link Pool}: al hacer despawn el body no se destruye, queda estacionado con setActive(false)
+ * (fuera del broadphase, no colisiona ni se simula) y el próximo spawn lo reactiva moviéndolo a su
+ * nueva posición. Sólo se crean bodies cuando el pool está vacío; conviene llenarlo con
+ * {@link #prewarm} durante la carga.
+ *
+ * Un despawn pedido durante world.step (por ejemplo desde un handler de contactos) se aplica en
+ * {@link #flush()}, que Simulation llama después de la física.
+ */
+public class SpawnPool implements Disposable {
+
+    /** Crea un body con sus fixtures; se llama sólo cuando el pool no tiene uno estacionado. */
+    public interface BodyFactory {
+        Body create(World world);
+    }
+
+    private final EntityWorld entities;
+    private final World world;
+    private final TextureRegion sprite;
+    private final float width, height;
+    private final BodyFactory factory; // null: entidades sin body, las mueve MovementSystem
+    private final Pool<Body> bodies;
+
+    private final IntArray live = new IntArray(false, 16); // sin orden: el despawn cambia la última al hueco
+    private int[] slotOf = new int[16]; // id -> índice en live + 1 (0: no está viva en este pool)
+    private final IntArray pending = new IntArray(); // despawns pedidos durante world.step
+
+    public SpawnPool(EntityWorld entities, TextureRegion sprite, float width, float height, BodyFactory factory, int maxParked) {
+        this.entities = entities;
+        this.world = entities.getWorld();
+        this.sprite = sprite;
+        this.width = width;
+        this.height = height;
+        this.factory = factory;
+        this.bodies = new Pool<Body>(16, maxParked) {
+            @Override
+            protected Body newObject() {
+                Body b = SpawnPool.this.factory.create(world);
+                b.setActive(false);
+                return b;
+            }
+
+            @Override
+            protected void reset(Body b) {
+                b.setLinearVelocity(0, 0);
+                b.setAngularVelocity(0);
+                b.setActive(false);
+            }
+
+            @Override
+            protected void discard(Body b) {
+                world.destroyBody(b); // sobra lugar en el pool: se destruye de verdad
+            }
+        };
+    }
+
+    /** Deja {@code count} bodies estacionados para que los spawns no creen ninguno. No llamar durante world.step. */
+    public void prewarm(int count) {
+        if (factory == null) return;
+        int missing = count - bodies.getFree();
+        if (missing > 0) bodies.fill(missing);
+        live.ensureCapacity(count);
+        if (slotOf.length < count) slotOf = Arrays.copyOf(slotOf, count);
+        pending.ensureCapacity(count);
+    }
+
+    /**
+     * Activa una entidad en (x, y) píxeles (esquina inferior izquierda) con velocidad en px/s.
+     * No llamar durante world.step si el tipo tiene body.
+     * @return id de la entidad en EntityWorld
+     */
+    public int spawn(float x, float y, float velocityX, float velocityY) {
+        int id = entities.create();
+        entities.setSprite(id, sprite, width, height);
+        if (factory != null) {
+            Body b = bodies.obtain();
+            b.setTransform((x + width / 2f) / Constants.PPM, (y + height / 2f) / Constants.PPM, 0);
+            b.setLinearVelocity(velocityX / Constants.PPM, velocityY / Constants.PPM);
+            b.setActive(true);
+            b.setAwake(true);
+            entities.setBody(id, b);
+        } else {
+            entities.setPosition(id, x, y);
+        }
+        entities.setVelocity(id, velocityX, velocityY);
+        entities.setPooled(id);
+        if (id >= slotOf.length) slotOf = Arrays.copyOf(slotOf, Math.max(id + 1, slotOf.length * 2));
+        live.add(id);
+        slotOf[id] = live.size;
+        return id;
+    }
+
+    /** Devuelve la entidad al pool. Durante world.step queda pendiente hasta {@link #flush()}. */
+    public void despawn(int id) {
+        if (world.isLocked()) {
+            if (!pending.contains(id)) pending.add(id);
+            return;
+        }
+        int slot = id < slotOf.length ? slotOf[id] - 1 : -1;
+        if (slot < 0) return; // ya liberada o de otro pool
+        int last = live.pop();
+        if (last != id) {
+            live.set(slot, last);
+            slotOf[last] = slot + 1;
+        }
+        slotOf[id] = 0;
+        if (factory != null) {
+            Body b = entities.detachBody(id);
+            if (b != null) bodies.free(b);
+        }
+        entities.destroy(id);
+    }
+
+    /** Aplica los despawns pedidos durante world.step. */
+    public void flush() {
+        for (int i = 0; i < pending.size; i++) despawn(pending.get(i));
+        pending.clear();
+    }
+
+    /** Estaciona todas las entidades vivas del pool (al reintentar o cambiar de nivel). */
+    public void despawnAll() {
+        pending.clear();
+        while (live.size > 0) despawn(live.peek());
+    }
+
+    public int getLiveCount() { return live.size; }
+    public int getParkedCount() { return bodies.getFree(); }
+    public IntArray getLive() { return live; }
+
+    /** Destruye también los bodies estacionados. No llamar durante world.step. */
+    @Override
+    public void dispose() {
+        despawnAll();
+        bodies.clear();
+    }
+}
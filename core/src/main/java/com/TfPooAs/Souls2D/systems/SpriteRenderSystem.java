@@ -0,0 +1,31 @@
+package com.TfPooAs.Souls2D.systems;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Envía los sprites de las entidades a la capa ENTITIES del {@link RenderPipeline}, interpolando
+ * entre el paso anterior y el actual. Con el atlas de sprites todo sale en un solo draw call.
+ */
+public class SpriteRenderSystem {
+
+    private static final int REQUIRED = EntityWorld.POSITION | EntityWorld.SPRITE;
+
+    /**
+     * @param alpha fracción del paso pendiente (ver PhysicsSystem.getAlpha())
+     * @param view  zona visible en píxeles; lo que queda afuera no se dibuja (null = todo)
+     */
+    public void render(EntityWorld w, RenderPipeline pipeline, float alpha, Rectangle view) {
+        int[] mask = w.mask;
+        TextureRegion[] region = w.region;
+        float[] x = w.x, y = w.y, prevX = w.prevX, prevY = w.prevY, width = w.width, height = w.height;
+        for (int i = 0, n = w.highWater; i < n; i++) {
+            if ((mask[i] & REQUIRED) != REQUIRED) continue;
+            float drawX = prevX[i] + (x[i] - prevX[i]) * alpha;
+            float drawY = prevY[i] + (y[i] - prevY[i]) * alpha;
+            if (view != null && (drawX > view.x + view.width || drawX + width[i] < view.x
+                || drawY > view.y + view.height || drawY + height[i] < view.y)) continue;
+            pipeline.draw(RenderPipeline.ENTITIES, region[i], drawX, drawY, width[i], height[i]);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.TfPooAs.Souls2D.ui;
 
-import com.badlogic.gdx.Gdx;
+import com.TfPooAs.Souls2D.utils.Assets;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
@@ -21,7 +21,7 @@ public class DialogBox {
 
     public DialogBox(Stage stage) {
         this.stage = stage;
-        this.skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
+        this.skin = Assets.skin();
 
         window = new Window("", skin);
         window.setMovable(false);
@@ -87,4 +87,9 @@ public class DialogBox {
     }
 
     public Stage getStage() { return stage; }
+
+    public void dispose() {
+        window.remove();
+        Assets.release(Assets.SKIN);
+    }
 }
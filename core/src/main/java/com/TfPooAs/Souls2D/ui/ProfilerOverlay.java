@@ -0,0 +1,89 @@
+package com.TfPooAs.Souls2D.ui;
+
+import com.TfPooAs.Souls2D.utils.FrameProfiler;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+
+/**
+ * Panel de texto con los tiempos por fase (p50/p95/p99 en ms) y los contadores de GL y Box2D
+ * de un {@link FrameProfiler}. El texto se rearma {@link #REFRESH_SECONDS} veces por segundo,
+ * no en cada frame.
+ */
+public class ProfilerOverlay {
+
+    private static final float REFRESH_SECONDS = 0.5f;
+
+    private final FrameProfiler profiler;
+    private final ScreenViewport viewport = new ScreenViewport();
+    private final SpriteBatch batch; // el del pipeline: no se libera acá
+    private final BitmapFont font = new BitmapFont();
+    private final StringBuilder text = new StringBuilder(1024);
+    private float sinceRefresh = REFRESH_SECONDS;
+
+    public ProfilerOverlay(FrameProfiler profiler, SpriteBatch batch) {
+        this.profiler = profiler;
+        this.batch = batch;
+        font.setColor(Color.WHITE);
+    }
+
+    public void render(float delta) {
+        sinceRefresh += delta;
+        if (sinceRefresh >= REFRESH_SECONDS) {
+            rebuild();
+            sinceRefresh = 0;
+        }
+        viewport.apply(true);
+        batch.setProjectionMatrix(viewport.getCamera().combined);
+        batch.begin();
+        font.draw(batch, text, 10, viewport.getWorldHeight() - 10);
+        batch.end();
+    }
+
+    private void rebuild() {
+        text.setLength(0);
+        text.append("fase            p50     p95     p99 (ms)\n");
+        line("frame", profiler.framePercentile(0.5f), profiler.framePercentile(0.95f), profiler.framePercentile(0.99f));
+        for (int p = 0; p < profiler.getPhaseCount(); p++) {
+            line(profiler.getPhaseName(p), profiler.percentile(p, 0.5f), profiler.percentile(p, 0.95f), profiler.percentile(p, 0.99f));
+        }
+        text.append('\n');
+        if (profiler.isGLProfiling()) {
+            text.append("draw calls ").append(profiler.getDrawCalls())
+                .append("  texturas ").append(profiler.getTextureBindings())
+                .append("  shaders ").append(profiler.getShaderSwitches())
+                .append("  vértices ").append(profiler.getVertexCount()).append('\n');
+        }
+        text.append("bodies ").append(profiler.getBodyCount())
+            .append("  contactos ").append(profiler.getContactCount())
+            .append("  proxies ").append(profiler.getProxyCount()).append('\n');
+        text.append(profiler.isRecording() ? "grabando CSV (F4 para parar)" : "F4: grabar CSV");
+    }
+
+    private void line(String name, long p50, long p95, long p99) {
+        text.append(name);
+        for (int i = name.length(); i < 12; i++) text.append(' ');
+        ms(p50);
+        ms(p95);
+        ms(p99);
+        text.append('\n');
+    }
+
+    private void ms(long nanos) {
+        // 2 decimales sin String.format
+        long hundredths = (nanos + 5_000) / 10_000;
+        text.append("  ").append(hundredths / 100).append('.');
+        long decimals = hundredths % 100;
+        if (decimals < 10) text.append('0');
+        text.append(decimals);
+    }
+
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    public void dispose() {
+        font.dispose();
+    }
+}
@@ -1,4 +1,46 @@
 package com.TfPooAs.Souls2D.ui.options;
 
-public class SoundPanel {
+import com.TfPooAs.Souls2D.systems.SoundManager;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Slider;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+
+/**
+ * Sliders de volumen de música y efectos. Los cambios se escuchan en el momento
+ * ({@link SoundManager}); se guardan a disco con {@link #save()} al salir de opciones.
+ */
+public class SoundPanel extends Table {
+
+    public SoundPanel(Skin skin, Label.LabelStyle labelStyle) {
+        Slider music = new Slider(0f, 1f, 0.01f, false, skin);
+        music.setValue(SoundManager.getMusicVolume());
+        music.addListener(new ChangeListener() {
+            @Override public void changed(ChangeEvent event, Actor actor) {
+                SoundManager.setMusicVolume(music.getValue());
+            }
+        });
+
+        Slider sfx = new Slider(0f, 1f, 0.01f, false, skin);
+        sfx.setValue(SoundManager.getSfxVolume());
+        sfx.addListener(new ChangeListener() {
+            @Override public void changed(ChangeEvent event, Actor actor) {
+                SoundManager.setSfxVolume(sfx.getValue());
+            }
+        });
+
+        add(new Label("Volumen música", labelStyle)).padBottom(6);
+        row();
+        add(music).width(300).padBottom(12);
+        row();
+        add(new Label("Volumen efectos", labelStyle)).padBottom(6);
+        row();
+        add(sfx).width(300).padBottom(12);
+    }
+
+    public void save() {
+        SoundManager.savePreferences();
+    }
 }
@@ -1,20 +1,167 @@
 package com.TfPooAs.Souls2D.utils;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
 
+/**
+ * Registro central de recursos sobre un {@link AssetManager}.
+ *
+ * Cada archivo se carga y se sube a la GPU una sola vez y se comparte entre todos sus usuarios.
+ * Quien llama a {@link #acquire} suma una referencia y tiene que devolverla con {@link #release}
+ * (normalmente en su dispose); cuando se libera la última referencia el archivo se descarga.
+ */
 public class Assets {
 
+    // Rutas de uso común
+    public static final String SKIN = "ui/uiskin.json";
+    public static final String INTERACT_ICON = "ui/interact_e.png";
+    public static final String PLAYER = "player.png";
+    public static final String BG_SKY = "backgrounds/sky.png";
+    public static final String BG_MOUNTAINS = "backgrounds/mountains.png";
+    public static final String BG_TREES = "backgrounds/trees.png";
+
+    // Atlas generado por la tarea lwjgl3:packTextures (ver AtlasPacker)
+    public static final String SPRITES_ATLAS = "atlas/sprites.atlas";
+
+    private static AssetManager manager;
+    private static final ObjectIntMap<String> refs = new ObjectIntMap<>();
+    private static final ObjectMap<String, String> regionSources = new ObjectMap<>(); // png -> recurso que lo contiene
+    private static Boolean atlasAvailable;
+
+    public static AssetManager getManager() {
+        if (manager == null) {
+            InternalFileHandleResolver resolver = new InternalFileHandleResolver();
+            manager = new AssetManager(resolver);
+            manager.setLoader(TiledMap.class, new TmxMapLoader(resolver)); // el .tmx y sus tilesets
+        }
+        return manager;
+    }
+
+    /** Devuelve el recurso (cargándolo de forma bloqueante la primera vez) y suma una referencia. */
+    public static <T> T acquire(String path, Class<T> type) {
+        AssetManager am = getManager();
+        if (refs.getAndIncrement(path, 0, 1) == 0 && !am.isLoaded(path, type)) {
+            am.load(path, type);
+        }
+        return am.finishLoadingAsset(path);
+    }
+
+    /** Igual que {@link #acquire(String, Class)} pero con parámetros de carga (p. ej. el atlas de un efecto). */
+    public static <T> T acquire(AssetDescriptor<T> asset) {
+        AssetManager am = getManager();
+        if (refs.getAndIncrement(asset.fileName, 0, 1) == 0 && !am.isLoaded(asset.fileName, asset.type)) {
+            am.load(asset);
+        }
+        return am.finishLoadingAsset(asset.fileName);
+    }
+
+    /**
+     * Como {@link #acquire} pero sin bloquear: encola la carga (lectura y decodificado en el hilo
+     * del AssetManager) y la subida a la GPU se hace de a poco en {@link #update(int)}.
+     */
+    public static void preload(AssetDescriptor<?> asset) {
+        AssetManager am = getManager();
+        if (refs.getAndIncrement(asset.fileName, 0, 1) == 0 && !am.isLoaded(asset.fileName, asset.type)) {
+            am.load(asset);
+        }
+    }
+
+    /** Avanza las cargas encoladas durante a lo sumo {@code millis}; true cuando no queda nada. */
+    public static boolean update(int millis) {
+        return getManager().update(millis);
+    }
+
+    public static float getProgress() {
+        return getManager().getProgress();
+    }
+
+    public static Texture texture(String path) {
+        return acquire(path, Texture.class);
+    }
+
+    public static Skin skin() {
+        return acquire(SKIN, Skin.class);
+    }
+
+    /**
+     * Devuelve la región de un png ("player.png") desde el atlas de sprites, para que todas las
+     * entidades se dibujen sin cambiar de textura. Si el atlas no está generado o no contiene
+     * la imagen, usa la textura suelta. Se devuelve con {@link #releaseRegion(String)}.
+     */
+    public static TextureRegion region(String path) {
+        String source = regionSources.get(path);
+        if (source == null || source.equals(SPRITES_ATLAS)) {
+            if (source != null || isAtlasAvailable()) {
+                TextureRegion region = acquire(SPRITES_ATLAS, TextureAtlas.class).findRegion(regionName(path));
+                if (region != null) {
+                    regionSources.put(path, SPRITES_ATLAS);
+                    return region;
+                }
+                release(SPRITES_ATLAS);
+            }
+            regionSources.put(path, path);
+        }
+        return new TextureRegion(texture(path));
+    }
+
+    public static void releaseRegion(String path) {
+        String source = regionSources.get(path);
+        release(source != null ? source : path);
+    }
+
+    private static boolean isAtlasAvailable() {
+        if (atlasAvailable == null) atlasAvailable = Gdx.files.internal(SPRITES_ATLAS).exists();
+        return atlasAvailable;
+    }
+
+    private static String regionName(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot > 0 ? path.substring(0, dot) : path;
+    }
+
+    /** Devuelve una referencia; con la última, el recurso se descarga y se libera de la GPU. */
+    public static void release(String path) {
+        int count = refs.get(path, 0);
+        if (count <= 0) {
+            Gdx.app.error("Assets", "release sin acquire: " + path);
+            return;
+        }
+        if (count == 1) {
+            refs.remove(path, 0);
+            if (manager != null && manager.isLoaded(path)) manager.unload(path);
+        } else {
+            refs.put(path, count - 1);
+        }
+    }
+
+    public static int getReferenceCount(String path) {
+        return refs.get(path, 0);
+    }
+
+    /** Libera todo (al cerrar el juego). */
+    public static void dispose() {
+        refs.clear();
+        regionSources.clear();
+        atlasAvailable = null;
+        if (manager != null) {
+            manager.dispose();
+            manager = null;
+        }
+    }
+
+    /** Fuente Garamond compartida (ver {@link Fonts}); no hay que hacerle dispose. */
     public static BitmapFont generateGaramond(int size) {
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("assets/ui/Garamond.otf"));
-        FreeTypeFontParameter parameter = new FreeTypeFontParameter();
-        parameter.size = size; // tamaño de la fuente, ej: 24
-        parameter.borderWidth = 0;
-        parameter.color = com.badlogic.gdx.graphics.Color.WHITE; // color del texto
-        BitmapFont font = generator.generateFont(parameter);
-        generator.dispose();
-        return font;
+        return Fonts.get(Fonts.GARAMOND, size);
     }
 }
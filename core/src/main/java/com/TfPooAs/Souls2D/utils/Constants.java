@@ -2,9 +2,12 @@ package com.TfPooAs.Souls2D.utils;
 
 public class Constants {
     public static final float PPM = 100f;
+    // Capa de debug de Box2D; en false el compilador la saca del todo (ni se crea el renderer)
+    public static final boolean DEBUG_RENDER = true;
     // Bits de colisión
     public static final short BIT_PLAYER = 2;
-    public static final short BIT_ENEMY = 0x0002;
+    public static final short BIT_ENEMY = 0x0004;
     public static final short BIT_GROUND = 1;
     public static final short BIT_ITEM = 0x0008;
+    public static final short BIT_LIGHT = 0x0010; // rayos de las luces estáticas (sólo chocan con el terreno)
 }
@@ -0,0 +1,216 @@
+package com.TfPooAs.Souls2D.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Servicio de fuentes: cada combinación (fuente, tamaño, caracteres) se rasteriza con FreeType
+ * una sola vez y se comparte entre todas las pantallas.
+ *
+ * Además se guarda en disco ({@link #CACHE_DIR}) como .fnt + páginas png, con un nombre que incluye
+ * un hash del .otf y de los parámetros; en el próximo arranque se carga de ahí sin pasar por FreeType.
+ *
+ * Las fuentes devueltas son compartidas: no hay que hacerles dispose (lo hace {@link #dispose()}).
+ */
+public class Fonts {
+
+    public static final String GARAMOND = "ui/Garamond.otf";
+    public static final String CACHE_DIR = "cache/fonts/";
+
+    private static final int CACHE_FORMAT = 1; // cambiarlo invalida lo guardado en disco
+
+    private static final ObjectMap<String, BitmapFont> fonts = new ObjectMap<>();
+    private static final ObjectMap<String, String> fileHashes = new ObjectMap<>();
+    private static boolean diskCacheEnabled = true;
+
+    public static BitmapFont get(String fontPath, int size) {
+        return get(fontPath, size, FreeTypeFontGenerator.DEFAULT_CHARS);
+    }
+
+    public static BitmapFont get(String fontPath, int size, String characters) {
+        String key = fontPath + "|" + size + "|" + characters;
+        BitmapFont font = fonts.get(key);
+        if (font == null) {
+            font = load(fontPath, size, characters);
+            fonts.put(key, font);
+        }
+        return font;
+    }
+
+    public static void setDiskCacheEnabled(boolean enabled) {
+        diskCacheEnabled = enabled;
+    }
+
+    /** Libera todas las fuentes (al cerrar el juego). */
+    public static void dispose() {
+        for (BitmapFont font : fonts.values()) font.dispose();
+        fonts.clear();
+        fileHashes.clear();
+    }
+
+    private static BitmapFont load(String fontPath, int size, String characters) {
+        FileHandle fontFile = Gdx.files.internal(fontPath);
+        if (!fontFile.exists()) {
+            Gdx.app.error("Fonts", "No existe la fuente " + fontPath + ", se usa la fuente por defecto");
+            return new BitmapFont();
+        }
+
+        FileHandle fnt = null;
+        if (diskCacheEnabled && Gdx.files.isLocalStorageAvailable()) {
+            fnt = Gdx.files.local(CACHE_DIR + fontFile.nameWithoutExtension() + "-" + size + "-"
+                + cacheHash(fontFile, size, characters) + ".fnt");
+            if (fnt.exists()) {
+                try {
+                    BitmapFont font = new BitmapFont(fnt);
+                    // FreeType deja el glifo '\0' en la tabla y sólo lo usa como faltante si tiene tamaño
+                    BitmapFontData data = font.getData();
+                    Glyph missing = data.missingGlyph;
+                    if (missing != null) {
+                        data.setGlyph(0, missing);
+                        if (missing.width == 0 || missing.height == 0) data.missingGlyph = null;
+                    }
+                    return font;
+                } catch (Exception e) {
+                    Gdx.app.error("Fonts", "Caché de fuente inválida, se regenera: " + fnt.path());
+                }
+            }
+        }
+
+        try {
+            return generate(fontFile, size, characters, fnt);
+        } catch (Exception e) {
+            Gdx.app.error("Fonts", "No se pudo generar " + fontPath + " (" + size + "px): " + e.getMessage());
+            return new BitmapFont();
+        }
+    }
+
+    private static BitmapFont generate(FileHandle fontFile, int size, String characters, FileHandle fnt) {
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(fontFile);
+        FreeTypeFontParameter parameter = new FreeTypeFontParameter();
+        parameter.size = size;
+        parameter.characters = characters;
+
+        // Packer propio (igual al que crea FreeType) para poder guardar las páginas en disco
+        int maxGlyphHeight = MathUtils.ceil(size * 1.25f);
+        int pageSize = Math.min(2048, MathUtils.nextPowerOfTwo((int) Math.sqrt(maxGlyphHeight * maxGlyphHeight * characters.length())));
+        PixmapPacker packer = new PixmapPacker(pageSize, pageSize, Pixmap.Format.RGBA8888, 1, false,
+            new PixmapPacker.SkylineStrategy());
+        packer.setTransparentColor(parameter.color);
+        packer.getTransparentColor().a = 0;
+        parameter.packer = packer;
+
+        BitmapFont font;
+        try {
+            font = generator.generateFont(parameter);
+        } finally {
+            generator.dispose();
+        }
+        font.setOwnsTexture(true); // las texturas de las páginas quedan a cargo de la fuente
+
+        if (fnt != null) {
+            try {
+                writeCache(font.getData(), packer.getPages(), fnt);
+            } catch (Exception e) {
+                Gdx.app.error("Fonts", "No se pudo guardar la caché de fuente " + fnt.path() + ": " + e.getMessage());
+            }
+        }
+        return font;
+    }
+
+    /** Escribe la fuente en formato BMFont de texto; la línea metrics conserva las métricas exactas. */
+    private static void writeCache(BitmapFontData data, Array<PixmapPacker.Page> pages, FileHandle fnt) {
+        String base = fnt.nameWithoutExtension();
+        // Primero las páginas: el .fnt se escribe al final, así sólo existe si la caché está completa
+        for (int i = 0; i < pages.size; i++) {
+            PixmapIO.writePNG(fnt.sibling(base + "_" + i + ".png"), pages.get(i).getPixmap());
+        }
+
+        Array<Glyph> glyphs = new Array<>();
+        for (Glyph[] page : data.glyphs) {
+            if (page == null) continue;
+            for (Glyph glyph : page) {
+                if (glyph != null) glyphs.add(glyph);
+            }
+        }
+
+        Pixmap first = pages.first().getPixmap();
+        StringBuilder out = new StringBuilder();
+        out.append("info face=\"").append(base).append("\" size=0 bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=0 aa=1")
+            .append(" padding=").append((int) data.padTop).append(',').append((int) data.padRight).append(',')
+            .append((int) data.padBottom).append(',').append((int) data.padLeft).append(" spacing=0,0\n");
+        out.append("common lineHeight=").append((int) data.lineHeight).append(" base=").append((int) (data.capHeight + data.ascent))
+            .append(" scaleW=").append(first.getWidth()).append(" scaleH=").append(first.getHeight())
+            .append(" pages=").append(pages.size).append(" packed=0\n");
+        for (int i = 0; i < pages.size; i++) {
+            out.append("page id=").append(i).append(" file=\"").append(base).append('_').append(i).append(".png\"\n");
+        }
+
+        out.append("chars count=").append(glyphs.size).append('\n');
+        for (Glyph g : glyphs) {
+            out.append("char id=").append(g.id)
+                .append(" x=").append(g.srcX).append(" y=").append(g.srcY)
+                .append(" width=").append(g.width).append(" height=").append(g.height)
+                .append(" xoffset=").append(g.xoffset).append(" yoffset=").append(-(g.height + g.yoffset))
+                .append(" xadvance=").append(g.xadvance).append(" page=").append(g.page).append(" chnl=0\n");
+        }
+
+        int kerningCount = 0;
+        StringBuilder kernings = new StringBuilder();
+        for (int i = 0; i < glyphs.size; i++) {
+            Glyph a = glyphs.get(i);
+            for (int j = 0; j < glyphs.size; j++) {
+                Glyph b = glyphs.get(j);
+                int amount = a.getKerning((char) b.id);
+                if (amount == 0) continue;
+                kerningCount++;
+                kernings.append("kerning first=").append(a.id).append(" second=").append(b.id)
+                    .append(" amount=").append(amount).append('\n');
+            }
+        }
+        out.append("kernings count=").append(kerningCount).append('\n').append(kernings);
+
+        out.append("metrics ascent=").append(data.ascent).append(" descent=").append(data.descent)
+            .append(" down=").append(data.down).append(" capHeight=").append(data.capHeight)
+            .append(" lineHeight=").append(data.lineHeight).append(" spaceXAdvance=").append(data.spaceXadvance)
+            .append(" xHeight=").append(data.xHeight).append('\n');
+
+        fnt.writeString(out.toString(), false, "UTF-8");
+    }
+
+    /** Hash del contenido del .otf más los parámetros de rasterizado. */
+    private static String cacheHash(FileHandle fontFile, int size, String characters) {
+        String fileHash = fileHashes.get(fontFile.path());
+        if (fileHash == null) {
+            fileHash = sha1(fontFile.readBytes());
+            fileHashes.put(fontFile.path(), fileHash);
+        }
+        String params = CACHE_FORMAT + "|" + fileHash + "|" + size + "|" + characters;
+        return sha1(params.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+
+    private static String sha1(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.TfPooAs.Souls2D.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Mide cuánto tarda cada fase de un frame (con nanoTime) y guarda los últimos {@link #HISTORY}
+ * frames en un anillo para sacar percentiles (p50/p95/p99) sin reservar memoria por frame.
+ *
+ * Además junta, si está activado, los contadores de {@link GLProfiler} (draw calls, bindings de
+ * texturas, cambios de shader, vértices) y los de Box2D (bodies, contactos, proxies), y puede
+ * grabar todo frame a frame en un CSV por sesión ({@link #DIR}).
+ */
+public class FrameProfiler implements Disposable {
+
+    public static final int HISTORY = 600; // 10 s a 60 fps
+    public static final String DIR = "profiles/";
+
+    private static final int CSV_FLUSH_ROWS = 120;
+
+    private final String[] phases;
+    private final long[][] samples;  // [fase][frame] en ns
+    private final long[] frameSamples;
+    private final long[] starts;
+    private final long[] current;    // fases del frame en curso
+    private final long[] scratch = new long[HISTORY];
+    private long frameStart;
+    private int cursor = 0;
+    private int filled = 0;
+    private long frameIndex = 0;
+
+    private GLProfiler glProfiler;
+    private int drawCalls, textureBindings, shaderSwitches, vertices;
+    private int bodies, contacts, proxies;
+
+    private FileHandle csv;
+    private final StringBuilder csvBuffer = new StringBuilder(4096);
+    private int csvRows = 0;
+
+    public FrameProfiler(String... phases) {
+        this.phases = phases;
+        samples = new long[phases.length][HISTORY];
+        frameSamples = new long[HISTORY];
+        starts = new long[phases.length];
+        current = new long[phases.length];
+    }
+
+    public void beginFrame() {
+        frameStart = TimeUtils.nanoTime();
+        Arrays.fill(current, 0);
+    }
+
+    public void begin(int phase) {
+        starts[phase] = TimeUtils.nanoTime();
+    }
+
+    /** Suma el tiempo desde el último begin(phase); una fase se puede medir varias veces por frame. */
+    public void end(int phase) {
+        current[phase] += TimeUtils.nanoTime() - starts[phase];
+    }
+
+    /** Cierra el frame: guarda las fases en el anillo, lee los contadores y, si graba, escribe la fila. */
+    public void endFrame(World world) {
+        long total = TimeUtils.nanoTime() - frameStart;
+        for (int p = 0; p < phases.length; p++) samples[p][cursor] = current[p];
+        frameSamples[cursor] = total;
+        cursor = (cursor + 1) % HISTORY;
+        if (filled < HISTORY) filled++;
+        frameIndex++;
+
+        if (glProfiler != null && glProfiler.isEnabled()) {
+            drawCalls = glProfiler.getDrawCalls();
+            textureBindings = glProfiler.getTextureBindings();
+            shaderSwitches = glProfiler.getShaderSwitches();
+            vertices = (int) glProfiler.getVertexCount().total;
+            glProfiler.reset();
+        }
+        if (world != null) {
+            bodies = world.getBodyCount();
+            contacts = world.getContactCount();
+            proxies = world.getProxyCount();
+        }
+
+        if (csv != null) writeRow(total);
+    }
+
+    // --- Contadores de GL ---
+
+    /** GLProfiler envuelve Gdx.gl, así que sólo se activa cuando hace falta (overlay o grabación). */
+    public void setGLProfiling(boolean enabled) {
+        if (enabled) {
+            if (Gdx.graphics.getGL20() == null) return; // headless: no hay GL que interceptar
+            if (glProfiler == null) glProfiler = new GLProfiler(Gdx.graphics);
+            if (!glProfiler.isEnabled()) {
+                glProfiler.enable();
+                glProfiler.reset();
+            }
+        } else if (glProfiler != null && glProfiler.isEnabled()) {
+            glProfiler.disable();
+            drawCalls = textureBindings = shaderSwitches = vertices = 0;
+        }
+    }
+
+    public boolean isGLProfiling() { return glProfiler != null && glProfiler.isEnabled(); }
+
+    // --- Estadísticas ---
+
+    /** Percentil p (0..1) de la fase sobre los frames guardados, en nanosegundos. */
+    public long percentile(int phase, float p) {
+        return percentile(samples[phase], p);
+    }
+
+    public long framePercentile(float p) {
+        return percentile(frameSamples, p);
+    }
+
+    private long percentile(long[] ring, float p) {
+        if (filled == 0) return 0;
+        System.arraycopy(ring, 0, scratch, 0, filled);
+        Arrays.sort(scratch, 0, filled);
+        int index = Math.min(filled - 1, (int) Math.ceil(p * filled) - 1);
+        return scratch[Math.max(0, index)];
+    }
+
+    public int getPhaseCount() { return phases.length; }
+    public String getPhaseName(int phase) { return phases[phase]; }
+    public long getFrameIndex() { return frameIndex; }
+    public int getDrawCalls() { return drawCalls; }
+    public int getTextureBindings() { return textureBindings; }
+    public int getShaderSwitches() { return shaderSwitches; }
+    public int getVertexCount() { return vertices; }
+    public int getBodyCount() { return bodies; }
+    public int getContactCount() { return contacts; }
+    public int getProxyCount() { return proxies; }
+
+    // --- CSV ---
+
+    /** Empieza a grabar en un CSV nuevo; devuelve su ruta (o null si no hay almacenamiento local). */
+    public String startRecording() {
+        if (csv != null) return csv.path();
+        if (!Gdx.files.isLocalStorageAvailable()) return null;
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        csv = Gdx.files.local(DIR + "frames-" + stamp + ".csv");
+        setGLProfiling(true);
+
+        csvBuffer.setLength(0);
+        csvBuffer.append("frame,total_ns");
+        for (String phase : phases) csvBuffer.append(',').append(phase).append("_ns");
+        csvBuffer.append(",draw_calls,texture_bindings,shader_switches,vertices,bodies,contacts,proxies\n");
+        csv.writeString(csvBuffer.toString(), false, "UTF-8");
+        csvBuffer.setLength(0);
+        return csv.path();
+    }
+
+    public void stopRecording() {
+        if (csv == null) return;
+        flushCsv();
+        Gdx.app.log("FrameProfiler", "Perfil guardado en " + csv.path());
+        csv = null;
+    }
+
+    public boolean isRecording() { return csv != null; }
+
+    private void writeRow(long total) {
+        int last = (cursor + HISTORY - 1) % HISTORY;
+        csvBuffer.append(frameIndex).append(',').append(total);
+        for (int p = 0; p < phases.length; p++) csvBuffer.append(',').append(samples[p][last]);
+        csvBuffer.append(',').append(drawCalls).append(',').append(textureBindings).append(',').append(shaderSwitches)
+            .append(',').append(vertices).append(',').append(bodies).append(',').append(contacts).append(',').append(proxies)
+            .append('\n');
+        if (++csvRows >= CSV_FLUSH_ROWS) flushCsv();
+    }
+
+    private void flushCsv() {
+        if (csvBuffer.length() > 0) csv.writeString(csvBuffer.toString(), true, "UTF-8");
+        csvBuffer.setLength(0);
+        csvRows = 0;
+    }
+
+    @Override
+    public void dispose() {
+        stopRecording();
+        setGLProfiling(false);
+    }
+}
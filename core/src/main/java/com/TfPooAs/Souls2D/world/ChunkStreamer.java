@@ -0,0 +1,445 @@
+package com.TfPooAs.Souls2D.world;
+
+import com.TfPooAs.Souls2D.utils.Assets;
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Carga y descarga los chunks de un mapa horneado a medida que la cámara se mueve.
+ *
+ * Sólo se mantienen residentes los chunks a {@code ringRadius} chunks o menos del chunk de la
+ * cámara; se descargan al salir de {@code ringRadius + 1} (un chunk de histéresis para no
+ * cargar y descargar en el borde). La lectura de archivos corre en un hilo aparte; la creación
+ * de capas y bodies se hace en el hilo de render, a lo sumo {@link #MAX_CHUNKS_APPLIED_PER_FRAME}
+ * chunks por frame. Así la memoria depende del anillo residente y no del tamaño del nivel.
+ */
+public class ChunkStreamer implements Disposable {
+
+    public static final int DEFAULT_RING_RADIUS = 2;
+    private static final int MAX_CHUNKS_APPLIED_PER_FRAME = 2;
+    private static final int GID_MASK = ~(ChunkedMapBaker.FLIP_HORIZONTALLY
+        | ChunkedMapBaker.FLIP_VERTICALLY | ChunkedMapBaker.FLIP_DIAGONALLY);
+
+    private final World world;
+    private final FileHandle dir;
+    private final TiledMap map = new TiledMap();
+    private int ringRadius;
+
+    // Índice del mapa
+    private int tileWidth, tileHeight, mapWidth, mapHeight, chunkSize;
+    private int chunksX, chunksY;
+    private boolean[] present;
+    private String[] layerNames;
+    private boolean[] layerVisible;
+    private float[] layerOpacity;
+    private final Array<String> tilesetImages = new Array<>(); // referencias tomadas en Assets
+
+    private final IntMap<MapChunk> chunks = new IntMap<>(); // residentes o en carga
+    private final ConcurrentLinkedQueue<MapChunk> loaded = new ConcurrentLinkedQueue<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ChunkLoader");
+        t.setDaemon(true);
+        return t;
+    });
+    private int centerX = Integer.MIN_VALUE, centerY = Integer.MIN_VALUE;
+    private int layersVersion = 0; // sube cada vez que entran o salen capas de tiles del mapa
+
+    public ChunkStreamer(World world, FileHandle dir, int ringRadius) {
+        this.world = world;
+        this.dir = dir;
+        this.ringRadius = ringRadius;
+        try {
+            readIndex();
+        } catch (IOException e) {
+            loader.shutdownNow();
+            throw new GdxRuntimeException("No se pudo leer el índice de chunks: " + dir, e);
+        }
+    }
+
+    /** Mapa "vivo": sus capas de tiles son las de los chunks residentes; las de objetos están siempre. */
+    public TiledMap getMap() { return map; }
+
+    public void setRingRadius(int ringRadius) {
+        this.ringRadius = Math.max(0, ringRadius);
+        centerX = centerY = Integer.MIN_VALUE; // fuerza recalcular el anillo
+    }
+
+    public int getRingRadius() { return ringRadius; }
+
+    /** Si el terreno en (x, y) px está en el mundo: su chunk es residente o no tiene datos. */
+    public boolean isLoaded(float x, float y) {
+        int key = chunkY(y) * chunksX + chunkX(x);
+        if (!present[key]) return true;
+        MapChunk chunk = chunks.get(key);
+        return chunk != null && chunk.resident;
+    }
+
+    /** Cambia sólo cuando un chunk agrega o quita capas del mapa; TileMapRenderer lo usa para no revisarlas cada frame. */
+    public int getLayersVersion() { return layersVersion; }
+    public int getResidentCount() {
+        int n = 0;
+        for (MapChunk c : chunks.values()) if (c.resident) n++;
+        return n;
+    }
+
+    /** Ancho/alto de un chunk en píxeles. */
+    public float getChunkWidth() { return chunkSize * tileWidth; }
+    public float getChunkHeight() { return chunkSize * tileHeight; }
+
+    /** Actualiza el anillo según la posición de la cámara (en píxeles). Llamar fuera de world.step. */
+    public void update(float x, float y) {
+        int ccx = chunkX(x), ccy = chunkY(y);
+        if (ccx != centerX || ccy != centerY) {
+            centerX = ccx;
+            centerY = ccy;
+            evictOutside(ringRadius + 1);
+            requestRing(false);
+        }
+        applyLoaded(MAX_CHUNKS_APPLIED_PER_FRAME);
+    }
+
+    /**
+     * Carga en el momento (bloqueante) el anillo alrededor de un punto; útil para el spawn. Los
+     * chunks que el hilo de carga todavía no terminó se leen de nuevo acá en vez de esperarlos.
+     */
+    public void preload(float x, float y) {
+        centerX = chunkX(x);
+        centerY = chunkY(y);
+        evictOutside(ringRadius + 1);
+        requestRing(true);
+        applyLoaded(Integer.MAX_VALUE);
+    }
+
+    private int chunkX(float x) {
+        return Math.max(0, Math.min(chunksX - 1, (int) Math.floor(x / getChunkWidth())));
+    }
+
+    private int chunkY(float y) {
+        return Math.max(0, Math.min(chunksY - 1, (int) Math.floor(y / getChunkHeight())));
+    }
+
+    private void requestRing(boolean sync) {
+        for (int cy = Math.max(0, centerY - ringRadius); cy <= Math.min(chunksY - 1, centerY + ringRadius); cy++) {
+            for (int cx = Math.max(0, centerX - ringRadius); cx <= Math.min(chunksX - 1, centerX + ringRadius); cx++) {
+                int key = cy * chunksX + cx;
+                if (!present[key]) continue;
+                MapChunk pending = chunks.get(key);
+                if (pending != null) {
+                    if (!sync || pending.resident) continue;
+                    // Encolado en el hilo de carga y sin aplicar: se lee acá y esa copia se descarta
+                    pending.cancelled = true;
+                }
+                MapChunk chunk = new MapChunk(cx, cy);
+                chunks.put(key, chunk);
+                if (sync) {
+                    read(chunk);
+                } else {
+                    loader.execute(() -> read(chunk));
+                }
+            }
+        }
+    }
+
+    private void evictOutside(int radius) {
+        IntMap.Keys keys = chunks.keys();
+        while (keys.hasNext) {
+            int key = keys.next();
+            MapChunk chunk = chunks.get(key);
+            if (Math.abs(chunk.cx - centerX) <= radius && Math.abs(chunk.cy - centerY) <= radius) continue;
+            chunk.cancelled = true;
+            if (chunk.resident) unload(chunk);
+            keys.remove();
+        }
+    }
+
+    // --- Hilo de carga ---
+
+    private void read(MapChunk chunk) {
+        if (chunk.cancelled) return;
+        FileHandle file = dir.child(ChunkedMapBaker.chunkFileName(chunk.cx, chunk.cy));
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()))) {
+            checkHeader(in, file);
+            chunk.cells = new int[layerNames.length][];
+            for (int l = 0; l < layerNames.length; l++) {
+                int count = in.readInt();
+                int[] cells = new int[count * 2];
+                for (int i = 0; i < count; i++) {
+                    cells[i * 2] = in.readShort();
+                    cells[i * 2 + 1] = in.readInt();
+                }
+                chunk.cells[l] = cells;
+            }
+            int chainCount = in.readInt();
+            chunk.chains = new float[chainCount][];
+            chunk.loops = new boolean[chainCount];
+            chunk.ghosts = new float[chainCount][4];
+            for (int c = 0; c < chainCount; c++) {
+                chunk.loops[c] = in.readBoolean();
+                for (int i = 0; i < 4; i++) chunk.ghosts[c][i] = in.readFloat() / Constants.PPM;
+                float[] vertices = new float[in.readInt() * 2];
+                for (int i = 0; i < vertices.length; i++) vertices[i] = in.readFloat() / Constants.PPM;
+                chunk.chains[c] = vertices;
+            }
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error("ChunkStreamer", "No se pudo leer " + file.path() + ": " + e.getMessage());
+            chunk.cells = null;
+            chunk.chains = null;
+        }
+        loaded.add(chunk);
+    }
+
+    // --- Hilo de render ---
+
+    private void applyLoaded(int budget) {
+        MapChunk chunk;
+        while (budget > 0 && (chunk = loaded.poll()) != null) {
+            if (chunk.cancelled || chunk.cells == null) continue;
+            apply(chunk);
+            budget--;
+        }
+    }
+
+    private void apply(MapChunk chunk) {
+        for (int l = 0; l < layerNames.length; l++) {
+            int[] cells = chunk.cells[l];
+            if (cells.length == 0) continue;
+            TiledMapTileLayer layer = new TiledMapTileLayer(chunkSize, chunkSize, tileWidth, tileHeight);
+            layer.setName(layerNames[l]);
+            layer.setVisible(layerVisible[l]);
+            layer.setOpacity(layerOpacity[l]);
+            layer.setOffsetX(chunk.cx * getChunkWidth());
+            layer.setOffsetY(-chunk.cy * getChunkHeight()); // en Tiled el offset Y crece hacia abajo
+            for (int i = 0; i < cells.length; i += 2) {
+                int gid = cells[i + 1];
+                TiledMapTile tile = map.getTileSets().getTile(gid & GID_MASK);
+                if (tile == null) continue;
+                Cell cell = createCell(gid);
+                cell.setTile(tile);
+                layer.setCell(cells[i] % chunkSize, cells[i] / chunkSize, cell);
+            }
+            map.getLayers().add(layer);
+            chunk.layers.add(layer);
+        }
+        if (chunk.layers.size > 0) layersVersion++;
+
+        if (chunk.chains.length > 0) {
+            BodyDef bdef = new BodyDef();
+            bdef.type = BodyDef.BodyType.StaticBody;
+            chunk.body = world.createBody(bdef);
+            for (int c = 0; c < chunk.chains.length; c++) {
+                ChainShape shape = new ChainShape();
+                if (chunk.loops[c]) {
+                    shape.createLoop(chunk.chains[c]);
+                } else {
+                    // Los vértices fantasma apuntan al tramo del chunk vecino: sin enganches en el borde
+                    shape.createChain(chunk.chains[c]);
+                    shape.setPrevVertex(chunk.ghosts[c][0], chunk.ghosts[c][1]);
+                    shape.setNextVertex(chunk.ghosts[c][2], chunk.ghosts[c][3]);
+                }
+                chunk.body.createFixture(LevelLoader.groundFixtureDef(shape)).setUserData(CollisionManager.GROUND_FIXTURE);
+                shape.dispose();
+            }
+        }
+        // Los datos crudos ya no hacen falta
+        chunk.cells = null;
+        chunk.chains = null;
+        chunk.ghosts = null;
+        chunk.resident = true;
+    }
+
+    private void unload(MapChunk chunk) {
+        for (TiledMapTileLayer layer : chunk.layers) {
+            map.getLayers().remove(layer);
+        }
+        if (chunk.layers.size > 0) layersVersion++;
+        chunk.layers.clear();
+        if (chunk.body != null) {
+            world.destroyBody(chunk.body);
+            chunk.body = null;
+        }
+        chunk.resident = false;
+    }
+
+    // Mismo criterio que TmxMapLoader para los flags de rotación de Tiled
+    private static Cell createCell(int gid) {
+        boolean flipH = (gid & ChunkedMapBaker.FLIP_HORIZONTALLY) != 0;
+        boolean flipV = (gid & ChunkedMapBaker.FLIP_VERTICALLY) != 0;
+        boolean flipD = (gid & ChunkedMapBaker.FLIP_DIAGONALLY) != 0;
+        Cell cell = new Cell();
+        if (flipD) {
+            if (flipH && flipV) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(Cell.ROTATE_270);
+            } else if (flipH) {
+                cell.setRotation(Cell.ROTATE_270);
+            } else if (flipV) {
+                cell.setRotation(Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipH);
+            cell.setFlipVertically(flipV);
+        }
+        return cell;
+    }
+
+    private void readIndex() throws IOException {
+        FileHandle file = dir.child(ChunkedMapBaker.INDEX_FILE);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()))) {
+            checkHeader(in, file);
+            tileWidth = in.readInt();
+            tileHeight = in.readInt();
+            mapWidth = in.readInt();
+            mapHeight = in.readInt();
+            chunkSize = in.readInt();
+
+            int tilesetCount = in.readInt();
+            for (int i = 0; i < tilesetCount; i++) {
+                int firstGid = in.readInt();
+                String image = in.readUTF();
+                int tw = in.readInt(), th = in.readInt(), spacing = in.readInt(), margin = in.readInt();
+                String path = dir.parent().child(image).path();
+                Texture texture = Assets.texture(path);
+                tilesetImages.add(path);
+                map.getTileSets().addTileSet(createTileSet(texture, firstGid, tw, th, spacing, margin));
+            }
+
+            int layerCount = in.readInt();
+            layerNames = new String[layerCount];
+            layerVisible = new boolean[layerCount];
+            layerOpacity = new float[layerCount];
+            for (int i = 0; i < layerCount; i++) {
+                layerNames[i] = in.readUTF();
+                layerVisible[i] = in.readBoolean();
+                layerOpacity[i] = in.readFloat();
+            }
+
+            readObjectLayers(in);
+            readProperties(in, map.getProperties());
+
+            chunksX = in.readInt();
+            chunksY = in.readInt();
+            present = new boolean[chunksX * chunksY];
+            for (int i = 0; i < present.length; i++) present[i] = in.readBoolean();
+        }
+
+        map.getProperties().put("width", mapWidth);
+        map.getProperties().put("height", mapHeight);
+        map.getProperties().put("tilewidth", tileWidth);
+        map.getProperties().put("tileheight", tileHeight);
+    }
+
+    private void readObjectLayers(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        for (int l = 0; l < count; l++) {
+            MapLayer layer = new MapLayer();
+            layer.setName(in.readUTF());
+            layer.setVisible(in.readBoolean());
+            int objects = in.readInt();
+            for (int i = 0; i < objects; i++) {
+                String name = in.readUTF();
+                float x = in.readFloat(), y = in.readFloat(), w = in.readFloat(), h = in.readFloat();
+                RectangleMapObject object = new RectangleMapObject(x, y, w, h);
+                object.setName(name);
+                MapProperties p = object.getProperties();
+                p.put("x", x);
+                p.put("y", y);
+                p.put("width", w);
+                p.put("height", h);
+                readProperties(in, p);
+                layer.getObjects().add(object);
+            }
+            map.getLayers().add(layer);
+        }
+    }
+
+    // Mismos tipos que TmxMapLoader; el resto (color, file...) queda como texto
+    static void readProperties(DataInputStream in, MapProperties out) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF(), type = in.readUTF(), value = in.readUTF();
+            switch (type) {
+                case "int": out.put(name, Integer.valueOf(value)); break;
+                case "float": out.put(name, Float.valueOf(value)); break;
+                case "bool": out.put(name, Boolean.valueOf(value)); break;
+                default: out.put(name, value);
+            }
+        }
+    }
+
+    /** Rutas de las imágenes de tileset que usa el mapa, para encolarlas antes de crear el streamer. */
+    public static Array<String> readTilesetImages(FileHandle dir) {
+        Array<String> images = new Array<>();
+        FileHandle file = dir.child(ChunkedMapBaker.INDEX_FILE);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()))) {
+            checkHeader(in, file);
+            for (int i = 0; i < 5; i++) in.readInt(); // tamaño de tile, de mapa y de chunk
+            int tilesetCount = in.readInt();
+            for (int i = 0; i < tilesetCount; i++) {
+                in.readInt(); // firstGid
+                images.add(dir.parent().child(in.readUTF()).path());
+                for (int j = 0; j < 4; j++) in.readInt(); // tw, th, spacing, margin
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("No se pudo leer el índice de chunks: " + dir, e);
+        }
+        return images;
+    }
+
+    // Igual que TmxMapLoader.addStaticTiles: recorre la imagen de izquierda a derecha y de arriba hacia abajo
+    private static TiledMapTileSet createTileSet(Texture texture, int firstGid, int tw, int th, int spacing, int margin) {
+        TiledMapTileSet set = new TiledMapTileSet();
+        int id = firstGid;
+        for (int y = margin; y <= texture.getHeight() - th; y += th + spacing) {
+            for (int x = margin; x <= texture.getWidth() - tw; x += tw + spacing) {
+                StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion(texture, x, y, tw, th));
+                tile.setId(id);
+                set.putTile(id++, tile);
+            }
+        }
+        return set;
+    }
+
+    private static void checkHeader(DataInputStream in, FileHandle file) throws IOException {
+        if (in.readInt() != ChunkedMapBaker.MAGIC || in.readInt() != ChunkedMapBaker.VERSION) {
+            throw new IOException("Formato de chunk desconocido: " + file.path());
+        }
+    }
+
+    @Override
+    public void dispose() {
+        loader.shutdownNow();
+        // Los bodies los libera world.dispose()
+        for (String path : tilesetImages) Assets.release(path);
+        tilesetImages.clear();
+    }
+}
@@ -0,0 +1,429 @@
+package com.TfPooAs.Souls2D.world;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.XmlReader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Herramienta offline: convierte un .tmx al formato por chunks que lee {@link ChunkStreamer}.
+ *
+ * Por cada mapa {@code maps/x.tmx} genera la carpeta {@code maps/x.chunks/} con:
+ *  - {@code index.bin}: tamaño del mapa, tilesets, capas, capas de objetos (menos "Collisions",
+ *    que se hornea), propiedades del mapa y qué chunks tienen datos.
+ *  - {@code c_<cx>_<cy>.bin}: las celdas no vacías de cada capa y los tramos de colisión
+ *    ya horneados y recortados al chunk, con sus vértices fantasma hacia los chunks vecinos.
+ *  - {@code nav.bin}: el {@link NavGraph} de los enemigos, que es caro de armar al cargar.
+ *
+ * No necesita una aplicación libGDX corriendo (sólo lee XML y escribe archivos), así que se
+ * ejecuta desde Gradle con {@code ./gradlew lwjgl3:bakeMapChunks}.
+ */
+public class ChunkedMapBaker {
+
+    public static final int MAGIC = 0x53324443; // "S2DC"
+    public static final int VERSION = 3;
+    public static final String INDEX_FILE = "index.bin";
+    public static final String NAV_FILE = "nav.bin";
+    public static final String CHUNKS_SUFFIX = ".chunks";
+    public static final int DEFAULT_CHUNK_SIZE = 32; // en tiles
+
+    // Flags de Tiled en los bits altos del gid
+    public static final int FLIP_HORIZONTALLY = 0x80000000;
+    public static final int FLIP_VERTICALLY = 0x40000000;
+    public static final int FLIP_DIAGONALLY = 0x20000000;
+
+    private static final float SPLIT_EPSILON = 0.5f; // px: no partir aristas pegadas a un vértice
+
+    private final int chunkSize;
+
+    private int tileWidth, tileHeight, mapWidth, mapHeight;
+    private int chunksX, chunksY;
+    private final Array<String> layerNames = new Array<>();
+    private final Array<int[]> layerGids = new Array<>(); // gids ya con y hacia arriba
+    private final FloatArray layerOpacity = new FloatArray();
+    private final Array<Boolean> layerVisible = new Array<>();
+    private final Array<XmlReader.Element> tilesets = new Array<>();
+    private final IntArray tilesetFirstGid = new IntArray();
+    private final Array<String> tilesetImage = new Array<>();
+    private final Array<XmlReader.Element> objectLayers = new Array<>(); // "Lights" y demás, salvo "Collisions"
+    private XmlReader.Element mapProperties; // p. ej. spatialCellSize; null si el mapa no tiene
+
+    public ChunkedMapBaker(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /** Uso: ChunkedMapBaker &lt;carpeta de mapas&gt; [tamaño de chunk en tiles] */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: ChunkedMapBaker <carpeta de mapas> [chunkSize]");
+            return;
+        }
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CHUNK_SIZE;
+        File[] maps = new File(args[0]).listFiles((dir, name) -> name.endsWith(".tmx"));
+        if (maps == null) return;
+        for (File tmx : maps) {
+            String base = tmx.getName().substring(0, tmx.getName().length() - 4);
+            File out = new File(tmx.getParentFile(), base + CHUNKS_SUFFIX);
+            int written = new ChunkedMapBaker(size).bake(new FileHandle(tmx), out);
+            System.out.println("ChunkedMapBaker: " + tmx.getName() + " -> " + written + " chunks");
+        }
+    }
+
+    /** Hornea el mapa y devuelve la cantidad de chunks con datos escritos. */
+    public int bake(FileHandle tmx, File outDir) throws IOException {
+        XmlReader.Element root = new XmlReader().parse(tmx);
+        tileWidth = root.getIntAttribute("tilewidth");
+        tileHeight = root.getIntAttribute("tileheight");
+        mapWidth = root.getIntAttribute("width");
+        mapHeight = root.getIntAttribute("height");
+        chunksX = (mapWidth + chunkSize - 1) / chunkSize;
+        chunksY = (mapHeight + chunkSize - 1) / chunkSize;
+
+        mapProperties = root.getChildByName("properties");
+        readTilesets(root, tmx.parent());
+        readLayers(root);
+        for (XmlReader.Element group : root.getChildrenByName("objectgroup")) {
+            if (!"Collisions".equals(group.getAttribute("name", null))) objectLayers.add(group);
+        }
+        Array<FloatArray>[] chains = bakeCollisionChains(root);
+
+        if (outDir.exists()) {
+            File[] old = outDir.listFiles();
+            if (old != null) for (File f : old) f.delete();
+        } else if (!outDir.mkdirs()) {
+            throw new IOException("No se pudo crear " + outDir);
+        }
+
+        boolean[] present = new boolean[chunksX * chunksY];
+        int written = 0;
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                int index = cy * chunksX + cx;
+                if (writeChunk(new File(outDir, chunkFileName(cx, cy)), cx, cy, chains[index])) {
+                    present[index] = true;
+                    written++;
+                }
+            }
+        }
+        writeIndex(new File(outDir, INDEX_FILE), present);
+        writeNavGraph(new File(outDir, NAV_FILE), NavGraphBuilder.fromXml(root));
+        return written;
+    }
+
+    public static String chunkFileName(int cx, int cy) {
+        return "c_" + cx + "_" + cy + ".bin";
+    }
+
+    private void readTilesets(XmlReader.Element root, FileHandle mapDir) {
+        for (XmlReader.Element ts : root.getChildrenByName("tileset")) {
+            int firstGid = ts.getIntAttribute("firstgid", 1);
+            String source = ts.getAttribute("source", null);
+            XmlReader.Element def = ts;
+            String prefix = "";
+            if (source != null) {
+                FileHandle tsx = mapDir.child(source);
+                def = new XmlReader().parse(tsx);
+                int slash = source.lastIndexOf('/');
+                prefix = slash >= 0 ? source.substring(0, slash + 1) : "";
+            }
+            XmlReader.Element image = def.getChildByName("image");
+            if (image == null) throw new GdxRuntimeException("Tileset sin imagen (colecciones no soportadas): " + source);
+            tilesets.add(def);
+            tilesetFirstGid.add(firstGid);
+            tilesetImage.add(prefix + image.getAttribute("source"));
+        }
+    }
+
+    private void readLayers(XmlReader.Element root) {
+        for (XmlReader.Element layer : root.getChildrenByName("layer")) {
+            XmlReader.Element data = layer.getChildByName("data");
+            if (!"csv".equals(data.getAttribute("encoding", null))) {
+                throw new GdxRuntimeException("Sólo se soportan capas en CSV: " + layer.getAttribute("name"));
+            }
+            String[] values = data.getText().trim().split("\\s*,\\s*");
+            int[] gids = new int[mapWidth * mapHeight];
+            for (int row = 0; row < mapHeight; row++) {
+                int y = mapHeight - 1 - row; // Tiled guarda las filas de arriba hacia abajo
+                for (int x = 0; x < mapWidth; x++) {
+                    gids[y * mapWidth + x] = (int) Long.parseLong(values[row * mapWidth + x]);
+                }
+            }
+            layerNames.add(layer.getAttribute("name"));
+            layerGids.add(gids);
+            layerOpacity.add(layer.getFloatAttribute("opacity", 1f));
+            layerVisible.add(layer.getIntAttribute("visible", 1) == 1);
+        }
+    }
+
+    /** Hornea toda la capa "Collisions" y reparte los contornos en tramos por chunk. */
+    private Array<FloatArray>[] bakeCollisionChains(XmlReader.Element root) {
+        @SuppressWarnings({"unchecked", "rawtypes"}) Array<FloatArray>[] perChunk = new Array[chunksX * chunksY];
+        for (int i = 0; i < perChunk.length; i++) perChunk[i] = new Array<>();
+
+        float heightPx = mapHeight * tileHeight;
+        CollisionBaker baker = new CollisionBaker(0, 0, mapWidth * tileWidth, heightPx, CollisionBaker.DEFAULT_CELL_SIZE);
+        boolean any = addCollisionObjects(root, heightPx, baker);
+        if (!any) return perChunk;
+
+        for (float[] loop : baker.bake()) {
+            splitLoop(loop, perChunk);
+        }
+        return perChunk;
+    }
+
+    /**
+     * Agrega al baker los rectángulos y polígonos de la capa "Collisions" del .tmx, pasados a y hacia
+     * arriba. Devuelve false si la capa no tiene nada. También lo usa {@link NavGraphBuilder}.
+     */
+    static boolean addCollisionObjects(XmlReader.Element root, float heightPx, CollisionBaker baker) {
+        boolean any = false;
+        for (XmlReader.Element group : root.getChildrenByName("objectgroup")) {
+            if (!"Collisions".equals(group.getAttribute("name", null))) continue;
+            for (XmlReader.Element obj : group.getChildrenByName("object")) {
+                float x = obj.getFloatAttribute("x", 0f);
+                float y = obj.getFloatAttribute("y", 0f);
+                XmlReader.Element polygon = obj.getChildByName("polygon");
+                if (polygon != null) {
+                    String[] points = polygon.getAttribute("points").split(" ");
+                    float[] vertices = new float[points.length * 2];
+                    for (int i = 0; i < points.length; i++) {
+                        String[] p = points[i].split(",");
+                        vertices[i * 2] = x + Float.parseFloat(p[0]);
+                        vertices[i * 2 + 1] = heightPx - (y + Float.parseFloat(p[1]));
+                    }
+                    baker.addPolygon(vertices);
+                    any = true;
+                } else if (isRectangle(obj)) {
+                    float w = obj.getFloatAttribute("width"), h = obj.getFloatAttribute("height");
+                    baker.addRectangle(new Rectangle(x, heightPx - y - h, w, h));
+                    any = true;
+                }
+            }
+        }
+        return any;
+    }
+
+    // Igual que TmxMapLoader: sin forma hija ni gid, el objeto es un rectángulo
+    private static boolean isRectangle(XmlReader.Element obj) {
+        return obj.hasAttribute("width") && !obj.hasAttribute("gid")
+            && obj.getChildByName("ellipse") == null
+            && obj.getChildByName("polyline") == null
+            && obj.getChildByName("point") == null
+            && obj.getChildByName("text") == null;
+    }
+
+    /**
+     * Parte un lazo en las líneas de borde de los chunks. Cada tramo se guarda como
+     * [flags, prevX, prevY, nextX, nextY, x0, y0, x1, y1, ...]; flags = 1 si es un lazo cerrado.
+     */
+    private void splitLoop(float[] loop, Array<FloatArray>[] perChunk) {
+        float chunkW = chunkSize * tileWidth, chunkH = chunkSize * tileHeight;
+        int n = loop.length / 2;
+
+        // Vértices del lazo con los cortes insertados, y el chunk de la arista que sale de cada uno
+        FloatArray pts = new FloatArray();
+        IntArray owner = new IntArray();
+        FloatArray cuts = new FloatArray();
+        for (int i = 0; i < n; i++) {
+            float ax = loop[i * 2], ay = loop[i * 2 + 1];
+            float bx = loop[((i + 1) % n) * 2], by = loop[((i + 1) % n) * 2 + 1];
+            float len = (float) Math.hypot(bx - ax, by - ay);
+
+            cuts.clear();
+            cuts.add(0f);
+            addCuts(cuts, ax, bx, chunkW, len);
+            addCuts(cuts, ay, by, chunkH, len);
+            cuts.add(1f);
+            cuts.sort();
+
+            for (int c = 0; c < cuts.size - 1; c++) {
+                float t0 = cuts.get(c), t1 = cuts.get(c + 1);
+                if ((t1 - t0) * len < SPLIT_EPSILON) continue;
+                float mx = ax + (bx - ax) * (t0 + t1) / 2f, my = ay + (by - ay) * (t0 + t1) / 2f;
+                pts.add(ax + (bx - ax) * t0, ay + (by - ay) * t0);
+                owner.add(chunkIndex(mx, my, chunkW, chunkH));
+            }
+        }
+
+        int m = owner.size;
+        int start = -1;
+        for (int i = 0; i < m; i++) {
+            if (owner.get(i) != owner.get((i + m - 1) % m)) { start = i; break; }
+        }
+        if (start < 0) {
+            // Todo el lazo cae en un chunk
+            FloatArray piece = new FloatArray(pts.size + 5);
+            piece.add(1f, 0f, 0f, 0f);
+            piece.add(0f);
+            piece.addAll(pts);
+            perChunk[owner.get(0)].add(piece);
+            return;
+        }
+
+        int i = start;
+        do {
+            int chunk = owner.get(i);
+            int prev = (i + m - 1) % m;
+            FloatArray piece = new FloatArray();
+            piece.add(0f, pts.get(prev * 2), pts.get(prev * 2 + 1), 0f);
+            piece.add(0f); // nextX/nextY se completan al cerrar el tramo
+            int j = i;
+            while (owner.get(j) == chunk) {
+                piece.add(pts.get(j * 2), pts.get(j * 2 + 1));
+                j = (j + 1) % m;
+                if (j == start) break;
+            }
+            // j es el primer vértice fuera del tramo: fin del tramo y luego el vértice fantasma
+            int next = (j + 1) % m;
+            piece.add(pts.get(j * 2), pts.get(j * 2 + 1));
+            piece.set(3, pts.get(next * 2));
+            piece.set(4, pts.get(next * 2 + 1));
+            perChunk[chunk].add(piece);
+            i = j;
+        } while (i != start);
+    }
+
+    private static void addCuts(FloatArray cuts, float a, float b, float step, float len) {
+        if (a == b) return;
+        float lo = Math.min(a, b), hi = Math.max(a, b);
+        for (float line = (float) (Math.floor(lo / step) + 1) * step; line < hi; line += step) {
+            float t = (line - a) / (b - a);
+            if (t * len > SPLIT_EPSILON && (1f - t) * len > SPLIT_EPSILON) cuts.add(t);
+        }
+    }
+
+    private int chunkIndex(float x, float y, float chunkW, float chunkH) {
+        int cx = Math.max(0, Math.min(chunksX - 1, (int) (x / chunkW)));
+        int cy = Math.max(0, Math.min(chunksY - 1, (int) (y / chunkH)));
+        return cy * chunksX + cx;
+    }
+
+    private boolean writeChunk(File file, int cx, int cy, Array<FloatArray> chains) throws IOException {
+        int x0 = cx * chunkSize, y0 = cy * chunkSize;
+        int[][] cellsPerLayer = new int[layerGids.size][];
+        boolean empty = chains.size == 0;
+        for (int l = 0; l < layerGids.size; l++) {
+            int[] gids = layerGids.get(l);
+            IntArray cells = new IntArray();
+            for (int y = y0; y < Math.min(y0 + chunkSize, mapHeight); y++) {
+                for (int x = x0; x < Math.min(x0 + chunkSize, mapWidth); x++) {
+                    int gid = gids[y * mapWidth + x];
+                    if (gid != 0) cells.add((y - y0) * chunkSize + (x - x0), gid);
+                }
+            }
+            cellsPerLayer[l] = cells.toArray();
+            if (cells.size > 0) empty = false;
+        }
+        if (empty) return false;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (int[] cells : cellsPerLayer) {
+                out.writeInt(cells.length / 2);
+                for (int i = 0; i < cells.length; i += 2) {
+                    out.writeShort(cells[i]);
+                    out.writeInt(cells[i + 1]);
+                }
+            }
+            out.writeInt(chains.size);
+            for (FloatArray chain : chains) {
+                out.writeBoolean(chain.get(0) != 0f);
+                for (int i = 1; i < 5; i++) out.writeFloat(chain.get(i));
+                out.writeInt((chain.size - 5) / 2);
+                for (int i = 5; i < chain.size; i++) out.writeFloat(chain.get(i));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Capas de objetos completas (son pocas y el juego las lee al cargar, p. ej. LightingManager).
+     * Cada objeto va como lo deja TmxMapLoader: x, y (hacia arriba), width, height y sus propiedades.
+     */
+    private void writeObjectLayers(DataOutputStream out) throws IOException {
+        float heightPx = mapHeight * tileHeight;
+        out.writeInt(objectLayers.size);
+        for (XmlReader.Element group : objectLayers) {
+            out.writeUTF(group.getAttribute("name", ""));
+            out.writeBoolean(group.getIntAttribute("visible", 1) == 1);
+            Array<XmlReader.Element> objects = group.getChildrenByName("object");
+            out.writeInt(objects.size);
+            for (XmlReader.Element obj : objects) {
+                float w = obj.getFloatAttribute("width", 0f), h = obj.getFloatAttribute("height", 0f);
+                out.writeUTF(obj.getAttribute("name", ""));
+                out.writeFloat(obj.getFloatAttribute("x", 0f));
+                out.writeFloat(heightPx - obj.getFloatAttribute("y", 0f) - h);
+                out.writeFloat(w);
+                out.writeFloat(h);
+                writeProperties(out, obj.getChildByName("properties"));
+            }
+        }
+    }
+
+    /** Propiedades como (nombre, tipo de Tiled, valor en texto); ChunkStreamer las convierte. */
+    static void writeProperties(DataOutputStream out, XmlReader.Element properties) throws IOException {
+        Array<XmlReader.Element> list = properties != null ? properties.getChildrenByName("property") : new Array<>();
+        out.writeInt(list.size);
+        for (XmlReader.Element property : list) {
+            out.writeUTF(property.getAttribute("name"));
+            out.writeUTF(property.getAttribute("type", "string"));
+            String value = property.getAttribute("value", null);
+            out.writeUTF(value != null ? value : property.getText() != null ? property.getText() : "");
+        }
+    }
+
+    private static void writeNavGraph(File file, NavGraph graph) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            graph.write(out);
+        }
+    }
+
+    private void writeIndex(File file, boolean[] present) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tileWidth);
+            out.writeInt(tileHeight);
+            out.writeInt(mapWidth);
+            out.writeInt(mapHeight);
+            out.writeInt(chunkSize);
+
+            out.writeInt(tilesets.size);
+            for (int i = 0; i < tilesets.size; i++) {
+                XmlReader.Element ts = tilesets.get(i);
+                out.writeInt(tilesetFirstGid.get(i));
+                out.writeUTF(tilesetImage.get(i));
+                out.writeInt(ts.getIntAttribute("tilewidth"));
+                out.writeInt(ts.getIntAttribute("tileheight"));
+                out.writeInt(ts.getIntAttribute("spacing", 0));
+                out.writeInt(ts.getIntAttribute("margin", 0));
+            }
+
+            out.writeInt(layerNames.size);
+            for (int i = 0; i < layerNames.size; i++) {
+                out.writeUTF(layerNames.get(i));
+                out.writeBoolean(layerVisible.get(i));
+                out.writeFloat(layerOpacity.get(i));
+            }
+
+            writeObjectLayers(out);
+            writeProperties(out, mapProperties);
+
+            out.writeInt(chunksX);
+            out.writeInt(chunksY);
+            for (boolean p : present) out.writeBoolean(p);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.TfPooAs.Souls2D.world;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.BitSet;
+
+/**
+ * Fusiona la geometría estática de colisión de un nivel en unos pocos contornos.
+ *
+ * Los rectángulos y polígonos de la capa "Collisions" se rasterizan en una grilla de celdas
+ * de {@code cellSize} píxeles. Después se recorre el borde de cada región sólida y se simplifica
+ * (Douglas-Peucker) para obtener lazos cerrados, que LevelLoader crea como ChainShape bajo un
+ * único body estático. Así el costo de Box2D depende del largo del contorno del terreno y no de
+ * la cantidad de objetos dibujados en Tiled.
+ */
+public class CollisionBaker {
+
+    /** Tamaño de celda por defecto, en píxeles. Las rampas quedan aproximadas a este error. */
+    public static final float DEFAULT_CELL_SIZE = 4f;
+
+    // Direcciones de las aristas del contorno: 0 = +x, 1 = +y, 2 = -x, 3 = -y
+    private static final int[] DX = {1, 0, -1, 0};
+    private static final int[] DY = {0, 1, 0, -1};
+
+    private final float originX, originY;
+    private final float cellSize;
+    private final int cols, rows;
+    private final BitSet solid;
+
+    public CollisionBaker(float originX, float originY, float width, float height, float cellSize) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.solid = new BitSet(cols * rows);
+    }
+
+    /** Marca como sólidas las celdas cubiertas por el rectángulo (coordenadas en píxeles). */
+    public void addRectangle(Rectangle rect) {
+        int c0 = toGrid(rect.x - originX, cols);
+        int c1 = toGrid(rect.x + rect.width - originX, cols);
+        int r0 = toGrid(rect.y - originY, rows);
+        int r1 = toGrid(rect.y + rect.height - originY, rows);
+        for (int r = r0; r < r1; r++) {
+            solid.set(r * cols + c0, r * cols + c1);
+        }
+    }
+
+    /** Marca como sólidas las celdas cuyo centro cae dentro del polígono (vértices absolutos en píxeles). */
+    public void addPolygon(float[] vertices) {
+        float minX = vertices[0], minY = vertices[1], maxX = vertices[0], maxY = vertices[1];
+        for (int i = 2; i < vertices.length; i += 2) {
+            minX = Math.min(minX, vertices[i]);
+            maxX = Math.max(maxX, vertices[i]);
+            minY = Math.min(minY, vertices[i + 1]);
+            maxY = Math.max(maxY, vertices[i + 1]);
+        }
+        int c0 = Math.max(0, (int) Math.floor((minX - originX) / cellSize));
+        int c1 = Math.min(cols, (int) Math.ceil((maxX - originX) / cellSize));
+        int r0 = Math.max(0, (int) Math.floor((minY - originY) / cellSize));
+        int r1 = Math.min(rows, (int) Math.ceil((maxY - originY) / cellSize));
+        for (int r = r0; r < r1; r++) {
+            float cy = originY + (r + 0.5f) * cellSize;
+            for (int c = c0; c < c1; c++) {
+                float cx = originX + (c + 0.5f) * cellSize;
+                if (Intersector.isPointInPolygon(vertices, 0, vertices.length, cx, cy)) {
+                    solid.set(r * cols + c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve los contornos de las regiones sólidas como lazos cerrados (x0, y0, x1, y1, ...)
+     * en píxeles, en sentido antihorario alrededor del sólido.
+     */
+    public Array<float[]> bake() {
+        byte[] out = buildEdges();
+        Array<float[]> loops = new Array<>();
+        FloatArray corners = new FloatArray();
+
+        int stride = cols + 1;
+        for (int v = 0; v < out.length; v++) {
+            while (out[v] != 0) {
+                corners.clear();
+                traceLoop(out, v % stride, v / stride, corners);
+                float[] loop = simplify(corners, cellSize);
+                // Un sólido de una celda de grosor queda en 2 vértices: se usan sus esquinas sin simplificar
+                if (loop.length < 6) loop = corners.toArray();
+                if (loop.length >= 6) {
+                    loops.add(loop);
+                } else {
+                    warn("Contorno degenerado descartado en (" + corners.get(0) + ", " + corners.get(1) + ")");
+                }
+            }
+        }
+        return loops;
+    }
+
+    // También corre en el horneado offline, sin aplicación libGDX
+    private static void warn(String message) {
+        if (Gdx.app != null) Gdx.app.error("CollisionBaker", message);
+        else System.err.println("CollisionBaker: " + message);
+    }
+
+    private int toGrid(float px, int max) {
+        return Math.max(0, Math.min(max, Math.round(px / cellSize)));
+    }
+
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+    public float getCellSize() { return cellSize; }
+
+    /** Celda (columna, fila desde abajo) ocupada; fuera de la grilla es vacía. */
+    boolean isSolid(int c, int r) {
+        return c >= 0 && r >= 0 && c < cols && r < rows && solid.get(r * cols + c);
+    }
+
+    /**
+     * Para cada vértice de la grilla guarda (como bits) las direcciones de las aristas de borde
+     * que salen de él, dejando siempre el sólido a la izquierda.
+     */
+    private byte[] buildEdges() {
+        int stride = cols + 1;
+        byte[] out = new byte[stride * (rows + 1)];
+        for (int i = solid.nextSetBit(0); i >= 0; i = solid.nextSetBit(i + 1)) {
+            int c = i % cols, r = i / cols;
+            if (!isSolid(c, r - 1)) out[r * stride + c] |= 1;                 // abajo: +x
+            if (!isSolid(c + 1, r)) out[r * stride + c + 1] |= 1 << 1;        // derecha: +y
+            if (!isSolid(c, r + 1)) out[(r + 1) * stride + c + 1] |= 1 << 2;  // arriba: -x
+            if (!isSolid(c - 1, r)) out[(r + 1) * stride + c] |= 1 << 3;      // izquierda: -y
+        }
+        return out;
+    }
+
+    /** Elige la siguiente arista prefiriendo girar a la izquierda; separa regiones que se tocan en diagonal. */
+    private static int nextDir(int mask, int incoming) {
+        int left = (incoming + 1) & 3, right = (incoming + 3) & 3;
+        if ((mask & (1 << left)) != 0) return left;
+        if ((mask & (1 << incoming)) != 0) return incoming;
+        if ((mask & (1 << right)) != 0) return right;
+        return -1;
+    }
+
+    /** Recorre un lazo consumiendo sus aristas y guarda sólo las esquinas (cambios de dirección). */
+    private void traceLoop(byte[] out, int sx, int sy, FloatArray corners) {
+        int stride = cols + 1;
+        int startDir = Integer.numberOfTrailingZeros(out[sy * stride + sx]);
+        int x = sx, y = sy, dir = startDir;
+
+        while (true) {
+            out[y * stride + x] &= (byte) ~(1 << dir);
+            x += DX[dir];
+            y += DY[dir];
+
+            int mask = out[y * stride + x];
+            if (x == sx && y == sy && nextDir(mask | (1 << startDir), dir) == startDir) {
+                if (dir != startDir) corners.add(originX + x * cellSize, originY + y * cellSize);
+                return;
+            }
+            int next = nextDir(mask, dir);
+            if (next < 0) return; // no debería pasar: todo borde de la grilla es cerrado
+            if (next != dir) corners.add(originX + x * cellSize, originY + y * cellSize);
+            dir = next;
+        }
+    }
+
+    /**
+     * Douglas-Peucker sobre un polígono cerrado. Con tolerancia de una celda convierte las
+     * "escaleras" de las rampas rasterizadas en una sola arista inclinada.
+     */
+    static float[] simplify(FloatArray pts, float tolerance) {
+        int n = pts.size / 2;
+        if (n < 4) return pts.toArray();
+
+        // Partimos el lazo entre el vértice 0 y el más lejano a él
+        int far = 0;
+        float farDst = -1f;
+        for (int i = 1; i < n; i++) {
+            float dx = pts.get(i * 2) - pts.get(0), dy = pts.get(i * 2 + 1) - pts.get(1);
+            float d = dx * dx + dy * dy;
+            if (d > farDst) { farDst = d; far = i; }
+        }
+
+        boolean[] keep = new boolean[n];
+        keep[0] = keep[far] = true;
+        IntArray stack = new IntArray();
+        stack.add(0, far);
+        stack.add(far, n); // el índice n representa al vértice 0 al cerrar el lazo
+        float tolSq = tolerance * tolerance;
+
+        while (stack.size > 0) {
+            int last = stack.pop(), first = stack.pop();
+            float ax = pts.get(first * 2), ay = pts.get(first * 2 + 1);
+            float bx = pts.get((last % n) * 2), by = pts.get((last % n) * 2 + 1);
+            int index = -1;
+            float maxDst = tolSq;
+            for (int i = first + 1; i < last; i++) {
+                float d = Intersector.distanceSegmentPoint(ax, ay, bx, by, pts.get(i * 2), pts.get(i * 2 + 1));
+                d *= d;
+                if (d > maxDst) { maxDst = d; index = i; }
+            }
+            if (index >= 0) {
+                keep[index] = true;
+                stack.add(first, index);
+                stack.add(index, last);
+            }
+        }
+
+        FloatArray result = new FloatArray(n * 2);
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) result.add(pts.get(i * 2), pts.get(i * 2 + 1));
+        }
+        return result.toArray();
+    }
+}
@@ -1,4 +1,108 @@
 package com.TfPooAs.Souls2D.world;
 
-public class CollisionManager {
+import com.TfPooAs.Souls2D.entities.Entity;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+
+/**
+ * ContactListener único del mundo: despacha cada contacto según el par de tags de sus fixtures.
+ *
+ * Los fixtures llevan un {@link FixtureTag} como userData; los handlers se registran por par
+ * (tagA, tagB) en una tabla y reciben siempre primero el fixture con tagA. Un fixture sin tag no
+ * dispara nada.
+ *
+ * Viene registrado el conteo de suelo: cada fixture {@link #FOOT} que toca {@link #GROUND} suma un
+ * contacto a su entidad dueña, que está en el suelo mientras el conteo sea mayor a 0.
+ */
+public class CollisionManager implements ContactListener {
+
+    // Tags de fixtures
+    public static final int NONE = 0;
+    public static final int GROUND = 1;
+    public static final int PLAYER = 2;
+    public static final int FOOT = 3;    // sensor de pies
+    public static final int ITEM = 4;
+    public static final int HITBOX = 5;  // golpe de un ataque
+    public static final int HURTBOX = 6; // zona que recibe golpes
+    public static final int SENSOR = 7;
+    public static final int ENEMY = 8;
+
+    public static final int MAX_TAGS = 16;
+
+    /** Tag compartido por todos los fixtures del terreno. */
+    public static final FixtureTag GROUND_FIXTURE = new FixtureTag(GROUND, null);
+
+    public interface Handler {
+        /** {@code self} tiene el primer tag del par registrado, {@code other} el segundo. */
+        void begin(Fixture self, Fixture other, Contact contact);
+        void end(Fixture self, Fixture other, Contact contact);
+    }
+
+    private final Handler[] table = new Handler[MAX_TAGS * MAX_TAGS];
+
+    private static final Handler GROUND_COUNTER = new Handler() {
+        @Override
+        public void begin(Fixture self, Fixture other, Contact contact) {
+            Object owner = ((FixtureTag) self.getUserData()).owner;
+            if (owner instanceof Entity) ((Entity) owner).addGroundContact(1);
+        }
+
+        @Override
+        public void end(Fixture self, Fixture other, Contact contact) {
+            Object owner = ((FixtureTag) self.getUserData()).owner;
+            if (owner instanceof Entity) ((Entity) owner).addGroundContact(-1);
+        }
+    };
+
+    public CollisionManager() {
+        register(FOOT, GROUND, GROUND_COUNTER);
+    }
+
+    /** Registra (o reemplaza, o quita con null) el handler del par (tagA, tagB). */
+    public void register(int tagA, int tagB, Handler handler) {
+        table[tagA * MAX_TAGS + tagB] = handler;
+    }
+
+    public static int tagOf(Fixture fixture) {
+        Object data = fixture.getUserData();
+        return data instanceof FixtureTag ? ((FixtureTag) data).tag : NONE;
+    }
+
+    public static Object ownerOf(Fixture fixture) {
+        Object data = fixture.getUserData();
+        return data instanceof FixtureTag ? ((FixtureTag) data).owner : null;
+    }
+
+    @Override
+    public void beginContact(Contact contact) {
+        dispatch(contact, true);
+    }
+
+    @Override
+    public void endContact(Contact contact) {
+        dispatch(contact, false);
+    }
+
+    private void dispatch(Contact contact, boolean begin) {
+        Fixture a = contact.getFixtureA();
+        Fixture b = contact.getFixtureB();
+        int ta = tagOf(a), tb = tagOf(b);
+        if (ta == NONE || tb == NONE) return;
+
+        Handler h = table[ta * MAX_TAGS + tb];
+        if (h != null) {
+            if (begin) h.begin(a, b, contact); else h.end(a, b, contact);
+        }
+        if (ta == tb) return;
+        h = table[tb * MAX_TAGS + ta];
+        if (h != null) {
+            if (begin) h.begin(b, a, contact); else h.end(b, a, contact);
+        }
+    }
+
+    @Override public void preSolve(Contact contact, Manifold oldManifold) {}
+    @Override public void postSolve(Contact contact, ContactImpulse impulse) {}
 }
@@ -0,0 +1,15 @@
+package com.TfPooAs.Souls2D.world;
+
+/**
+ * UserData de los fixtures: un tag entero (ver {@link CollisionManager}) y el objeto dueño.
+ * Se crea una vez por fixture, así el despacho de contactos no compara strings ni reserva memoria.
+ */
+public final class FixtureTag {
+    public final int tag;
+    public final Object owner;
+
+    public FixtureTag(int tag, Object owner) {
+        this.tag = tag;
+        this.owner = owner;
+    }
+}
@@ -1,115 +1,204 @@
 package com.TfPooAs.Souls2D.world;
 
+import com.TfPooAs.Souls2D.utils.Assets;
 import com.TfPooAs.Souls2D.utils.Constants;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.objects.PolygonMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
-import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.physics.box2d.*;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
 public class LevelLoader {
 
+    /** Tamaño de celda por defecto de la grilla espacial (px); cada mapa lo puede cambiar con la propiedad "spatialCellSize". */
+    public static final float DEFAULT_SPATIAL_CELL_SIZE = 128f;
+
     private TiledMap map;
+    private final String mapPath;
     private World world;
+    private Body groundBody;
+    private ChunkStreamer streamer; // null si el mapa no fue horneado por chunks
+    private NavGraph navGraph;      // null si no está el .tmx
 
     public LevelLoader(World world, String mapPath) {
+        this(world, mapPath, ChunkStreamer.DEFAULT_RING_RADIUS);
+    }
+
+    /**
+     * Si existe la versión por chunks del mapa (ver ChunkedMapBaker) la usa en streaming;
+     * si no, carga el .tmx completo como antes.
+     */
+    public LevelLoader(World world, String mapPath, int ringRadius) {
         this.world = world;
-        this.map = new TmxMapLoader().load(mapPath);
-        parseCollisions();
+        this.mapPath = mapPath;
+        FileHandle chunkDir = Gdx.files.internal(chunkDirFor(mapPath));
+        if (chunkDir.child(ChunkedMapBaker.INDEX_FILE).exists()) {
+            streamer = new ChunkStreamer(world, chunkDir, ringRadius);
+            this.map = streamer.getMap();
+        } else {
+            this.map = Assets.acquire(mapPath, TiledMap.class);
+            parseCollisions();
+        }
+        loadNavGraph(chunkDir.child(ChunkedMapBaker.NAV_FILE));
+    }
+
+    /**
+     * Grafo de navegación de los enemigos: el que horneó ChunkedMapBaker, o armado desde la capa
+     * "Collisions" del .tmx si el mapa no está horneado (tarda, sólo para probar mapas nuevos).
+     */
+    private void loadNavGraph(FileHandle baked) {
+        long start = TimeUtils.nanoTime();
+        if (baked.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(baked.read()))) {
+                if (in.readInt() != ChunkedMapBaker.MAGIC || in.readInt() != ChunkedMapBaker.VERSION) {
+                    throw new IOException("Formato desconocido");
+                }
+                navGraph = NavGraph.read(in);
+            } catch (IOException e) {
+                Gdx.app.error("LevelLoader", "No se pudo leer " + baked.path() + ": " + e.getMessage());
+            }
+        }
+        if (navGraph == null) {
+            FileHandle tmx = Gdx.files.internal(mapPath);
+            if (!tmx.exists()) return;
+            navGraph = NavGraphBuilder.fromTmx(tmx);
+        }
+        Gdx.app.log("LevelLoader", "Grafo de navegación: " + navGraph.getNodeCount() + " nodos, "
+            + navGraph.getSegmentCount() + " segmentos, " + navGraph.getLinkCount() + " enlaces en "
+            + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(start)) + " ms");
+    }
+
+    /**
+     * Lo que hay que cargar de disco para este mapa (el .tmx con sus tilesets, o sólo los tilesets
+     * si está horneado por chunks), para poder encolarlo en Assets antes de crear el LevelLoader.
+     */
+    public static void collectAssets(String mapPath, Array<AssetDescriptor<?>> out) {
+        FileHandle chunkDir = Gdx.files.internal(chunkDirFor(mapPath));
+        if (chunkDir.child(ChunkedMapBaker.INDEX_FILE).exists()) {
+            for (String image : ChunkStreamer.readTilesetImages(chunkDir)) {
+                out.add(new AssetDescriptor<>(image, Texture.class));
+            }
+        } else {
+            out.add(new AssetDescriptor<>(mapPath, TiledMap.class));
+        }
+    }
+
+    private static String chunkDirFor(String mapPath) {
+        int dot = mapPath.lastIndexOf('.');
+        return (dot >= 0 ? mapPath.substring(0, dot) : mapPath) + ChunkedMapBaker.CHUNKS_SUFFIX;
+    }
+
+    /** Actualiza los chunks residentes según la posición de la cámara (en píxeles). */
+    public void update(float cameraX, float cameraY) {
+        if (streamer != null) streamer.update(cameraX, cameraY);
+    }
+
+    /** Carga de inmediato el terreno alrededor de un punto (en píxeles), p. ej. el spawn del jugador. */
+    public void preload(float x, float y) {
+        if (streamer != null) streamer.preload(x, y);
+    }
+
+    public boolean isStreaming() { return streamer != null; }
+    public ChunkStreamer getStreamer() { return streamer; }
+
+    /** Fixture del terreno estático; la comparten el mapa completo y los chunks. */
+    static FixtureDef groundFixtureDef(Shape shape) {
+        FixtureDef fdef = new FixtureDef();
+        fdef.shape = shape;
+        fdef.friction = 0.8f;
+        fdef.restitution = 0f;
+        fdef.filter.categoryBits = Constants.BIT_GROUND;
+        fdef.filter.maskBits = Constants.BIT_PLAYER | Constants.BIT_ENEMY | Constants.BIT_LIGHT;
+        return fdef;
     }
 
     private void parseCollisions() {
         MapLayer collisionLayer = map.getLayers().get("Collisions");
         if (collisionLayer == null) return;
 
+        MapProperties props = map.getProperties();
+        float mapWidth = props.get("width", Integer.class) * props.get("tilewidth", Integer.class);
+        float mapHeight = props.get("height", Integer.class) * props.get("tileheight", Integer.class);
+
+        // Todas las formas se hornean en un solo contorno en vez de un body por objeto
+        CollisionBaker baker = new CollisionBaker(0, 0, mapWidth, mapHeight, CollisionBaker.DEFAULT_CELL_SIZE);
+
         for (MapObject object : collisionLayer.getObjects()) {
 
             // --- Colisiones rectangulares ---
             if (object instanceof RectangleMapObject) {
-                Rectangle rect = ((RectangleMapObject) object).getRectangle();
-
-                BodyDef bdef = new BodyDef();
-                bdef.type = BodyDef.BodyType.StaticBody;
-                bdef.position.set(
-                    (rect.x + rect.width / 2) / Constants.PPM,
-                    (rect.y + rect.height / 2) / Constants.PPM
-                );
-
-                Body body = world.createBody(bdef);
-
-                PolygonShape shape = new PolygonShape();
-                shape.setAsBox(rect.width / 2 / Constants.PPM, rect.height / 2 / Constants.PPM);
-
-                FixtureDef fdef = new FixtureDef();
-                fdef.shape = shape;
-                fdef.friction = 0.8f;
-                fdef.restitution = 0f;
-                fdef.filter.categoryBits = Constants.BIT_GROUND;
-                fdef.filter.maskBits = Constants.BIT_PLAYER;
-
-                body.createFixture(fdef);
-                shape.dispose();
+                baker.addRectangle(((RectangleMapObject) object).getRectangle());
             }
 
             // --- Colisiones poligonales ---
             if (object instanceof PolygonMapObject) {
                 Polygon polygon = ((PolygonMapObject) object).getPolygon();
-                float[] vertices = polygon.getTransformedVertices(); // coords absolutas en pixeles
-
-                // Convertir a metros
-                for (int i = 0; i < vertices.length; i++) {
-                    vertices[i] /= Constants.PPM;
-                }
+                baker.addPolygon(polygon.getTransformedVertices()); // coords absolutas en pixeles
+            }
+        }
 
-                // Calcular el centro del polígono
-                float minX = vertices[0], minY = vertices[1], maxX = vertices[0], maxY = vertices[1];
-                for (int i = 0; i < vertices.length; i += 2) {
-                    if (vertices[i] < minX) minX = vertices[i];
-                    if (vertices[i] > maxX) maxX = vertices[i];
-                    if (vertices[i+1] < minY) minY = vertices[i+1];
-                    if (vertices[i+1] > maxY) maxY = vertices[i+1];
-                }
-                float centerX = (minX + maxX) / 2f;
-                float centerY = (minY + maxY) / 2f;
+        Array<float[]> loops = baker.bake();
+        if (loops.size == 0) return;
 
-                // Trasladar vertices para centrar en el body
-                for (int i = 0; i < vertices.length; i += 2) {
-                    vertices[i] -= centerX;
-                    vertices[i+1] -= centerY;
-                }
+        // Un único body estático para todo el terreno
+        BodyDef bdef = new BodyDef();
+        bdef.type = BodyDef.BodyType.StaticBody;
+        groundBody = world.createBody(bdef);
 
-                // Crear body estático
-                BodyDef bdef = new BodyDef();
-                bdef.type = BodyDef.BodyType.StaticBody;
-                bdef.position.set(centerX, centerY);
+        for (float[] loop : loops) {
+            // Convertir a metros
+            for (int i = 0; i < loop.length; i++) {
+                loop[i] /= Constants.PPM;
+            }
 
-                Body body = world.createBody(bdef);
+            // createLoop conecta cada arista con sus vecinas (ghost vertices): sin enganches en las uniones
+            ChainShape shape = new ChainShape();
+            shape.createLoop(loop);
 
-                PolygonShape shape = new PolygonShape();
-                shape.set(vertices);
+            groundBody.createFixture(groundFixtureDef(shape)).setUserData(CollisionManager.GROUND_FIXTURE);
+            shape.dispose();
+        }
+    }
 
-                FixtureDef fdef = new FixtureDef();
-                fdef.shape = shape;
-                fdef.friction = 0.8f;
-                fdef.restitution = 0f;
-                fdef.filter.categoryBits = Constants.BIT_GROUND;
-                fdef.filter.maskBits = Constants.BIT_PLAYER;
+    /** Body único del terreno cuando se carga el .tmx completo (en streaming cada chunk tiene el suyo). */
+    public Body getGroundBody() {
+        return groundBody;
+    }
 
-                body.createFixture(fdef);
-                shape.dispose();
-            }
-        }
+    public NavGraph getNavGraph() {
+        return navGraph;
     }
 
     public TiledMap getMap() {
         return map;
     }
 
+    /** Celda de la grilla espacial para este nivel (también en streaming: el índice de chunks trae las propiedades del mapa). */
+    public float getSpatialCellSize() {
+        Object value = map.getProperties().get("spatialCellSize");
+        if (value instanceof Number && ((Number) value).floatValue() > 0) return ((Number) value).floatValue();
+        return DEFAULT_SPATIAL_CELL_SIZE;
+    }
+
     public void dispose() {
-        map.dispose();
+        if (streamer != null) {
+            streamer.dispose();
+            map.dispose();
+        } else {
+            Assets.release(mapPath);
+        }
     }
 }
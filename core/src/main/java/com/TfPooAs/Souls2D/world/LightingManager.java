@@ -1,4 +1,241 @@
 package com.TfPooAs.Souls2D.world;
 
-public class LightingManager {
+import box2dLight.PointLight;
+import box2dLight.RayHandler;
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Luces dinámicas sobre box2dlights (fogatas, antorchas, hechizos).
+ *
+ * Cada luz tiene hasta tres versiones con distinta cantidad de rayos (box2dlights fija los rayos
+ * al crear la luz); por frame se activa sólo la que corresponde al tamaño de la luz en pantalla,
+ * y ninguna si la luz está fuera de la vista. Las luces dinámicas además comparten un presupuesto
+ * de rayos por frame: si se pasa, las que sobran bajan al nivel más barato.
+ *
+ * Las luces estáticas (fogatas, antorchas del nivel) usan el modo estático de box2dlights: sus
+ * rayos se tiran una vez contra el terreno y la malla queda cacheada; los cuerpos que se mueven
+ * no las afectan (sólo chocan con BIT_GROUND). Como el terreno se carga por chunks, se vuelven a
+ * calcular cuando entran en la vista. Sólo las luces dinámicas se recalculan en cada frame.
+ *
+ * Posiciones en píxeles; box2dlights trabaja en metros (PPM). Sin contexto GL (headless) el
+ * manager queda desactivado y todas las llamadas no hacen nada.
+ */
+public class LightingManager implements Disposable {
+
+    public static final String MAP_LAYER = "Lights"; // capa de objetos del mapa con las luces del nivel
+
+    public static final int[] RAY_TIERS = { 24, 64, 160 };
+    public static final int MAX_DYNAMIC_RAYS = 1024;
+    // Fracción del ancho de la vista que ocupa el radio de la luz para pasar al nivel siguiente
+    private static final float[] TIER_SCREEN_FRACTION = { 0.12f, 0.35f };
+
+    /** Una luz del juego; por dentro puede tener una PointLight por nivel de rayos. */
+    public static class Light {
+        private final PointLight[] tiers = new PointLight[RAY_TIERS.length];
+        private final boolean isStatic;
+        private final Color color = new Color();
+        private float x, y, distance; // px
+        private Body body;            // si sigue a un body (sólo dinámicas)
+        private int activeTier = -1;  // -1 = apagada o fuera de vista
+        private boolean enabled = true;
+
+        Light(boolean isStatic, float x, float y, float distance, Color color) {
+            this.isStatic = isStatic;
+            this.x = x;
+            this.y = y;
+            this.distance = distance;
+            this.color.set(color);
+        }
+
+        public void setPosition(float px, float py) {
+            x = px;
+            y = py;
+            for (PointLight l : tiers) if (l != null) l.setPosition(px / Constants.PPM, py / Constants.PPM);
+        }
+
+        public void setColor(Color c) {
+            color.set(c);
+            for (PointLight l : tiers) if (l != null) l.setColor(c);
+        }
+
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public boolean isStatic() { return isStatic; }
+        public int getActiveTier() { return activeTier; }
+    }
+
+    private final RayHandler rayHandler; // null sin GL
+    private final OrthographicCamera camera;
+    private final Matrix4 lightMatrix = new Matrix4();
+    private final Array<Light> lights = new Array<>();
+    private int activeRays = 0;
+
+    public LightingManager(World world, OrthographicCamera camera) {
+        this.camera = camera;
+        if (Gdx.graphics.getGL20() == null) {
+            rayHandler = null;
+            return;
+        }
+        rayHandler = new RayHandler(world);
+        rayHandler.setAmbientLight(0.25f, 0.25f, 0.32f, 0.5f); // noche fría de cementerio
+        rayHandler.setBlurNum(1);
+        rayHandler.setCulling(true);
+    }
+
+    public boolean isEnabled() { return rayHandler != null; }
+
+    public Light addStatic(float x, float y, float distance, Color color) {
+        return add(new Light(true, x, y, distance, color));
+    }
+
+    public Light addDynamic(float x, float y, float distance, Color color) {
+        return add(new Light(false, x, y, distance, color));
+    }
+
+    /** Luz dinámica que sigue a un body (jugador, proyectil). */
+    public Light attach(Body body, float distance, Color color) {
+        Light light = addDynamic(body.getPosition().x * Constants.PPM, body.getPosition().y * Constants.PPM, distance, color);
+        light.body = body;
+        return light;
+    }
+
+    private Light add(Light light) {
+        lights.add(light);
+        return light;
+    }
+
+    public void remove(Light light) {
+        if (!lights.removeValue(light, true)) return;
+        for (int t = 0; t < light.tiers.length; t++) {
+            if (light.tiers[t] != null) light.tiers[t].remove();
+            light.tiers[t] = null;
+        }
+    }
+
+    /**
+     * Luces del nivel: objetos de la capa "Lights" con propiedades opcionales distance (px),
+     * color (#RRGGBBAA) y static (true por defecto).
+     */
+    public void loadFromMap(TiledMap map) {
+        MapLayer layer = map.getLayers().get(MAP_LAYER);
+        if (layer == null) return;
+        for (MapObject object : layer.getObjects()) {
+            MapProperties p = object.getProperties();
+            float x = p.get("x", 0f, Float.class) + p.get("width", 0f, Float.class) / 2f;
+            float y = p.get("y", 0f, Float.class) + p.get("height", 0f, Float.class) / 2f;
+            float distance = p.get("distance", 300f, Float.class);
+            Color color = p.containsKey("color") ? Color.valueOf(p.get("color", String.class)) : new Color(1f, 0.6f, 0.3f, 0.9f);
+            if (p.get("static", true, Boolean.class)) addStatic(x, y, distance, color);
+            else addDynamic(x, y, distance, color);
+        }
+    }
+
+    /** Elige el nivel de rayos de cada luz según la vista y calcula las luces dinámicas. */
+    public void update() {
+        if (rayHandler == null) return;
+        float viewW = camera.viewportWidth * camera.zoom;
+        float viewH = camera.viewportHeight * camera.zoom;
+        float left = camera.position.x - viewW / 2f, bottom = camera.position.y - viewH / 2f;
+
+        activeRays = 0;
+        int dynamicRays = 0;
+        for (int i = 0; i < lights.size; i++) {
+            Light light = lights.get(i);
+            if (light.body != null) {
+                light.x = light.body.getPosition().x * Constants.PPM;
+                light.y = light.body.getPosition().y * Constants.PPM;
+            }
+
+            int tier = -1;
+            boolean visible = light.enabled
+                && light.x + light.distance > left && light.x - light.distance < left + viewW
+                && light.y + light.distance > bottom && light.y - light.distance < bottom + viewH;
+            if (visible) {
+                float fraction = light.distance / viewW;
+                tier = 0;
+                while (tier < TIER_SCREEN_FRACTION.length && fraction >= TIER_SCREEN_FRACTION[tier]) tier++;
+                if (!light.isStatic) {
+                    // Presupuesto compartido: las que no entran quedan en el nivel más barato
+                    if (dynamicRays + RAY_TIERS[tier] > MAX_DYNAMIC_RAYS) tier = 0;
+                    dynamicRays += RAY_TIERS[tier];
+                }
+                activeRays += RAY_TIERS[tier];
+            }
+            setTier(light, tier);
+            if (tier >= 0 && !light.isStatic && light.body == null) {
+                light.tiers[tier].setPosition(light.x / Constants.PPM, light.y / Constants.PPM);
+            }
+        }
+
+        lightMatrix.set(camera.combined).scl(Constants.PPM);
+        rayHandler.setCombinedMatrix(lightMatrix, camera.position.x / Constants.PPM, camera.position.y / Constants.PPM,
+            viewW / Constants.PPM, viewH / Constants.PPM);
+        rayHandler.update();
+    }
+
+    private void setTier(Light light, int tier) {
+        if (light.activeTier == tier) return;
+        if (light.activeTier >= 0) light.tiers[light.activeTier].setActive(false);
+        if (tier >= 0) {
+            PointLight l = light.tiers[tier];
+            if (l == null) {
+                l = createPointLight(light, RAY_TIERS[tier]);
+                light.tiers[tier] = l;
+            } else {
+                l.setActive(true);
+                // Al volver a la vista el terreno alrededor pudo cambiar (chunks): se recalcula una vez
+                if (light.isStatic) l.setPosition(light.x / Constants.PPM, light.y / Constants.PPM);
+            }
+        }
+        light.activeTier = tier;
+    }
+
+    private PointLight createPointLight(Light light, int rays) {
+        PointLight l = new PointLight(rayHandler, rays, light.color, light.distance / Constants.PPM,
+            light.x / Constants.PPM, light.y / Constants.PPM);
+        l.setSoftnessLength(0.3f);
+        if (light.isStatic) {
+            l.setContactFilter(Constants.BIT_LIGHT, (short) 0, Constants.BIT_GROUND); // sólo el terreno
+            l.setStaticLight(true);
+        } else if (light.body != null) {
+            l.setIgnoreAttachedBody(true);
+            l.attachToBody(light.body);
+        }
+        return l;
+    }
+
+    /** Dibuja el light map sobre lo que ya está en pantalla (capa de efectos del pipeline). */
+    public void render() {
+        if (rayHandler == null) return;
+        rayHandler.render();
+    }
+
+    /** Mismo rectángulo de pantalla que el viewport del juego; el light map va a 1/4 de resolución. */
+    public void resize(Viewport viewport) {
+        if (rayHandler == null) return;
+        rayHandler.useCustomViewport(viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(), viewport.getScreenHeight());
+        rayHandler.resizeFBO(Math.max(1, viewport.getScreenWidth() / 4), Math.max(1, viewport.getScreenHeight() / 4));
+    }
+
+    public int getLightCount() { return lights.size; }
+    /** Rayos de las luces activas en el último update. */
+    public int getActiveRays() { return activeRays; }
+
+    @Override
+    public void dispose() {
+        if (rayHandler != null) rayHandler.dispose(); // libera también sus luces
+        lights.clear();
+    }
 }
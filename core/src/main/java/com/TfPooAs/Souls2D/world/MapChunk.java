@@ -0,0 +1,36 @@
+package com.TfPooAs.Souls2D.world;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Un chunk de un mapa horneado por {@link ChunkedMapBaker}.
+ *
+ * Los datos crudos (celdas y tramos de colisión) se leen en el hilo de carga; las capas de
+ * tiles y el body de Box2D se crean después en el hilo de render.
+ */
+public class MapChunk {
+    public final int cx, cy;
+
+    // --- Leído en segundo plano ---
+    int[][] cells;     // por capa: pares (índice local, gid)
+    float[][] chains;  // vértices en píxeles
+    boolean[] loops;   // true si el tramo es un lazo cerrado
+    float[][] ghosts;  // prevX, prevY, nextX, nextY (vértices fantasma de los tramos abiertos)
+    volatile boolean cancelled = false;
+
+    // --- Creado en el hilo de render ---
+    final Array<TiledMapTileLayer> layers = new Array<>();
+    Body body;
+    boolean resident = false;
+
+    public MapChunk(int cx, int cy) {
+        this.cx = cx;
+        this.cy = cy;
+    }
+
+    public Array<TiledMapTileLayer> getLayers() { return layers; }
+    public Body getBody() { return body; }
+    public boolean isResident() { return resident; }
+}
@@ -0,0 +1,239 @@
+package com.TfPooAs.Souls2D.world;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Grafo de navegación de plataformas de un nivel (lo arma {@link NavGraphBuilder}).
+ *
+ * Lo hornea {@link ChunkedMapBaker} junto a los chunks ({@link #write}, {@link #read}); sólo un
+ * mapa sin hornear lo arma al cargarse.
+ *
+ * Cada nodo es una celda de {@link #getCellSize()} px donde un enemigo puede estar parado (vacía,
+ * con suelo abajo y lugar para el cuerpo arriba). Las celdas contiguas de una misma fila forman un
+ * {@link Segment} (una plataforma o un escalón de una rampa). Los enlaces son de tres tipos:
+ * caminar (a la celda vecina o un escalón), saltar y dejarse caer desde un borde.
+ *
+ * Encima hay un grafo abstracto con un nodo por segmento ({@link #getSegmentGraph()}), para
+ * buscar primero el corredor de plataformas de una ruta larga y después el camino fino sólo
+ * dentro de él. El grafo no cambia después de construido, así que se puede leer desde el hilo
+ * del {@link Pathfinder}.
+ */
+public class NavGraph implements IndexedGraph<NavGraph.Node> {
+
+    // Tipos de enlace
+    public static final int WALK = 0;
+    public static final int JUMP = 1;
+    public static final int DROP = 2;
+
+    /** Celda donde se puede estar parado; (x, y) es el punto del suelo en el centro de la celda, en px. */
+    public static class Node {
+        public final int index;
+        public final int col, row;
+        public final float x, y;
+        final int segment;
+        final Array<Connection<Node>> links = new Array<>(false, 4);
+
+        Node(int index, int col, int row, float cellSize, int segment) {
+            this.index = index;
+            this.col = col;
+            this.row = row;
+            this.x = (col + 0.5f) * cellSize;
+            this.y = row * cellSize;
+            this.segment = segment;
+        }
+
+        public int getSegment() { return segment; }
+    }
+
+    public static class Link implements Connection<Node> {
+        public final Node from, to;
+        public final int type;
+        final float cost;
+
+        Link(Node from, Node to, int type, float cost) {
+            this.from = from;
+            this.to = to;
+            this.type = type;
+            this.cost = cost;
+        }
+
+        @Override public float getCost() { return cost; }
+        @Override public Node getFromNode() { return from; }
+        @Override public Node getToNode() { return to; }
+    }
+
+    /** Tramo horizontal de celdas caminables en una fila; sus nodos tienen índices consecutivos. */
+    public static class Segment {
+        public final int index;
+        public final int row, colStart, colEnd; // columnas inclusive
+        final int firstNode;
+        final Array<Connection<Segment>> links = new Array<>(false, 4);
+
+        Segment(int index, int row, int colStart, int colEnd, int firstNode) {
+            this.index = index;
+            this.row = row;
+            this.colStart = colStart;
+            this.colEnd = colEnd;
+            this.firstNode = firstNode;
+        }
+
+        public int length() { return colEnd - colStart + 1; }
+    }
+
+    /** Enlace entre segmentos del grafo abstracto; el costo es el del enlace más barato entre ellos. */
+    static class SegmentLink implements Connection<Segment> {
+        final Segment from, to;
+        float cost;
+
+        SegmentLink(Segment from, Segment to, float cost) {
+            this.from = from;
+            this.to = to;
+            this.cost = cost;
+        }
+
+        @Override public float getCost() { return cost; }
+        @Override public Segment getFromNode() { return from; }
+        @Override public Segment getToNode() { return to; }
+    }
+
+    private final Array<Node> nodes;
+    private final Array<Segment> segments;
+    private final int[] nodeAtCell; // cols * rows, -1 si la celda no es caminable
+    private final int cols, rows;
+    private final float cellSize;
+    private final int linkCount;
+    private final IndexedGraph<Segment> segmentGraph = new IndexedGraph<Segment>() {
+        @Override public int getIndex(Segment segment) { return segment.index; }
+        @Override public int getNodeCount() { return segments.size; }
+        @Override public Array<Connection<Segment>> getConnections(Segment from) { return from.links; }
+    };
+
+    NavGraph(Array<Node> nodes, Array<Segment> segments, int[] nodeAtCell, int cols, int rows, float cellSize, int linkCount) {
+        this.nodes = nodes;
+        this.segments = segments;
+        this.nodeAtCell = nodeAtCell;
+        this.cols = cols;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.linkCount = linkCount;
+    }
+
+    @Override public int getIndex(Node node) { return node.index; }
+    @Override public int getNodeCount() { return nodes.size; }
+    @Override public Array<Connection<Node>> getConnections(Node fromNode) { return fromNode.links; }
+
+    public IndexedGraph<Segment> getSegmentGraph() { return segmentGraph; }
+
+    public Node getNode(int index) { return nodes.get(index); }
+    public Segment getSegment(int index) { return segments.get(index); }
+    public Segment segmentOf(Node node) { return segments.get(node.segment); }
+    public int getSegmentCount() { return segments.size; }
+    public int getLinkCount() { return linkCount; }
+    public float getCellSize() { return cellSize; }
+
+    /** Nodo de la celda (col, row), o null si ahí no se puede estar parado. */
+    public Node nodeAtCell(int col, int row) {
+        if (col < 0 || row < 0 || col >= cols || row >= rows) return null;
+        int i = nodeAtCell[row * cols + col];
+        return i < 0 ? null : nodes.get(i);
+    }
+
+    /**
+     * Nodo donde quedaría algo parado en (x, y) px: la celda caminable de esa columna (o de una
+     * vecina) más cercana hacia abajo, hasta {@code maxDrop} px. Null si no hay suelo cerca.
+     */
+    public Node nodeAt(float x, float y, float maxDrop) {
+        int col = (int) Math.floor(x / cellSize);
+        int row = (int) Math.floor(y / cellSize);
+        int maxRows = (int) Math.ceil(maxDrop / cellSize);
+        Node n = nodeNear(col, row);
+        if (n == null) n = nodeNear(col, row + 1); // los pies pueden quedar apenas debajo del borde de la celda
+        for (int dr = 1; n == null && dr <= maxRows; dr++) n = nodeNear(col, row - dr);
+        return n;
+    }
+
+    /** Segmentos y enlaces; los nodos y la grilla salen de los segmentos al leerlo. */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(cols);
+        out.writeInt(rows);
+        out.writeFloat(cellSize);
+        out.writeInt(segments.size);
+        for (int i = 0; i < segments.size; i++) {
+            Segment s = segments.get(i);
+            out.writeInt(s.row);
+            out.writeInt(s.colStart);
+            out.writeInt(s.colEnd);
+        }
+        for (int i = 0; i < nodes.size; i++) {
+            Array<Connection<Node>> links = nodes.get(i).links;
+            out.writeInt(links.size);
+            for (int k = 0; k < links.size; k++) {
+                Link link = (Link) links.get(k);
+                out.writeInt(link.to.index);
+                out.writeByte(link.type);
+                out.writeFloat(link.cost);
+            }
+        }
+        for (int i = 0; i < segments.size; i++) {
+            Array<Connection<Segment>> links = segments.get(i).links;
+            out.writeInt(links.size);
+            for (int k = 0; k < links.size; k++) {
+                SegmentLink link = (SegmentLink) links.get(k);
+                out.writeInt(link.to.index);
+                out.writeFloat(link.cost);
+            }
+        }
+    }
+
+    static NavGraph read(DataInputStream in) throws IOException {
+        int cols = in.readInt(), rows = in.readInt();
+        float cellSize = in.readFloat();
+        int[] nodeAtCell = new int[cols * rows];
+        Arrays.fill(nodeAtCell, -1);
+        int segmentCount = in.readInt();
+        Array<Segment> segments = new Array<>(segmentCount);
+        Array<Node> nodes = new Array<>();
+        for (int i = 0; i < segmentCount; i++) {
+            int row = in.readInt(), colStart = in.readInt(), colEnd = in.readInt();
+            segments.add(new Segment(i, row, colStart, colEnd, nodes.size));
+            for (int c = colStart; c <= colEnd; c++) {
+                nodeAtCell[row * cols + c] = nodes.size;
+                nodes.add(new Node(nodes.size, c, row, cellSize, i));
+            }
+        }
+        int linkCount = 0;
+        for (int i = 0; i < nodes.size; i++) {
+            Node from = nodes.get(i);
+            int count = in.readInt();
+            for (int k = 0; k < count; k++) {
+                Node to = nodes.get(in.readInt());
+                int type = in.readByte();
+                from.links.add(new Link(from, to, type, in.readFloat()));
+            }
+            linkCount += count;
+        }
+        for (int i = 0; i < segments.size; i++) {
+            Segment from = segments.get(i);
+            int count = in.readInt();
+            for (int k = 0; k < count; k++) {
+                Segment to = segments.get(in.readInt());
+                from.links.add(new SegmentLink(from, to, in.readFloat()));
+            }
+        }
+        return new NavGraph(nodes, segments, nodeAtCell, cols, rows, cellSize, linkCount);
+    }
+
+    private Node nodeNear(int col, int row) {
+        Node n = nodeAtCell(col, row);
+        if (n == null) n = nodeAtCell(col - 1, row);
+        if (n == null) n = nodeAtCell(col + 1, row);
+        return n;
+    }
+}
@@ -0,0 +1,252 @@
+package com.TfPooAs.Souls2D.world;
+
+import com.TfPooAs.Souls2D.utils.Constants;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.XmlReader;
+
+import java.util.Arrays;
+
+/**
+ * Arma el {@link NavGraph} de un nivel a partir de la capa "Collisions" del .tmx.
+ *
+ * La geometría se rasteriza fina con {@link CollisionBaker} (la misma que usa la física) y se
+ * reduce a celdas de {@link #CELL_SIZE} px: una celda gruesa es sólida si toca algo sólido.
+ * Después se buscan las celdas caminables, se agrupan en segmentos por fila y se enlazan:
+ * caminando dentro del segmento y a escalones vecinos, y con saltos y caídas desde los bordes de
+ * cada segmento hacia los demás segmentos a tiro, si la trayectoria (simulada con la velocidad,
+ * el salto y la gravedad de un enemigo común) no choca con nada.
+ *
+ * Se lee del .tmx y no del TiledMap porque en streaming por chunks la capa de colisiones no está
+ * cargada entera. Construirlo tarda (cientos de ms en un mapa grande), así que corre offline en
+ * {@link ChunkedMapBaker}; en el juego sólo se usa con mapas sin hornear.
+ */
+public class NavGraphBuilder {
+
+    public static final float CELL_SIZE = 16f;
+
+    // Alcance de un enemigo común, en celdas (ver Enemy: ~80 px de salto, ~120 px/s)
+    static final int CLEARANCE = 2;       // celdas libres sobre el suelo para el body (~33 px de alto)
+    static final int MAX_JUMP_UP = 4;
+    static final int MAX_JUMP_ACROSS = 6;
+    static final int MAX_DROP = 20;
+
+    // Física de la trayectoria en px y s (Enemy: 120 px/s, impulso de 4 m/s; Simulation.GRAVITY)
+    private static final float RUN_SPEED = 120f;
+    private static final float JUMP_SPEED = 4f * Constants.PPM;
+    private static final float GRAVITY = 9.8f * Constants.PPM;
+    private static final float SIM_STEP = 1 / 60f;
+    private static final float PROBE_HALF_WIDTH = 17f; // el body mide ~33 px de ancho
+
+    private static final float STEP_COST = 1.4f;
+    private static final float JUMP_COST = 1.5f;  // por celda recorrida
+    private static final float DROP_COST = 1.2f;
+    private static final float AIR_PENALTY = 2f;  // celdas extra por dejar el suelo
+
+    private final int cols, rows;
+    private final boolean[] solid;
+    private final int[] nodeAtCell;
+    private final Array<NavGraph.Node> nodes = new Array<>();
+    private final Array<NavGraph.Segment> segments = new Array<>();
+    private final LongMap<NavGraph.SegmentLink> segmentLinks = new LongMap<>();
+    private final LongMap<Boolean> linked = new LongMap<>();
+    private int linkCount = 0;
+
+    /** Grafo del .tmx (coordenadas en px con y hacia arriba, como el resto del juego). */
+    public static NavGraph fromTmx(FileHandle tmx) {
+        return fromXml(new XmlReader().parse(tmx));
+    }
+
+    /** Igual que {@link #fromTmx}, con el .tmx ya leído (ChunkedMapBaker lo hornea así). */
+    static NavGraph fromXml(XmlReader.Element root) {
+        float widthPx = root.getIntAttribute("width") * root.getIntAttribute("tilewidth");
+        float heightPx = root.getIntAttribute("height") * root.getIntAttribute("tileheight");
+        CollisionBaker fine = new CollisionBaker(0, 0, widthPx, heightPx, CollisionBaker.DEFAULT_CELL_SIZE);
+        ChunkedMapBaker.addCollisionObjects(root, heightPx, fine);
+        return new NavGraphBuilder(fine).build();
+    }
+
+    NavGraphBuilder(CollisionBaker fine) {
+        int factor = Math.max(1, Math.round(CELL_SIZE / fine.getCellSize()));
+        cols = (fine.getCols() + factor - 1) / factor;
+        rows = (fine.getRows() + factor - 1) / factor;
+        solid = new boolean[cols * rows];
+        for (int r = 0; r < fine.getRows(); r++) {
+            for (int c = 0; c < fine.getCols(); c++) {
+                if (fine.isSolid(c, r)) solid[(r / factor) * cols + c / factor] = true;
+            }
+        }
+        nodeAtCell = new int[cols * rows];
+        Arrays.fill(nodeAtCell, -1);
+    }
+
+    NavGraph build() {
+        buildSegments();
+        for (NavGraph.Segment s : segments) linkWalk(s);
+        linkAir();
+        return new NavGraph(nodes, segments, nodeAtCell, cols, rows, CELL_SIZE, linkCount);
+    }
+
+    private boolean isSolid(int c, int r) {
+        if (c < 0 || c >= cols || r < 0) return true; // bordes del mapa: no se sale
+        return r < rows && solid[r * cols + c];
+    }
+
+    private boolean isFree(int c, int r, int height) {
+        for (int k = 0; k < height; k++) if (isSolid(c, r + k)) return false;
+        return true;
+    }
+
+    private boolean isStandable(int c, int r) {
+        return r > 0 && isSolid(c, r - 1) && isFree(c, r, CLEARANCE);
+    }
+
+    private void buildSegments() {
+        for (int r = 1; r < rows; r++) {
+            int c = 0;
+            while (c < cols) {
+                if (!isStandable(c, r)) {
+                    c++;
+                    continue;
+                }
+                int start = c;
+                while (c < cols && isStandable(c, r)) c++;
+                NavGraph.Segment s = new NavGraph.Segment(segments.size, r, start, c - 1, nodes.size);
+                segments.add(s);
+                for (int k = start; k < c; k++) {
+                    nodeAtCell[r * cols + k] = nodes.size;
+                    nodes.add(new NavGraph.Node(nodes.size, k, r, CELL_SIZE, s.index));
+                }
+            }
+        }
+    }
+
+    /** Celdas vecinas del segmento y escalones de una fila en sus dos bordes. */
+    private void linkWalk(NavGraph.Segment s) {
+        for (int c = s.colStart; c < s.colEnd; c++) {
+            NavGraph.Node a = node(c, s.row), b = node(c + 1, s.row);
+            link(a, b, NavGraph.WALK, CELL_SIZE);
+            link(b, a, NavGraph.WALK, CELL_SIZE);
+        }
+        for (int dr = -1; dr <= 1; dr += 2) {
+            stepLink(node(s.colStart, s.row), s.colStart - 1, s.row + dr);
+            stepLink(node(s.colEnd, s.row), s.colEnd + 1, s.row + dr);
+        }
+    }
+
+    private void stepLink(NavGraph.Node from, int col, int row) {
+        NavGraph.Node to = node(col, row);
+        if (to == null || !isFree(from.col, Math.max(from.row, row), CLEARANCE)) return;
+        link(from, to, NavGraph.WALK, CELL_SIZE * STEP_COST);
+        link(to, from, NavGraph.WALK, CELL_SIZE * STEP_COST);
+    }
+
+    /** Saltos y caídas entre el borde de cada segmento y el punto más cercano de los otros. */
+    private void linkAir() {
+        for (int i = 0; i < segments.size; i++) { // con índices: los iteradores de Array no se anidan
+            NavGraph.Segment s = segments.get(i);
+            for (int end = 0; end < 2; end++) {
+                NavGraph.Node edge = node(end == 0 ? s.colStart : s.colEnd, s.row);
+                int outside = edge.col + (end == 0 ? -1 : 1); // la columna justo afuera del borde
+                for (int k = 0; k < segments.size; k++) {
+                    NavGraph.Segment t = segments.get(k);
+                    if (t == s || Math.abs(t.row - s.row) > MAX_DROP) continue; // se prueba en los dos sentidos
+                    // Lo más cerca del borde del lado de afuera: no se puede caer a través de s
+                    int col = Math.max(t.colStart, Math.min(t.colEnd, outside));
+                    if (Math.abs(col - edge.col) > MAX_JUMP_ACROSS + MAX_DROP / 2) continue;
+                    NavGraph.Node other = node(col, t.row);
+                    tryAirLink(edge, other);
+                    tryAirLink(other, edge);
+                }
+            }
+        }
+    }
+
+    private void tryAirLink(NavGraph.Node a, NavGraph.Node b) {
+        int dx = Math.abs(b.col - a.col), dy = b.row - a.row;
+        if (dx <= 1 && Math.abs(dy) <= 1) return; // eso es un escalón
+        if (dy > MAX_JUMP_UP || -dy > MAX_DROP) return;
+        if (dx > MAX_JUMP_ACROSS + (dy < 0 ? -dy / 2 : 0)) return; // cayendo se llega un poco más lejos
+        // Si se llega dejándose caer del borde es caída; si no, hay que saltar
+        int type;
+        if (dy < 0 && canReach(a, b, 0f)) type = NavGraph.DROP;
+        else if (canReach(a, b, JUMP_SPEED)) type = NavGraph.JUMP;
+        else return;
+        float cells = dx + Math.abs(dy) + AIR_PENALTY;
+        link(a, b, type, CELL_SIZE * cells * (type == NavGraph.JUMP ? JUMP_COST : DROP_COST));
+    }
+
+    /**
+     * Simula el salto (o la caída, con {@code jumpSpeed} 0) de a hacia b como lo hace Enemy: las
+     * paredes frenan el avance, un techo corta la subida y para caerse de un borde sigue de largo
+     * hasta que el body entero pasa. Llega si lo primero que pisa después de despegar es el segmento de b.
+     */
+    private boolean canReach(NavGraph.Node a, NavGraph.Node b, float jumpSpeed) {
+        float x = a.x, y = a.y, vy = jumpSpeed;
+        // El body es más ancho que una celda: junto a una pared arranca corrido hacia afuera
+        for (int k = 1; k <= 2 && !isBodyFree(x, y); k++) {
+            float shift = k * CELL_SIZE / 2f;
+            x = isBodyFree(a.x - shift, y) ? a.x - shift : a.x + shift;
+        }
+        float dir = Math.signum(b.x - a.x);
+        boolean airborne = jumpSpeed > 0;
+        for (int i = 0; i < 120; i++) { // 2 s alcanzan para cualquier enlace
+            float targetX = jumpSpeed == 0 && y > b.y + CELL_SIZE ? b.x + dir * CELL_SIZE * 2 : b.x;
+            float nextX = x + Math.signum(targetX - x) * Math.min(Math.abs(targetX - x), RUN_SPEED * SIM_STEP);
+            if (isBodyFree(nextX, y)) x = nextX;
+            vy -= GRAVITY * SIM_STEP;
+            float nextY = y + vy * SIM_STEP;
+            if (isBodyFree(x, nextY)) {
+                y = nextY;
+                if (y < a.y - CELL_SIZE / 2f) airborne = true;
+            } else if (vy > 0) {
+                vy = 0; // techo
+            } else if (airborne) {
+                NavGraph.Node landed = node((int) Math.floor(x / CELL_SIZE), b.row);
+                return Math.abs(b.y - y) < CELL_SIZE && landed != null && landed.segment == b.segment;
+            } else {
+                vy = 0; // todavía caminando hacia el borde
+            }
+        }
+        return false;
+    }
+
+    /** Body con los pies en (x, y) px; con media celda de tolerancia, como el pie que sube un escalón. */
+    private boolean isBodyFree(float x, float y) {
+        int row = (int) Math.floor((y + CELL_SIZE / 2f) / CELL_SIZE);
+        int c0 = (int) Math.floor((x - PROBE_HALF_WIDTH) / CELL_SIZE);
+        int c1 = (int) Math.floor((x + PROBE_HALF_WIDTH) / CELL_SIZE);
+        for (int c = c0; c <= c1; c++) if (!isFree(c, row, CLEARANCE)) return false;
+        return true;
+    }
+
+    private NavGraph.Node node(int col, int row) {
+        if (col < 0 || row < 0 || col >= cols || row >= rows) return null;
+        int i = nodeAtCell[row * cols + col];
+        return i < 0 ? null : nodes.get(i);
+    }
+
+    private void link(NavGraph.Node a, NavGraph.Node b, int type, float cost) {
+        long key = ((long) a.index << 32) | b.index;
+        if (linked.containsKey(key)) return;
+        linked.put(key, Boolean.TRUE);
+        a.links.add(new NavGraph.Link(a, b, type, cost));
+        linkCount++;
+        if (a.segment != b.segment) linkSegments(segments.get(a.segment), segments.get(b.segment), cost);
+    }
+
+    private void linkSegments(NavGraph.Segment a, NavGraph.Segment b, float linkCost) {
+        // Cruzar a b cuesta, en promedio, el enlace más la mitad de recorrer b
+        float cost = linkCost + b.length() * CELL_SIZE / 2f;
+        long key = ((long) a.index << 32) | b.index;
+        NavGraph.SegmentLink existing = segmentLinks.get(key);
+        if (existing != null) {
+            existing.cost = Math.min(existing.cost, cost);
+            return;
+        }
+        NavGraph.SegmentLink link = new NavGraph.SegmentLink(a, b, cost);
+        segmentLinks.put(key, link);
+        a.links.add(link);
+    }
+}
@@ -3,30 +3,118 @@ package com.TfPooAs.Souls2D.world;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.Array;
 
+/**
+ * Fondo en capas con parallax horizontal y vertical.
+ *
+ * Cada capa se dibuja como un solo quad del tamaño de la vista (o de la parte de la franja de la
+ * capa que se ve), con la textura en TextureWrap.Repeat horizontal: el desplazamiento se hace
+ * moviendo las UV, no el quad. Así el costo por capa (memoria y píxeles) no depende del ancho del
+ * nivel y la capa nunca se termina.
+ *
+ * Las capas se dibujan de atrás hacia adelante. Se saltean las que quedan fuera de la vista en
+ * vertical y las que tapa por completo una capa opaca de adelante.
+ *
+ * Nota: Repeat con texturas que no son potencia de 2 necesita GL ES 3 / desktop (en GL ES 2 y
+ * WebGL hay que usar texturas POT).
+ */
 public class ParallaxBackground {
 
-    private Texture[] layers;
-    private float[] speeds;
-    private OrthographicCamera camera;
+    /** Una capa. Las velocidades van de 0 (pegada a la cámara, infinitamente lejos) a 1 (se mueve con el mundo). */
+    public static class Layer {
+        public final Texture texture;
+        public float speedX, speedY;
+        public float anchorY;       // altura de la cámara a la que la capa queda centrada en pantalla
+        public float scale = 1f;
+        public boolean opaque = false; // si no tiene transparencias: tapa todo lo que está detrás
 
-    public ParallaxBackground(Texture[] layers, float[] speeds, OrthographicCamera camera) {
-        this.layers = layers;
-        this.speeds = speeds;
+        public Layer(Texture texture, float speedX, float speedY, float anchorY) {
+            this.texture = texture;
+            this.speedX = speedX;
+            this.speedY = speedY;
+            this.anchorY = anchorY;
+            texture.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.ClampToEdge);
+        }
+    }
+
+    private final Array<Layer> layers = new Array<>();
+    private final OrthographicCamera camera;
+    private int drawnLastFrame = 0;
+
+    public ParallaxBackground(OrthographicCamera camera) {
         this.camera = camera;
     }
 
+    /** Capas sólo con parallax horizontal (verticalmente siguen a la cámara). */
+    public ParallaxBackground(Texture[] layers, float[] speeds, OrthographicCamera camera) {
+        this(camera);
+        for (int i = 0; i < layers.length; i++) addLayer(new Layer(layers[i], speeds[i], 0f, 0f));
+    }
+
+    /** Agrega una capa delante de las anteriores. */
+    public Layer addLayer(Layer layer) {
+        layers.add(layer);
+        return layer;
+    }
+
     public void update(float delta) {
         // En este ejemplo no se necesita lógica de actualización extra
         // ya que el desplazamiento depende directamente de la cámara
     }
 
     public void render(SpriteBatch batch) {
-        for (int i = 0; i < layers.length; i++) {
-            float x = camera.position.x * speeds[i];
-            batch.draw(layers[i],
-                x - layers[i].getWidth() / 2f,
-                camera.position.y - layers[i].getHeight() / 2f);
+        float viewW = camera.viewportWidth * camera.zoom;
+        float viewH = camera.viewportHeight * camera.zoom;
+        float viewLeft = camera.position.x - viewW / 2f;
+        float viewBottom = camera.position.y - viewH / 2f;
+        float viewTop = viewBottom + viewH;
+
+        // La capa opaca más cercana que cubre toda la vista tapa a las de atrás
+        int first = 0;
+        for (int i = layers.size - 1; i > 0; i--) {
+            Layer layer = layers.get(i);
+            if (!layer.opaque) continue;
+            float bottom = bandBottom(layer);
+            if (bottom <= viewBottom && bottom + bandHeight(layer) >= viewTop) {
+                first = i;
+                break;
+            }
+        }
+
+        drawnLastFrame = 0;
+        for (int i = first; i < layers.size; i++) {
+            Layer layer = layers.get(i);
+            float bandH = bandHeight(layer);
+            float bandBottom = bandBottom(layer);
+            float bottom = Math.max(bandBottom, viewBottom);
+            float top = Math.min(bandBottom + bandH, viewTop);
+            if (top <= bottom) continue; // la franja de la capa no entra en la vista
+
+            // U: la capa se corre speedX por cada unidad de cámara; centrada en x = 0
+            float tileW = layer.texture.getWidth() * layer.scale;
+            float u = (camera.position.x * layer.speedX - viewW / 2f) / tileW + 0.5f;
+            float u2 = u + viewW / tileW;
+            // V: 0 arriba de la textura, 1 abajo
+            float v = 1f - (bottom - bandBottom) / bandH;
+            float v2 = 1f - (top - bandBottom) / bandH;
+
+            batch.draw(layer.texture, viewLeft, bottom, viewW, top - bottom, u, v, u2, v2);
+            drawnLastFrame++;
         }
     }
+
+    private static float bandHeight(Layer layer) {
+        return layer.texture.getHeight() * layer.scale;
+    }
+
+    /** Borde inferior de la franja de la capa en coordenadas del mundo. */
+    private float bandBottom(Layer layer) {
+        float centerY = camera.position.y - (camera.position.y - layer.anchorY) * layer.speedY;
+        return centerY - bandHeight(layer) / 2f;
+    }
+
+    public Array<Layer> getLayers() { return layers; }
+    /** Capas dibujadas en el último render (las demás quedaron fuera de vista o tapadas). */
+    public int getDrawnLastFrame() { return drawnLastFrame; }
 }
@@ -0,0 +1,284 @@
+package com.TfPooAs.Souls2D.world;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Búsqueda de caminos sobre el {@link NavGraph} en un hilo aparte, con caché de resultados.
+ *
+ * {@link #request} resuelve en el hilo que llama sólo lo barato (a qué nodos caen los extremos y
+ * si el camino ya está en caché) y encola el resto; quien pidió consulta {@link Request#isDone()}
+ * en los frames siguientes. El hilo del juego nunca espera una búsqueda. Si la cola está llena
+ * el pedido falla enseguida y se puede repetir más tarde.
+ *
+ * Las búsquedas usan {@link IndexedAStarPathFinder} de gdx-ai. Para rutas largas primero se busca
+ * el corredor de segmentos en el grafo abstracto y el A* fino sólo expande nodos de ese corredor
+ * (y sus vecinos); si ahí no hay camino se busca en el grafo entero.
+ *
+ * Los resultados se guardan por (segmento de salida, nodo de llegada) en una caché LRU: los
+ * enemigos que persiguen al jugador desde la misma plataforma comparten el camino (los puntos
+ * de un camino empiezan en el primer despegue, así que sirve desde cualquier celda del segmento).
+ */
+public class Pathfinder implements Disposable {
+
+    public static final int CACHE_SIZE = 256;
+    public static final int MAX_PENDING = 128;
+    /** Hasta cuánto por debajo de la posición pedida se busca el suelo (px). */
+    public static final float SNAP_DISTANCE = 128f;
+    /** Desde esta distancia (px) entre extremos se busca primero el corredor de segmentos. */
+    public static final float HIERARCHY_DISTANCE = 1200f;
+
+    /** Camino resultante: los puntos donde cambia lo que hay que hacer (despegar, aterrizar, llegar). */
+    public static final class Path {
+        private final float[] points; // x0, y0, x1, y1, ... en px, al nivel del suelo
+        private final byte[] types;   // tipo del enlace (NavGraph.WALK/JUMP/DROP) que llega a cada punto
+
+        Path(FloatArray points, byte[] types) {
+            this.points = points.toArray();
+            this.types = types;
+        }
+
+        public int size() { return types.length; }
+        public float getX(int i) { return points[i * 2]; }
+        public float getY(int i) { return points[i * 2 + 1]; }
+        public int getType(int i) { return types[i]; }
+    }
+
+    private static final Path NO_PATH = new Path(new FloatArray(0), new byte[0]);
+
+    public static final class Request {
+        private static final int PENDING = 0, DONE = 1, CANCELLED = 2;
+
+        final NavGraph.Node start, goal;
+        private volatile int status = PENDING;
+        private volatile Path path;
+
+        Request(NavGraph.Node start, NavGraph.Node goal) {
+            this.start = start;
+            this.goal = goal;
+        }
+
+        void finish(Path result) {
+            path = result == NO_PATH ? null : result;
+            status = DONE;
+        }
+
+        /** Ya hay respuesta (o se canceló). */
+        public boolean isDone() { return status != PENDING; }
+        /** El camino, o null si no hay (o todavía no se calculó). */
+        public Path getPath() { return path; }
+        /** Si todavía no se buscó, el worker lo saltea. */
+        public void cancel() { if (status == PENDING) status = CANCELLED; }
+        boolean isCancelled() { return status == CANCELLED; }
+    }
+
+    private final NavGraph graph;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Pathfinder");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<Long, Path> cache = new LinkedHashMap<Long, Path>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Path> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // Estadísticas
+    private final AtomicInteger requests = new AtomicInteger(), cacheHits = new AtomicInteger(), searches = new AtomicInteger();
+    private volatile long lastSearchNanos;
+    private boolean synchronous = false;
+
+    // Todo lo que sigue lo usa sólo el hilo del worker
+    private final IndexedAStarPathFinder<NavGraph.Node> finder;
+    private final IndexedAStarPathFinder<NavGraph.Node> corridorFinder;
+    private final IndexedAStarPathFinder<NavGraph.Segment> segmentFinder;
+    private final GraphPath<Connection<NavGraph.Node>> linkPath = new DefaultGraphPath<>();
+    private final GraphPath<NavGraph.Segment> segmentPath = new DefaultGraphPath<>();
+    private final boolean[] corridor;
+    private final Array<Connection<NavGraph.Node>> corridorLinks = new Array<>(false, 8);
+    private final FloatArray points = new FloatArray();
+    private final ByteArray types = new ByteArray();
+
+    private final Heuristic<NavGraph.Node> distance = (a, b) -> (float) Math.hypot(a.x - b.x, a.y - b.y);
+    private final Heuristic<NavGraph.Segment> segmentDistance;
+
+    public Pathfinder(NavGraph graph) {
+        this.graph = graph;
+        this.corridor = new boolean[graph.getSegmentCount()];
+        float cell = graph.getCellSize();
+        // De borde a borde: el hueco entre los extremos más cercanos (0 si se solapan en columnas)
+        segmentDistance = (a, b) -> cell * (float) Math.hypot(
+            Math.max(0, Math.max(b.colStart - a.colEnd, a.colStart - b.colEnd)), a.row - b.row);
+
+        // Mismo grafo, pero sin los enlaces que salen del corredor
+        IndexedGraph<NavGraph.Node> corridorGraph = new IndexedGraph<NavGraph.Node>() {
+            @Override public int getIndex(NavGraph.Node node) { return node.index; }
+            @Override public int getNodeCount() { return graph.getNodeCount(); }
+            @Override
+            public Array<Connection<NavGraph.Node>> getConnections(NavGraph.Node from) {
+                corridorLinks.clear();
+                Array<Connection<NavGraph.Node>> links = graph.getConnections(from);
+                for (int i = 0; i < links.size; i++) {
+                    Connection<NavGraph.Node> link = links.get(i);
+                    if (corridor[link.getToNode().getSegment()]) corridorLinks.add(link);
+                }
+                return corridorLinks;
+            }
+        };
+        finder = new IndexedAStarPathFinder<>(graph);
+        corridorFinder = new IndexedAStarPathFinder<>(corridorGraph);
+        segmentFinder = new IndexedAStarPathFinder<>(graph.getSegmentGraph());
+    }
+
+    /**
+     * Pide un camino entre dos posiciones en px (cada una se baja al suelo más cercano). No bloquea:
+     * la respuesta puede venir ya resuelta (caché) o completarse en otro hilo.
+     */
+    public Request request(float fromX, float fromY, float toX, float toY) {
+        requests.incrementAndGet();
+        NavGraph.Node start = graph.nodeAt(fromX, fromY, SNAP_DISTANCE);
+        NavGraph.Node goal = graph.nodeAt(toX, toY, SNAP_DISTANCE);
+        Request request = new Request(start, goal);
+        if (start == null || goal == null) {
+            request.finish(NO_PATH);
+            return request;
+        }
+        Path cached = cached(start, goal);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            request.finish(cached);
+            return request;
+        }
+        if (synchronous) {
+            pending.incrementAndGet();
+            run(request);
+            return request;
+        }
+        if (pending.get() >= MAX_PENDING) {
+            request.finish(NO_PATH); // cola llena: se vuelve a pedir más tarde
+            return request;
+        }
+        pending.incrementAndGet();
+        worker.execute(() -> run(request));
+        return request;
+    }
+
+    private void run(Request request) {
+        pending.decrementAndGet();
+        if (request.isCancelled()) return;
+        Path path = cached(request.start, request.goal); // otro pedido igual pudo haberlo calculado
+        if (path == null) {
+            long t0 = System.nanoTime();
+            path = search(request.start, request.goal);
+            lastSearchNanos = System.nanoTime() - t0;
+            searches.incrementAndGet();
+            synchronized (cache) {
+                cache.put(key(request.start, request.goal), path);
+            }
+        }
+        request.finish(path);
+    }
+
+    private Path cached(NavGraph.Node start, NavGraph.Node goal) {
+        synchronized (cache) {
+            return cache.get(key(start, goal));
+        }
+    }
+
+    private static long key(NavGraph.Node start, NavGraph.Node goal) {
+        return ((long) start.getSegment() << 32) | goal.index;
+    }
+
+    private Path search(NavGraph.Node start, NavGraph.Node goal) {
+        points.clear();
+        types.clear();
+        if (start.getSegment() == goal.getSegment()) {
+            add(goal, NavGraph.WALK); // misma plataforma: caminar derecho
+            return toPath();
+        }
+
+        linkPath.clear();
+        boolean found = false;
+        if (distance.estimate(start, goal) >= HIERARCHY_DISTANCE) found = searchInCorridor(start, goal);
+        if (!found) found = finder.searchConnectionPath(start, goal, distance, linkPath);
+        if (!found) return NO_PATH;
+
+        // Sólo los puntos donde cambia la acción: despegue y aterrizaje de cada salto o caída
+        for (int i = 0; i < linkPath.getCount(); i++) {
+            NavGraph.Link link = (NavGraph.Link) linkPath.get(i);
+            if (link.type == NavGraph.WALK) continue;
+            if (!isLast(link.from)) add(link.from, NavGraph.WALK);
+            add(link.to, link.type);
+        }
+        if (!isLast(goal)) add(goal, NavGraph.WALK);
+        return toPath();
+    }
+
+    private boolean searchInCorridor(NavGraph.Node start, NavGraph.Node goal) {
+        segmentPath.clear();
+        if (!segmentFinder.searchNodePath(graph.segmentOf(start), graph.segmentOf(goal), segmentDistance, segmentPath)) {
+            return false; // ni siquiera hay corredor: no hay camino
+        }
+        // El corredor y sus vecinos inmediatos, para que el camino fino tenga algo de margen
+        for (int i = 0; i < segmentPath.getCount(); i++) {
+            NavGraph.Segment s = segmentPath.get(i);
+            corridor[s.index] = true;
+            Array<Connection<NavGraph.Segment>> links = graph.getSegmentGraph().getConnections(s);
+            for (int k = 0; k < links.size; k++) corridor[links.get(k).getToNode().index] = true;
+        }
+        boolean found = corridorFinder.searchConnectionPath(start, goal, distance, linkPath);
+        Arrays.fill(corridor, false);
+        if (!found) linkPath.clear();
+        return found;
+    }
+
+    private boolean isLast(NavGraph.Node node) {
+        int n = types.size;
+        return n > 0 && points.get(n * 2 - 2) == node.x && points.get(n * 2 - 1) == node.y;
+    }
+
+    private void add(NavGraph.Node node, int type) {
+        points.add(node.x, node.y);
+        types.add((byte) type);
+    }
+
+    private Path toPath() {
+        return new Path(points, types.toArray());
+    }
+
+    /**
+     * Busca en el hilo que pide en vez de encolar (para las repeticiones, que tienen que dar
+     * siempre lo mismo sin depender de cuándo termine el worker). No mezclar con pedidos en curso.
+     */
+    public void setSynchronous(boolean synchronous) { this.synchronous = synchronous; }
+
+    public NavGraph getGraph() { return graph; }
+    public int getPendingCount() { return pending.get(); }
+    public int getRequestCount() { return requests.get(); }
+    public int getCacheHitCount() { return cacheHits.get(); }
+    public int getSearchCount() { return searches.get(); }
+    public long getLastSearchNanos() { return lastSearchNanos; }
+
+    @Override
+    public void dispose() {
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,176 @@
+package com.TfPooAs.Souls2D.world;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Índice espacial de grilla uniforme (en píxeles del mundo).
+ *
+ * Cada objeto se registra con su caja y queda en todas las celdas que toca; las consultas sólo
+ * miran las celdas del área pedida, así que no dependen de cuántos objetos hay en el nivel.
+ * Las consultas no reservan memoria: agregan los resultados a un Array que pasa quien llama.
+ */
+public class SpatialHash<T> {
+
+    private static class Entry<T> {
+        T object;
+        float minX, minY, maxX, maxY;
+        int cx0, cy0, cx1, cy1; // rango de celdas que ocupa
+        int stamp;              // última consulta que lo devolvió (evita duplicados)
+    }
+
+    private final float cellSize;
+    private final LongMap<Array<Entry<T>>> cells = new LongMap<>();
+    private final ObjectMap<T, Entry<T>> entries = new ObjectMap<>();
+    private final Array<Entry<T>> freeEntries = new Array<>();
+    private final Array<Array<Entry<T>>> freeCells = new Array<>();
+    private int stamp = 0;
+
+    public SpatialHash(float cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("cellSize debe ser > 0: " + cellSize);
+        this.cellSize = cellSize;
+    }
+
+    public float getCellSize() { return cellSize; }
+    public int size() { return entries.size; }
+
+    /** Registra (o mueve, si ya estaba) un objeto con la caja x, y, w, h. */
+    public void insert(T object, float x, float y, float w, float h) {
+        Entry<T> e = entries.get(object);
+        if (e == null) {
+            e = freeEntries.size > 0 ? freeEntries.pop() : new Entry<>();
+            e.object = object;
+            entries.put(object, e);
+        } else {
+            int cx0 = cell(x), cy0 = cell(y), cx1 = cell(x + w), cy1 = cell(y + h);
+            if (cx0 == e.cx0 && cy0 == e.cy0 && cx1 == e.cx1 && cy1 == e.cy1) {
+                setBounds(e, x, y, w, h); // sigue en las mismas celdas
+                return;
+            }
+            unlink(e);
+        }
+        setBounds(e, x, y, w, h);
+        e.cx0 = cell(x);
+        e.cy0 = cell(y);
+        e.cx1 = cell(x + w);
+        e.cy1 = cell(y + h);
+        for (int cx = e.cx0; cx <= e.cx1; cx++) {
+            for (int cy = e.cy0; cy <= e.cy1; cy++) {
+                long key = key(cx, cy);
+                Array<Entry<T>> list = cells.get(key);
+                if (list == null) {
+                    list = freeCells.size > 0 ? freeCells.pop() : new Array<>(false, 8);
+                    cells.put(key, list);
+                }
+                list.add(e);
+            }
+        }
+    }
+
+    public void update(T object, float x, float y, float w, float h) {
+        insert(object, x, y, w, h);
+    }
+
+    public void remove(T object) {
+        Entry<T> e = entries.remove(object);
+        if (e == null) return;
+        unlink(e);
+        e.object = null;
+        freeEntries.add(e);
+    }
+
+    public boolean contains(T object) {
+        return entries.containsKey(object);
+    }
+
+    public void clear() {
+        for (Entry<T> e : entries.values()) {
+            e.object = null;
+            freeEntries.add(e);
+        }
+        entries.clear();
+        for (Array<Entry<T>> list : cells.values()) {
+            list.clear();
+            freeCells.add(list);
+        }
+        cells.clear();
+    }
+
+    /** Agrega a {@code out} los objetos cuya caja se superpone con x, y, w, h. Devuelve cuántos agregó. */
+    public int queryRect(float x, float y, float w, float h, Array<T> out) {
+        int found = 0;
+        int mark = ++stamp;
+        float maxX = x + w, maxY = y + h;
+        for (int cx = cell(x), cx1 = cell(maxX); cx <= cx1; cx++) {
+            for (int cy = cell(y), cy1 = cell(maxY); cy <= cy1; cy++) {
+                Array<Entry<T>> list = cells.get(key(cx, cy));
+                if (list == null) continue;
+                for (int i = 0; i < list.size; i++) {
+                    Entry<T> e = list.get(i);
+                    if (e.stamp == mark) continue;
+                    e.stamp = mark;
+                    if (e.maxX < x || e.minX > maxX || e.maxY < y || e.minY > maxY) continue;
+                    out.add(e.object);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    /** Agrega a {@code out} los objetos cuya caja toca el círculo de centro (px, py) y radio r. */
+    public int queryRadius(float px, float py, float r, Array<T> out) {
+        int found = 0;
+        int mark = ++stamp;
+        float r2 = r * r;
+        for (int cx = cell(px - r), cx1 = cell(px + r); cx <= cx1; cx++) {
+            for (int cy = cell(py - r), cy1 = cell(py + r); cy <= cy1; cy++) {
+                Array<Entry<T>> list = cells.get(key(cx, cy));
+                if (list == null) continue;
+                for (int i = 0; i < list.size; i++) {
+                    Entry<T> e = list.get(i);
+                    if (e.stamp == mark) continue;
+                    e.stamp = mark;
+                    // Punto de la caja más cercano al centro
+                    float dx = px - Math.max(e.minX, Math.min(px, e.maxX));
+                    float dy = py - Math.max(e.minY, Math.min(py, e.maxY));
+                    if (dx * dx + dy * dy > r2) continue;
+                    out.add(e.object);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    private void unlink(Entry<T> e) {
+        for (int cx = e.cx0; cx <= e.cx1; cx++) {
+            for (int cy = e.cy0; cy <= e.cy1; cy++) {
+                long key = key(cx, cy);
+                Array<Entry<T>> list = cells.get(key);
+                if (list == null) continue;
+                list.removeValue(e, true);
+                if (list.size == 0) {
+                    cells.remove(key);
+                    freeCells.add(list);
+                }
+            }
+        }
+    }
+
+    private static <T> void setBounds(Entry<T> e, float x, float y, float w, float h) {
+        e.minX = x;
+        e.minY = y;
+        e.maxX = x + w;
+        e.maxY = y + h;
+    }
+
+    private int cell(float v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+}
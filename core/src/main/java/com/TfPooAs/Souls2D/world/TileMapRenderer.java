@@ -1,29 +1,334 @@
 package com.TfPooAs.Souls2D.world;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
 
 import com.TfPooAs.Souls2D.utils.Constants;
 
+/**
+ * Dibuja las capas de tiles del mapa.
+ *
+ * En modo cacheado (el de por defecto) cada bloque de {@link #BLOCK_TILES}x{@link #BLOCK_TILES}
+ * tiles se hornea una sola vez en un {@link SpriteCache} (un VBO estático) y cada frame sólo se
+ * emiten los draw calls de los bloques visibles, sin recalcular vértices por tile. Si cambian las
+ * capas del mapa (chunks que entran o salen con ChunkStreamer) se rehornean sólo esos bloques;
+ * las capas se revisan sólo cuando cambia {@link ChunkStreamer#getLayersVersion()} (o una vez, sin
+ * streamer), no en cada frame.
+ * Limitaciones: los tiles animados quedan fijos en su frame actual y se ignoran los factores de
+ * parallax de las capas; para esos mapas usar el modo inmediato.
+ */
 public class TileMapRenderer {
 
-    private OrthogonalTiledMapRenderer renderer;
+    public static final int BLOCK_TILES = 32;
+    private static final int MAX_SPRITES_PER_CACHE = 8191; // límite de SpriteCache con índices
+
+    private OrthogonalTiledMapRenderer renderer; // sólo modo inmediato
     private TiledMap map;
+    private final boolean cached;
+
+    // --- Modo cacheado ---
+    private ShaderProgram cacheShader;
+    private final LongMap<CachedBlock> blocks = new LongMap<>();
+    private final Array<TiledMapTileLayer> knownLayers = new Array<>();
+    private ChunkStreamer streamer;      // null si el mapa está cargado entero
+    private int syncedVersion;
+    private boolean layersSynced = false;
+    private final Rectangle view = new Rectangle();
+    private final float[] vertices = new float[20];
+
+    private static class CachedBlock {
+        final int bx, by;
+        final Rectangle bounds = new Rectangle();
+        final Array<TiledMapTileLayer> layers = new Array<>();
+        final Array<SpriteCache> caches = new Array<>();
+        final IntArray cacheIds = new IntArray();
+        boolean dirty = true;
+
+        CachedBlock(int bx, int by) {
+            this.bx = bx;
+            this.by = by;
+        }
+
+        void disposeCaches() {
+            for (SpriteCache cache : caches) cache.dispose();
+            caches.clear();
+            cacheIds.clear();
+        }
+    }
 
     public TileMapRenderer(TiledMap map) {
+        this(map, true);
+    }
+
+    public TileMapRenderer(TiledMap map, boolean cached) {
         this.map = map;
-        // unitScale = 1 / PPM
-        renderer = new OrthogonalTiledMapRenderer(map, 1f);
+        this.cached = cached;
+        if (cached) {
+            cacheShader = createCacheShader();
+        } else {
+            // unitScale = 1 / PPM
+            renderer = new OrthogonalTiledMapRenderer(map, 1f);
+        }
+    }
+
+    /** Mapa en streaming: las capas se vuelven a revisar cuando el streamer agrega o quita chunks. */
+    public void setStreamer(ChunkStreamer streamer) {
+        this.streamer = streamer;
+        layersSynced = false;
+    }
+
+    /** Para quien agregue o quite capas de tiles a mano; ChunkStreamer ya avisa solo. */
+    public void invalidateLayers() {
+        layersSynced = false;
+    }
+
+    // Mismo shader que usa SpriteCache por defecto, pero uno solo compartido por todos los bloques
+    private static ShaderProgram createCacheShader() {
+        String vertexShader = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projectionViewMatrix;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "   v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "   v_color.a = v_color.a * (255.0/254.0);\n"
+            + "   v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "   gl_Position = u_projectionViewMatrix * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+        String fragmentShader = "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "void main() {\n"
+            + "  gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n"
+            + "}";
+        ShaderProgram shader = new ShaderProgram(vertexShader, fragmentShader);
+        if (!shader.isCompiled()) throw new GdxRuntimeException("Error compilando el shader de tiles: " + shader.getLog());
+        return shader;
     }
 
     public void render(OrthographicCamera camera) {
-        renderer.setView(camera);
-        renderer.render();
+        if (!cached) {
+            renderer.setView(camera);
+            renderer.render();
+            return;
+        }
+
+        if (!layersSynced || (streamer != null && streamer.getLayersVersion() != syncedVersion)) {
+            syncLayers();
+            layersSynced = true;
+            if (streamer != null) syncedVersion = streamer.getLayersVersion();
+        }
+
+        float w = camera.viewportWidth * camera.zoom, h = camera.viewportHeight * camera.zoom;
+        view.set(camera.position.x - w / 2, camera.position.y - h / 2, w, h);
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        for (CachedBlock block : blocks.values()) {
+            if (block.dirty) rebuild(block);
+            if (block.caches.size == 0 || !block.bounds.overlaps(view)) continue;
+            for (int i = 0; i < block.caches.size; i++) {
+                SpriteCache cache = block.caches.get(i);
+                cache.setProjectionMatrix(camera.combined);
+                cache.begin();
+                cache.draw(block.cacheIds.get(i));
+                cache.end();
+            }
+        }
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    /** Detecta capas agregadas o quitadas del mapa y marca sus bloques para rehornear. */
+    private void syncLayers() {
+        for (MapLayer layer : map.getLayers()) {
+            if (layer instanceof TiledMapTileLayer && !knownLayers.contains((TiledMapTileLayer) layer, true)) {
+                TiledMapTileLayer tileLayer = (TiledMapTileLayer) layer;
+                knownLayers.add(tileLayer);
+                forEachBlock(tileLayer, true);
+            }
+        }
+        for (int i = knownLayers.size - 1; i >= 0; i--) {
+            TiledMapTileLayer layer = knownLayers.get(i);
+            if (map.getLayers().getIndex(layer) < 0) {
+                knownLayers.removeIndex(i);
+                forEachBlock(layer, false);
+            }
+        }
+    }
+
+    private void forEachBlock(TiledMapTileLayer layer, boolean add) {
+        float blockW = BLOCK_TILES * layer.getTileWidth(), blockH = BLOCK_TILES * layer.getTileHeight();
+        float ox = layer.getRenderOffsetX(), oy = -layer.getRenderOffsetY();
+        int bx0 = (int) Math.floor(ox / blockW), bx1 = (int) Math.floor((ox + layer.getWidth() * layer.getTileWidth() - 1) / blockW);
+        int by0 = (int) Math.floor(oy / blockH), by1 = (int) Math.floor((oy + layer.getHeight() * layer.getTileHeight() - 1) / blockH);
+        for (int by = by0; by <= by1; by++) {
+            for (int bx = bx0; bx <= bx1; bx++) {
+                long key = ((long) bx << 32) | (by & 0xffffffffL);
+                CachedBlock block = blocks.get(key);
+                if (add) {
+                    if (block == null) {
+                        block = new CachedBlock(bx, by);
+                        block.bounds.set(bx * blockW, by * blockH, blockW, blockH);
+                        blocks.put(key, block);
+                    }
+                    block.layers.add(layer);
+                    block.dirty = true;
+                } else if (block != null) {
+                    block.layers.removeValue(layer, true);
+                    block.dirty = true;
+                    if (block.layers.size == 0) {
+                        block.disposeCaches();
+                        blocks.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Hornea las celdas de todas las capas del bloque, respetando el orden de capas del mapa. */
+    private void rebuild(CachedBlock block) {
+        block.disposeCaches();
+        block.dirty = false;
+        block.layers.sort((a, b) -> map.getLayers().getIndex(a) - map.getLayers().getIndex(b));
+
+        int total = 0;
+        for (TiledMapTileLayer layer : block.layers) {
+            if (layer.isVisible()) total += countCells(block, layer);
+        }
+        if (total == 0) return;
+
+        SpriteCache cache = null;
+        int added = 0, remaining = total;
+        for (TiledMapTileLayer layer : block.layers) {
+            if (!layer.isVisible()) continue;
+            float color = Color.toFloatBits(1f, 1f, 1f, layer.getOpacity());
+            float tw = layer.getTileWidth(), th = layer.getTileHeight();
+            float ox = layer.getRenderOffsetX(), oy = -layer.getRenderOffsetY();
+            int c0 = firstIndex(block.bounds.x, ox, tw), c1 = Math.min(layer.getWidth(), firstIndex(block.bounds.x + block.bounds.width, ox, tw));
+            int r0 = firstIndex(block.bounds.y, oy, th), r1 = Math.min(layer.getHeight(), firstIndex(block.bounds.y + block.bounds.height, oy, th));
+            for (int row = Math.max(0, r0); row < r1; row++) {
+                for (int col = Math.max(0, c0); col < c1; col++) {
+                    Cell cell = layer.getCell(col, row);
+                    if (cell == null || cell.getTile() == null) continue;
+                    if (cache == null || added == MAX_SPRITES_PER_CACHE) {
+                        if (cache != null) block.cacheIds.add(cache.endCache());
+                        cache = new SpriteCache(Math.min(remaining, MAX_SPRITES_PER_CACHE), cacheShader, true);
+                        block.caches.add(cache);
+                        cache.beginCache();
+                        added = 0;
+                    }
+                    fillVertices(cell, ox + col * tw, oy + row * th, color);
+                    cache.add(cell.getTile().getTextureRegion().getTexture(), vertices, 0, vertices.length);
+                    added++;
+                    remaining--;
+                }
+            }
+        }
+        if (cache != null) block.cacheIds.add(cache.endCache());
+    }
+
+    private int countCells(CachedBlock block, TiledMapTileLayer layer) {
+        float tw = layer.getTileWidth(), th = layer.getTileHeight();
+        float ox = layer.getRenderOffsetX(), oy = -layer.getRenderOffsetY();
+        int c1 = Math.min(layer.getWidth(), firstIndex(block.bounds.x + block.bounds.width, ox, tw));
+        int r1 = Math.min(layer.getHeight(), firstIndex(block.bounds.y + block.bounds.height, oy, th));
+        int count = 0;
+        for (int row = Math.max(0, firstIndex(block.bounds.y, oy, th)); row < r1; row++) {
+            for (int col = Math.max(0, firstIndex(block.bounds.x, ox, tw)); col < c1; col++) {
+                Cell cell = layer.getCell(col, row);
+                if (cell != null && cell.getTile() != null) count++;
+            }
+        }
+        return count;
+    }
+
+    // Primer índice de tile cuya posición (offset + i * size) es >= edge
+    private static int firstIndex(float edge, float offset, float size) {
+        return (int) Math.ceil((edge - offset) / size - 0.001f);
+    }
+
+    // Mismos vértices que OrthogonalTiledMapRenderer.renderTileLayer (flips y rotaciones incluidos)
+    private void fillVertices(Cell cell, float x, float y, float color) {
+        TiledMapTile tile = cell.getTile();
+        TextureRegion region = tile.getTextureRegion();
+        float x1 = x + tile.getOffsetX(), y1 = y + tile.getOffsetY();
+        float x2 = x1 + region.getRegionWidth(), y2 = y1 + region.getRegionHeight();
+        float u1 = region.getU(), v1 = region.getV2(), u2 = region.getU2(), v2 = region.getV();
+
+        float[] v = vertices;
+        v[0] = x1; v[1] = y1; v[2] = color; v[3] = u1; v[4] = v1;
+        v[5] = x1; v[6] = y2; v[7] = color; v[8] = u1; v[9] = v2;
+        v[10] = x2; v[11] = y2; v[12] = color; v[13] = u2; v[14] = v2;
+        v[15] = x2; v[16] = y1; v[17] = color; v[18] = u2; v[19] = v1;
+
+        if (cell.getFlipHorizontally()) {
+            swap(3, 13);
+            swap(8, 18);
+        }
+        if (cell.getFlipVertically()) {
+            swap(4, 14);
+            swap(9, 19);
+        }
+        switch (cell.getRotation()) {
+            case Cell.ROTATE_90:
+                rotate(4, 9, 14, 19);
+                rotate(3, 8, 13, 18);
+                break;
+            case Cell.ROTATE_180:
+                swap(3, 13);
+                swap(8, 18);
+                swap(4, 14);
+                swap(9, 19);
+                break;
+            case Cell.ROTATE_270:
+                rotate(4, 19, 14, 9);
+                rotate(3, 18, 13, 8);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void swap(int a, int b) {
+        float t = vertices[a];
+        vertices[a] = vertices[b];
+        vertices[b] = t;
+    }
+
+    // a <- b <- c <- d <- a
+    private void rotate(int a, int b, int c, int d) {
+        float t = vertices[a];
+        vertices[a] = vertices[b];
+        vertices[b] = vertices[c];
+        vertices[c] = vertices[d];
+        vertices[d] = t;
     }
 
     public void dispose() {
-        renderer.dispose();
-        map.dispose();
+        if (renderer != null) renderer.dispose();
+        for (CachedBlock block : blocks.values()) block.disposeCaches();
+        blocks.clear();
+        if (cacheShader != null) cacheShader.dispose();
+        // El mapa es de LevelLoader, que lo libera
     }
 }
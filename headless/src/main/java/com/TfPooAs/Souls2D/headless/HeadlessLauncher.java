@@ -0,0 +1,199 @@
+package com.TfPooAs.Souls2D.headless;
+
+import com.TfPooAs.Souls2D.core.InputRecording;
+import com.TfPooAs.Souls2D.core.Simulation;
+import com.TfPooAs.Souls2D.entities.Player;
+import com.TfPooAs.Souls2D.screens.GameScreen;
+import com.TfPooAs.Souls2D.systems.PhysicsSystem;
+import com.TfPooAs.Souls2D.utils.Assets;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.math.Vector2;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Corre la simulación del juego sin ventana ni GPU, a pasos fijos y sin esperar al reloj
+ * (más rápido que tiempo real). Pensado para soak tests, bots y regresiones de rendimiento en CI.
+ *
+ * Uso: HeadlessLauncher [--map ruta.tmx] [--seconds N] [--workers N] [--replay grabación.s2di]
+ *
+ * Con --replay se repite una grabación de input (F5 en el juego) paso a paso, desde el mismo mapa
+ * y estado inicial: los world.step son los mismos en cada corrida, así que el tiempo por paso, la
+ * memoria reservada y el hash del estado final se pueden comparar entre builds.
+ *
+ * Con --workers cada simulación corre en su propio proceso (libGDX y Assets son estáticos, así que
+ * no se comparten entre hilos); este proceso sólo junta los resultados. Los assets se leen del
+ * directorio de trabajo, igual que el juego.
+ */
+public class HeadlessLauncher {
+
+    private static final String RESULT_PREFIX = "RESULT ";
+
+    public static void main(String[] args) throws Exception {
+        String map = GameScreen.MAP;
+        float seconds = 60f;
+        int workers = 1;
+        String replay = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--map": map = args[++i]; break;
+                case "--seconds": seconds = Float.parseFloat(args[++i]); break;
+                case "--workers": workers = Integer.parseInt(args[++i]); break;
+                case "--replay": replay = args[++i]; break;
+                default:
+                    System.err.println("Argumento desconocido: " + args[i]);
+                    System.err.println("Uso: HeadlessLauncher [--map ruta.tmx] [--seconds N] [--workers N] [--replay grabación.s2di]");
+                    System.exit(2);
+            }
+        }
+
+        String replayPath = replay;
+        int code;
+        if (replayPath != null) code = runSingle(() -> replay(replayPath));
+        else if (workers > 1) code = runWorkers(map, seconds, workers);
+        else {
+            String mapPath = map;
+            float simSeconds = seconds;
+            code = runSingle(() -> simulate(mapPath, simSeconds));
+        }
+        System.exit(code);
+    }
+
+    /** Corre una simulación en este proceso e imprime una línea RESULT con los números. */
+    private static int runSingle(Callable<String> run) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        int[] exitCode = {0};
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // sin loop de frames: create() corre toda la simulación
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                NoOpGL.install();
+                try {
+                    System.out.println(RESULT_PREFIX + run.call());
+                } catch (Throwable t) {
+                    t.printStackTrace();
+                    exitCode[0] = 1;
+                }
+            }
+
+            @Override
+            public void dispose() {
+                Assets.dispose();
+                done.countDown();
+            }
+        }, config);
+
+        done.await();
+        return exitCode[0];
+    }
+
+    private static String simulate(String map, float seconds) {
+        long loadStart = System.nanoTime();
+        Simulation sim = new Simulation(map);
+        Player player = sim.spawnPlayer(GameScreen.SPAWN_X, GameScreen.SPAWN_Y);
+        long loadNanos = System.nanoTime() - loadStart;
+
+        long totalSteps = (long) Math.ceil(seconds / PhysicsSystem.TIME_STEP);
+        long start = System.nanoTime();
+        long steps = 0;
+        while (steps < totalSteps) {
+            steps += sim.update(PhysicsSystem.TIME_STEP);
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        float simulated = steps * PhysicsSystem.TIME_STEP;
+        float wallSeconds = wallNanos / 1e9f;
+        String result = String.format(Locale.ROOT,
+            "map=%s steps=%d simulated=%.1fs wall=%.3fs speed=%.0fx load=%dms stepUs=%.1f player=%.1f,%.1f bodies=%d",
+            map, steps, simulated, wallSeconds, simulated / Math.max(wallSeconds, 1e-9f), loadNanos / 1_000_000,
+            wallNanos / 1000f / Math.max(steps, 1), player.getPosition().x, player.getPosition().y,
+            sim.getWorld().getBodyCount());
+        sim.dispose();
+        return result;
+    }
+
+    private static String replay(String path) throws IOException {
+        InputRecording recording = InputRecording.load(Gdx.files.local(path));
+        Simulation sim = new Simulation(recording.map);
+        InputRecording.Replay input = sim.replay(recording);
+        Player player = sim.getPlayer();
+
+        long allocStart = allocatedBytes();
+        long start = System.nanoTime();
+        long steps = 0;
+        while (!input.isFinished()) {
+            steps += sim.update(PhysicsSystem.TIME_STEP);
+        }
+        long wallNanos = System.nanoTime() - start;
+        long allocated = allocStart < 0 ? -1 : allocatedBytes() - allocStart;
+
+        // Hash del estado final: si cambia entre builds, la simulación dejó de ser la misma
+        Vector2 p = player.getBody().getPosition(), v = player.getBody().getLinearVelocity();
+        int hash = Float.floatToIntBits(p.x);
+        hash = 31 * hash + Float.floatToIntBits(p.y);
+        hash = 31 * hash + Float.floatToIntBits(v.x);
+        hash = 31 * hash + Float.floatToIntBits(v.y);
+
+        String result = String.format(Locale.ROOT,
+            "replay=%s map=%s steps=%d wall=%.3fs stepUs=%.1f allocKB=%d player=%.1f,%.1f hash=%08x",
+            path, recording.map, steps, wallNanos / 1e9f, wallNanos / 1000f / Math.max(steps, 1),
+            allocated < 0 ? -1 : allocated / 1024, player.getPosition().x, player.getPosition().y, hash);
+        sim.dispose();
+        return result;
+    }
+
+    /** Bytes reservados por este hilo hasta ahora (-1 si la JVM no lo informa). */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /** Lanza N procesos con la misma simulación (uno por núcleo) y espera sus resultados. */
+    private static int runWorkers(String map, float seconds, int workers) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                HeadlessLauncher.class.getName(), "--map", map, "--seconds", String.valueOf(seconds));
+            builder.redirectErrorStream(true);
+            processes.add(builder.start());
+        }
+
+        int failures = 0;
+        for (int i = 0; i < workers; i++) {
+            Process process = processes.get(i);
+            String result = null;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(RESULT_PREFIX)) result = line.substring(RESULT_PREFIX.length());
+                    else System.out.println("[" + i + "] " + line);
+                }
+            }
+            if (process.waitFor() != 0 || result == null) {
+                System.out.println("[" + i + "] FALLÓ (código " + process.exitValue() + ")");
+                failures++;
+            } else {
+                System.out.println("[" + i + "] " + result);
+            }
+        }
+        return failures == 0 ? 0 : 1;
+    }
+}
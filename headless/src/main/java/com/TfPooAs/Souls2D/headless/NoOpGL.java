@@ -0,0 +1,40 @@
+package com.TfPooAs.Souls2D.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * GL que no hace nada, para correr sin contexto OpenGL.
+ *
+ * Las texturas se siguen decodificando en memoria (el tamaño de los sprites sale de ahí), pero
+ * ninguna llamada llega a una GPU. Devuelve ids distintos de 0 y shaders "compilados" para que
+ * SpriteBatch, ShapeRenderer y compañía se puedan construir.
+ */
+public final class NoOpGL {
+
+    private NoOpGL() {}
+
+    /** Reemplaza Gdx.gl y Gdx.gl20 (Gdx.gl30 queda en null: se corre como GL ES 2). Llamar después de crear la HeadlessApplication. */
+    public static void install() {
+        Object gl = Proxy.newProxyInstance(NoOpGL.class.getClassLoader(), new Class<?>[]{GL20.class, GL30.class},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if ((name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) && args[2] instanceof IntBuffer) {
+                    ((IntBuffer) args[2]).put(0, 1);
+                    return null;
+                }
+                Class<?> type = method.getReturnType();
+                if (type == int.class) return 1;
+                if (type == boolean.class) return false;
+                if (type == float.class) return 0f;
+                if (type == long.class) return 0L;
+                if (type == String.class) return "";
+                return null;
+            });
+        Gdx.gl = Gdx.gl20 = (GL20) gl;
+    }
+}
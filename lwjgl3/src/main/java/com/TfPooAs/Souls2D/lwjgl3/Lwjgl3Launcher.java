@@ -27,6 +27,12 @@ public class Lwjgl3Launcher {
         //// If you remove the above line and set Vsync to false, you can get unlimited FPS, which can be
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
+        //// La física corre a paso fijo (PhysicsSystem), así que sin límite de FPS el juego se comporta igual.
+        //// Ejecutar con -Dsouls2d.uncapped=true para medir rendimiento sin Vsync ni tope de FPS.
+        if (Boolean.getBoolean("souls2d.uncapped")) {
+            configuration.useVsync(false);
+            configuration.setForegroundFPS(0);
+        }
 
         configuration.setFullscreenMode(Lwjgl3ApplicationConfiguration.getDisplayMode());
         //// You can change these files; they are in lwjgl3/src/main/resources/ .
@@ -0,0 +1,84 @@
+package com.TfPooAs.Souls2D.lwjgl3;
+
+import com.TfPooAs.Souls2D.utils.Assets;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Herramienta offline: empaqueta los sprites sueltos de {@code assets/} en {@code assets/atlas/sprites.atlas}.
+ *
+ * Cada región se llama como la ruta del png sin extensión ({@code player}, {@code ui/interact_e}),
+ * que es lo que busca {@link Assets#region(String)}. Quedan afuera:
+ *  - {@code maps/}: los tilesets los referencian los .tsx y los usa el TileMapRenderer.
+ *  - {@code backgrounds/}: las capas del parallax miden más que una página de atlas.
+ *  - las páginas de otros atlas (uiskin.png) y cualquier imagen mayor a {@link #MAX_SPRITE_SIZE}.
+ *
+ * Se ejecuta desde Gradle con {@code ./gradlew lwjgl3:packTextures}; vive en el source set
+ * {@code packer} para que gdx-tools no termine en el jar del juego.
+ */
+public class AtlasPacker {
+
+    public static final int MAX_SPRITE_SIZE = 512;
+    private static final String[] EXCLUDED_DIRS = { "atlas", "maps", "backgrounds" };
+
+    /** Uso: AtlasPacker &lt;carpeta assets&gt; */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: AtlasPacker <carpeta assets>");
+            System.exit(1);
+        }
+        File assetsDir = new File(args[0]);
+        File atlasFile = new File(assetsDir, Assets.SPRITES_ATLAS);
+
+        TexturePacker.Settings settings = new TexturePacker.Settings();
+        settings.maxWidth = 2048;
+        settings.maxHeight = 2048;
+        settings.paddingX = 2;
+        settings.paddingY = 2;
+        settings.duplicatePadding = true; // evita que se cuelen píxeles del vecino al escalar
+        settings.filterMin = Texture.TextureFilter.Nearest; // igual que una Texture suelta
+        settings.filterMag = Texture.TextureFilter.Nearest;
+
+        TexturePacker packer = new TexturePacker(settings);
+        int count = addImages(packer, assetsDir, "");
+        String packName = atlasFile.getName().substring(0, atlasFile.getName().lastIndexOf('.'));
+        packer.pack(atlasFile.getParentFile(), packName);
+        System.out.println(count + " sprites -> " + atlasFile.getPath());
+    }
+
+    private static int addImages(TexturePacker packer, File dir, String prefix) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) return 0;
+        int count = 0;
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isDirectory()) {
+                if (prefix.isEmpty() && isExcluded(name)) continue;
+                count += addImages(packer, file, prefix + name + "/");
+                continue;
+            }
+            if (!name.endsWith(".png")) continue;
+            String baseName = name.substring(0, name.length() - 4);
+            if (new File(dir, baseName + ".atlas").exists()) continue; // ya es una página de atlas
+
+            BufferedImage image = ImageIO.read(file);
+            if (image == null) continue;
+            if (image.getWidth() > MAX_SPRITE_SIZE || image.getHeight() > MAX_SPRITE_SIZE) continue;
+            packer.addImage(image, prefix + baseName);
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean isExcluded(String dirName) {
+        for (String excluded : EXCLUDED_DIRS) {
+            if (excluded.equals(dirName)) return true;
+        }
+        return false;
+    }
+}